@@ -0,0 +1,17 @@
+@echo off
+
+REM Wrapper script for running the jminusminus.CompileServer program, a long-running compile server that the
+REM j--client script sends compile requests to.
+
+set BASE_DIR=%~dp0
+set JAVA=java
+set CPATH="%BASE_DIR%\..\lib\j--.jar"
+if "%CLASSPATH%" == "" goto runApp
+set CPATH=%CPATH%;"%CLASSPATH%"
+
+:runApp
+%JAVA% -classpath %CPATH% jminusminus.CompileServer %*
+
+set JAVA=
+set BASE_DIR=
+set CPATH=
@@ -44,7 +44,7 @@ class AmbiguousName {
                 break;
             } else if (!st.hasMoreTokens()) {
                 // Nothing found. :(
-                JAST.compilationUnit.reportSemanticError(line, "cannot find name " + newName);
+                JAST.compilationUnit().reportSemanticError(line, "cannot find name " + newName);
                 return null;
             } else {
                 newName += "." + st.nextToken();
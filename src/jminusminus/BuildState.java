@@ -0,0 +1,291 @@
+package jminusminus;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The state of an incremental compilation, stored in a file (j--.state) in the output directory. For each compilation
+ * unit compiled (successfully) into that directory, the state records a fingerprint of the unit's source, the classes
+ * generated for the unit, and the fingerprints of the public signatures of the types (declared by the compiled units)
+ * that the unit depended on.
+ * <p>
+ * A unit is up to date if its source and the signatures of the types that it depended on are unchanged, and its
+ * classes are still in the output directory. An up-to-date unit need not be analyzed nor code generated again. The
+ * signature of a type covers its modifiers, its superclass (and the signature of the superclass if it is also a
+ * compiled type), and the modifiers, names, and descriptors of its members; it does not cover the bodies of its
+ * methods, so editing a method body recompiles only the unit containing the method.
+ * <p>
+ * The classes that are no longer generated for any unit, because the unit that they were generated for was deleted
+ * (or renamed), or no longer declares them, are deleted from the output directory when the state is saved, so that
+ * they cannot be picked up by later compilations or runs.
+ * <p>
+ * The state file is a text file with one record per line: "unit &lt;source file&gt; &lt;fingerprint&gt;", followed
+ * by a "class &lt;class name&gt;" line for each class generated for the unit, and a "dependency &lt;type name&gt;
+ * &lt;fingerprint&gt;" line for each compiled type that the unit depended on.
+ */
+class BuildState {
+    /**
+     * Name of the file (in the output directory) in which the state is stored.
+     */
+    public static final String FILE_NAME = "j--.state";
+
+    // The file in which the state is stored.
+    private final File file;
+
+    // The output directory.
+    private final String outputDir;
+
+    // Maps (canonical names of) source files to their records.
+    private final TreeMap<String, UnitRecord> records;
+
+    // Maps the names of the types declared by the units being compiled to the fingerprints of their signatures.
+    private final HashMap<String, String> signatures;
+
+    // Names (in internal form) of the classes recorded for the units recompiled before they were recompiled.
+    private final TreeSet<String> previousClasses;
+
+    /**
+     * Constructs a BuildState for the specified output directory, loading the state stored there (if any).
+     *
+     * @param outputDir the output directory.
+     */
+    public BuildState(String outputDir) {
+        this.outputDir = outputDir;
+        file = new File(outputDir, FILE_NAME);
+        records = new TreeMap<>();
+        signatures = new HashMap<>();
+        previousClasses = new TreeSet<>();
+        load();
+    }
+
+    /**
+     * Computes the fingerprints of the signatures of the types declared by the specified (pre-analyzed) compilation
+     * units.
+     *
+     * @param compilationUnits the compilation units.
+     */
+    public void computeSignatures(ArrayList<JCompilationUnit> compilationUnits) {
+        HashMap<String, Type> declaredTypes = new HashMap<>();
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            for (Type type : compilationUnit.declaredTypes()) {
+                if (type != null && type.classRep() != null) {
+                    declaredTypes.put(type.toString(), type);
+                }
+            }
+        }
+        for (String name : declaredTypes.keySet()) {
+            signature(name, declaredTypes, new TreeSet<>());
+        }
+    }
+
+    /**
+     * Returns true if the specified compilation unit is up to date, and false otherwise.
+     *
+     * @param compilationUnit the compilation unit.
+     * @return true if the specified compilation unit is up to date, and false otherwise.
+     */
+    public boolean isUpToDate(JCompilationUnit compilationUnit) {
+        UnitRecord record = records.get(canonicalName(compilationUnit.fileName()));
+        if (record == null || !record.fingerprint.equals(fingerprint(compilationUnit.fileName()))) {
+            return false;
+        }
+        for (String className : record.classes) {
+            if (!new File(outputDir, className + ".class").exists()) {
+                return false;
+            }
+        }
+        for (String dependency : record.dependencies.keySet()) {
+            if (!record.dependencies.get(dependency).equals(signatures.get(dependency))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the state of the specified (successfully compiled) compilation unit.
+     *
+     * @param compilationUnit the compilation unit.
+     */
+    public void record(JCompilationUnit compilationUnit) {
+        UnitRecord record = new UnitRecord(fingerprint(compilationUnit.fileName()));
+        for (Type type : compilationUnit.declaredTypes()) {
+            record.classes.add(type.jvmName());
+        }
+        for (String dependency : compilationUnit.dependencies()) {
+            // A unit's dependencies on its own types are covered by the fingerprint of its source.
+            if (signatures.containsKey(dependency) && !record.classes.contains(dependency.replace('.', '/'))) {
+                record.dependencies.put(dependency, signatures.get(dependency));
+            }
+        }
+        UnitRecord previous = records.put(canonicalName(compilationUnit.fileName()), record);
+        if (previous != null) {
+            previousClasses.addAll(previous.classes);
+        }
+    }
+
+    /**
+     * Forgets the records of the units that are not among the specified compilation units, deletes the classes that
+     * are no longer generated for any unit, and writes the state to the state file.
+     *
+     * @param compilationUnits the compilation units.
+     */
+    public void save(ArrayList<JCompilationUnit> compilationUnits) {
+        TreeSet<String> names = new TreeSet<>();
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            names.add(canonicalName(compilationUnit.fileName()));
+        }
+        TreeSet<String> staleClasses = new TreeSet<>(previousClasses);
+        for (String name : records.keySet()) {
+            // The classes of a unit that is merely left out of this compilation are kept.
+            if (!names.contains(name) && !new File(name).exists()) {
+                staleClasses.addAll(records.get(name).classes);
+            }
+        }
+        records.keySet().retainAll(names);
+        for (UnitRecord record : records.values()) {
+            staleClasses.removeAll(record.classes);
+        }
+        for (String className : staleClasses) {
+            new File(outputDir, className + ".class").delete();
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+            for (String name : records.keySet()) {
+                UnitRecord record = records.get(name);
+                out.println("unit " + name + " " + record.fingerprint);
+                for (String className : record.classes) {
+                    out.println("class " + className);
+                }
+                for (String dependency : record.dependencies.keySet()) {
+                    out.println("dependency " + dependency + " " + record.dependencies.get(dependency));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: cannot write " + file);
+        }
+    }
+
+    // Loads the state from the state file, if there is one. A malformed state file is ignored, which simply makes
+    // every unit out of date.
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader in = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            UnitRecord record = null;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                int first = line.indexOf(' ');
+                int last = line.lastIndexOf(' ');
+                if (line.startsWith("unit ") && first < last) {
+                    record = new UnitRecord(line.substring(last + 1));
+                    records.put(line.substring(first + 1, last), record);
+                } else if (line.startsWith("class ") && record != null) {
+                    record.classes.add(line.substring(first + 1));
+                } else if (line.startsWith("dependency ") && record != null && first < last) {
+                    record.dependencies.put(line.substring(first + 1, last), line.substring(last + 1));
+                } else {
+                    records.clear();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            records.clear();
+        }
+    }
+
+    // Computes, records, and returns the fingerprint of the signature of the declared type with the specified name.
+    // The names of the types whose signatures are being computed are kept in visiting, to guard against cyclic
+    // inheritance.
+    private String signature(String name, HashMap<String, Type> declaredTypes, TreeSet<String> visiting) {
+        if (signatures.containsKey(name)) {
+            return signatures.get(name);
+        }
+        ClassSymbol classRep = declaredTypes.get(name).classRep();
+        visiting.add(name);
+        TreeSet<String> members = new TreeSet<>();
+        for (MemberSymbol field : classRep.fields()) {
+            members.add(Modifier.toString(field.modifiers()) + " " + field.name() + " " + field.descriptor());
+        }
+        for (MemberSymbol method : classRep.methods()) {
+            members.add(Modifier.toString(method.modifiers()) + " " + method.name() + " " + method.descriptor());
+        }
+        for (MemberSymbol constructor : classRep.constructors()) {
+            members.add(Modifier.toString(constructor.modifiers()) + " <init> " + constructor.descriptor());
+        }
+        StringBuilder signature = new StringBuilder(Modifier.toString(classRep.modifiers()) + " " + name);
+        String superName = classRep.superName();
+        if (superName != null) {
+            signature.append(" extends ").append(superName);
+            if (declaredTypes.containsKey(superName) && !visiting.contains(superName)) {
+                signature.append(" ").append(signature(superName, declaredTypes, visiting));
+            }
+        }
+        for (String member : members) {
+            signature.append("\n").append(member);
+        }
+        String fingerprint = fingerprint(signature.toString().getBytes(StandardCharsets.UTF_8));
+        signatures.put(name, fingerprint);
+        return fingerprint;
+    }
+
+    // Returns the fingerprint of the contents of the specified file, or the empty string if it cannot be read.
+    private static String fingerprint(String fileName) {
+        try {
+            return fingerprint(Files.readAllBytes(new File(fileName).toPath()));
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    // Returns the fingerprint (a SHA-256 digest, in hex) of the specified bytes.
+    private static String fingerprint(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Returns the canonical name of the specified file, so that a file is recognized however it is named.
+    private static String canonicalName(String fileName) {
+        try {
+            return new File(fileName).getCanonicalPath();
+        } catch (IOException e) {
+            return new File(fileName).getAbsolutePath();
+        }
+    }
+
+    // The record of a compilation unit.
+    private static class UnitRecord {
+        // Fingerprint of the unit's source.
+        private final String fingerprint;
+
+        // Names (in internal form) of the classes generated for the unit.
+        private final ArrayList<String> classes;
+
+        // Maps the names of the compiled types that the unit depended on to the fingerprints of their signatures.
+        private final TreeMap<String, String> dependencies;
+
+        // Constructs a record given the fingerprint of the unit's source.
+        private UnitRecord(String fingerprint) {
+            this.fingerprint = fingerprint;
+            classes = new ArrayList<>();
+            dependencies = new TreeMap<>();
+        }
+    }
+}
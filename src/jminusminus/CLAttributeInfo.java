@@ -163,7 +163,7 @@ class CLCodeAttribute extends CLAttributeInfo {
     /**
      * Code_attribute.code item.
      */
-    public ArrayList<Integer> code;
+    public byte[] code;
 
     /**
      * Code_attribute.exception_table_length item.
@@ -200,7 +200,7 @@ class CLCodeAttribute extends CLAttributeInfo {
      * @param attributes           Code_attribute.attributes item.
      */
     public CLCodeAttribute(int attributeNameIndex, long attributeLength, int maxStack, int maxLocals,
-                           long codeLength, ArrayList<Integer> code, int exceptionTableLength,
+                           long codeLength, byte[] code, int exceptionTableLength,
                            ArrayList<CLExceptionInfo> exceptionTable, int attributesCount,
                            ArrayList<CLAttributeInfo> attributes) {
         super(attributeNameIndex, attributeLength);
@@ -222,9 +222,7 @@ class CLCodeAttribute extends CLAttributeInfo {
         out.writeShort(maxStack);
         out.writeShort(maxLocals);
         out.writeInt(codeLength);
-        for (int info : code) {
-            out.writeByte(info);
-        }
+        out.write(code);
         out.writeShort(exceptionTableLength);
         for (CLExceptionInfo info : exceptionTable) {
             info.write(out);
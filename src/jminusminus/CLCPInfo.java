@@ -1,6 +1,7 @@
 package jminusminus;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import static jminusminus.CLConstants.*;
 
@@ -89,6 +90,13 @@ class CLConstantClassInfo extends CLCPInfo {
         CLConstantClassInfo a = this, b = (CLConstantClassInfo) other;
         return a.nameIndex == b.nameIndex;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return nameIndex;
+    }
 }
 
 /**
@@ -143,6 +151,13 @@ abstract class CLConstantMemberRefInfo extends CLCPInfo {
         CLConstantMemberRefInfo a = this, b = (CLConstantMemberRefInfo) other;
         return a.tag == b.tag && a.classIndex == b.classIndex && a.nameAndTypeIndex == b.nameAndTypeIndex;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return (tag * 31 + classIndex) * 31 + nameAndTypeIndex;
+    }
 }
 
 /**
@@ -234,6 +249,13 @@ class CLConstantStringInfo extends CLCPInfo {
         CLConstantStringInfo a = this, b = (CLConstantStringInfo) other;
         return a.stringIndex == b.stringIndex;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return stringIndex;
+    }
 }
 
 /**
@@ -297,6 +319,13 @@ class CLConstantIntegerInfo extends CLCPInfo {
         CLConstantIntegerInfo a = this, b = (CLConstantIntegerInfo) other;
         return a.i == b.i;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return i;
+    }
 }
 
 /**
@@ -358,6 +387,14 @@ class CLConstantFloatInfo extends CLCPInfo {
         CLConstantFloatInfo a = this, b = (CLConstantFloatInfo) other;
         return a.f == b.f;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        // Adding 0 makes -0.0 and 0.0 (which are ==) hash alike.
+        return Float.hashCode(f + 0.0f);
+    }
 }
 
 /**
@@ -449,6 +486,13 @@ class CLConstantLongInfo extends CLCPInfo {
         CLConstantLongInfo a = this, b = (CLConstantLongInfo) other;
         return a.l == b.l;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return Long.hashCode(l);
+    }
 }
 
 /**
@@ -540,6 +584,14 @@ class CLConstantDoubleInfo extends CLCPInfo {
         CLConstantDoubleInfo a = this, b = (CLConstantDoubleInfo) other;
         return a.d == b.d;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        // Adding 0 makes -0.0 and 0.0 (which are ==) hash alike.
+        return Double.hashCode(d + 0.0);
+    }
 }
 
 /**
@@ -580,7 +632,6 @@ class CLConstantNameAndTypeInfo extends CLCPInfo {
     /**
      * {@inheritDoc}
      */
-
     public boolean equals(Object other) {
         if (other == null) {
             return false;
@@ -594,6 +645,13 @@ class CLConstantNameAndTypeInfo extends CLCPInfo {
         CLConstantNameAndTypeInfo a = this, b = (CLConstantNameAndTypeInfo) other;
         return a.nameIndex == b.nameIndex && a.descriptorIndex == b.descriptorIndex;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return nameIndex * 31 + descriptorIndex;
+    }
 }
 
 /**
@@ -646,6 +704,13 @@ class CLConstantUtf8Info extends CLCPInfo {
             return false;
         }
         CLConstantUtf8Info a = this, b = (CLConstantUtf8Info) other;
-        return (new String(a.b)).equals(new String(b.b));
+        return Arrays.equals(a.b, b.b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return Arrays.hashCode(b);
     }
 }
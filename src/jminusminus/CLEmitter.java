@@ -1,7 +1,5 @@
 package jminusminus;
 
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -9,9 +7,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.Stack;
+import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 
@@ -20,9 +20,9 @@ import static jminusminus.CLConstants.*;
 /**
  * This class provides a high level interface for creating (in-memory and file based) representation of Java classes.
  * <p>
- * j-- uses this interface to produce target JVM bytecode from a j-- source program. During the pre-analysis and
- * analysis phases, j-- produces partial (in-memory) classes for the type declarations within the compilation unit,
- * and during the code generation phase, it produces file-based classes for the declarations.
+ * j-- uses this interface to produce target JVM bytecode from a j-- source program. During the code generation phase,
+ * it produces file-based (or in-memory) classes for the type declarations within the compilation unit; the partial
+ * classes that pre-analysis builds for the declarations are not classes in this sense (see PartialClass).
  */
 public class CLEmitter {
     // Name of the class.
@@ -35,6 +35,9 @@ public class CLEmitter {
     // Destination directory for the class.
     private String destDir;
 
+    // Destination map for the class, if it is not written to the file system, or null.
+    private Map<String, byte[]> destMap;
+
     // In-memory representation of the class.
     private CLFile clFile;
 
@@ -71,6 +74,9 @@ public class CLEmitter {
     // Code (instruction) section of the method last added.
     private ArrayList<CLInstruction> mCode;
 
+    // Buffer into which the code of each method is assembled; reused from one method to the next.
+    private final CLByteBuffer byteCode = new CLByteBuffer();
+
     // Table containing exception handlers in the method last added.
     private ArrayList<CLException> mExceptionHandlers;
 
@@ -115,8 +121,9 @@ public class CLEmitter {
     // Whether an error occurred while creating/writing the class.
     private boolean errorHasOccurred;
 
-    // Class loader to use for creating in-memory representation of classes from byte streams.
-    private static ByteClassLoader byteClassLoader;
+    // Class loader to use for creating in-memory representation of classes from byte streams, kept per thread so that
+    // independent compilations can run concurrently.
+    private static final ThreadLocal<ByteClassLoader> byteClassLoader = new ThreadLocal<>();
 
     /**
      * Constructs a CLEmitter instance given a boolean on whether the class file will be written to the file
@@ -139,6 +146,16 @@ public class CLEmitter {
         this.destDir = destDir;
     }
 
+    /**
+     * Sets the map to which the classes are written (by write()), keyed by their binary names, if this emitter does
+     * not write them to the file system.
+     *
+     * @param destMap the destination map.
+     */
+    public void destinationMap(Map<String, byte[]> destMap) {
+        this.destMap = destMap;
+    }
+
     /**
      * Returns true if an emitter error has occurred up to now, and false otherwise.
      *
@@ -958,10 +975,13 @@ public class CLEmitter {
     }
 
     /**
-     * Sets a new ByteClassLoader for loading classes from byte streams.
+     * Sets a new ByteClassLoader (for the current thread) for loading classes from byte streams, and returns it.
+     *
+     * @return the new class loader.
      */
-    public static void initializeByteClassLoader() {
-        byteClassLoader = new ByteClassLoader();
+    public static ClassLoader initializeByteClassLoader() {
+        byteClassLoader.set(new ByteClassLoader());
+        return byteClassLoader.get();
     }
 
     /**
@@ -974,40 +994,79 @@ public class CLEmitter {
     }
 
     /**
-     * Returns the class being constructed as a Java Class instance.
+     * Returns the class being constructed as an array of bytes (in class file format), or null if an error occurs.
      *
-     * @return Java Class instance.
+     * @return the class being constructed as an array of bytes, or null.
      */
-    public Class toClass() {
+    public byte[] toBytes() {
         endOpenMethodIfAny();
-        Class theClass = null;
+        byte[] classBytes = null;
         try {
             // Extract the bytes from the class representation in memory into an array of bytes.
-            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-            CLOutputStream out = new CLOutputStream(new BufferedOutputStream(byteStream));
-            clFile.write(out);
-            out.close();
-            byte[] classBytes = byteStream.toByteArray();
-            byteStream.close();
-
-            // Load a Java Class instance from its byte representation.
-            byteClassLoader.setClassBytes(classBytes);
-            theClass = byteClassLoader.loadClass(name, true);
+            CLByteBuffer buffer = new CLByteBuffer();
+            clFile.write(new CLOutputStream(buffer));
+            classBytes = buffer.toByteArray();
         } catch (IOException e) {
             reportEmitterError("cannot write class to byte stream");
+        }
+        return classBytes;
+    }
+
+    /**
+     * Adds the class being constructed to the byte class loader without loading it. Classes added this way can refer
+     * to one another (for example, as superclass and subclass), and can be loaded in any order using loadClass().
+     */
+    public void addToClassLoader() {
+        byte[] classBytes = toBytes();
+        if (classBytes != null) {
+            byteClassLoader.get().addClassBytes(name, classBytes);
+        }
+    }
+
+    /**
+     * Loads the class being constructed (which must have been added to the byte class loader using
+     * addToClassLoader()) and returns it as a Java Class instance.
+     *
+     * @return Java Class instance.
+     */
+    public Class loadClass() {
+        Class theClass = null;
+        try {
+            theClass = byteClassLoader.get().loadClass(name, true);
         } catch (ClassNotFoundException e) {
             reportEmitterError("cannot load class from byte stream");
         }
         return theClass;
     }
 
+    /**
+     * Returns the class being constructed as a Java Class instance.
+     *
+     * @return Java Class instance.
+     */
+    public Class toClass() {
+        addToClassLoader();
+        return loadClass();
+    }
+
     /**
      * Writes out the class to the file system as a .class file if toFile is true. The destination directory for the
-     * file can be set using the destinationDir() method.
+     * file can be set using the destinationDir() method. If toFile is false, and a destination map has been set using
+     * destinationMap(), the class is written to that map instead.
      */
     public void write() {
         endOpenMethodIfAny();
         if (!toFile) {
+            if (destMap != null) {
+                byte[] classBytes = toBytes();
+                if (classBytes != null) {
+                    destMap.put(name.replace("/", "."), classBytes);
+                }
+            }
+            return;
+        }
+        byte[] classBytes = toBytes();
+        if (classBytes == null) {
             return;
         }
         String outFile = destDir + File.separator + name + ".class";
@@ -1015,8 +1074,8 @@ public class CLEmitter {
             File file = new File(destDir + File.separator + name.substring(0, 
                                  name.lastIndexOf("/") + 1));
             file.mkdirs();
-            CLOutputStream out = new CLOutputStream(new BufferedOutputStream(new FileOutputStream(outFile)));
-            clFile.write(out);
+            FileOutputStream out = new FileOutputStream(outFile);
+            out.write(classBytes);
             out.close();
         } catch (FileNotFoundException e) {
             reportEmitterError("file %s not found", outFile);
@@ -1065,7 +1124,7 @@ public class CLEmitter {
             }
 
             // Convert Instruction objects to bytes.
-            ArrayList<Integer> byteCode = new ArrayList<>();
+            byteCode.reset();
             int maxLocals = mLocalsCount;
             for (CLInstruction instr : mCode) {
                 // Compute maxLocals.
@@ -1103,12 +1162,12 @@ public class CLEmitter {
                     }
                 }
 
-                byteCode.addAll(instr.toBytes());
+                instr.toBytes(byteCode);
             }
 
             // Code attribute; add only if method is neither native nor abstract.
             if (!((mAccessFlags & ACC_NATIVE) == ACC_NATIVE || (mAccessFlags & ACC_ABSTRACT) == ACC_ABSTRACT)) {
-                addMethodAttribute(codeAttribute(byteCode, exceptionTable, stackDepth(), maxLocals));
+                addMethodAttribute(codeAttribute(byteCode.toByteArray(), exceptionTable, stackDepth(), maxLocals));
             }
 
             methods.add(new CLMethodInfo(mAccessFlags, mNameIndex, mDescriptorIndex, mAttributes.size(), mAttributes));
@@ -1400,42 +1459,37 @@ public class CLEmitter {
         return false;
     }
 
-    // Returns the instruction with the specified pc within the code array of the current method being added, or null.
-    private CLInstruction instruction(int pc) {
-        for (CLInstruction instruction : mCode) {
-            if (instruction.pc() == pc) {
-                return instruction;
-            }
-        }
-        return null;
-    }
-
-    // Returns the index of the instruction with the specified pc, within the code array of the current method being
-    // added, or -1.
-    private int instructionIndex(int pc) {
+    // Computes and returns the maximum depth of the operand stack for the method last added, and records in each
+    // reachable instruction the depth of the stack before it is executed. The instructions are indexed by pc once, and
+    // then visited from a worklist, each at most once, so the computation is linear in the size of the code. Reports
+    // an error if an instruction is reached with different stack depths along different paths.
+    private int stackDepth() {
+        int[] index = new int[mPC];
+        Arrays.fill(index, -1);
         for (int i = 0; i < mCode.size(); i++) {
-            if (mCode.get(i).pc() == pc) {
-                return i;
-            }
+            index[mCode.get(i).pc()] = i;
+        }
+        int[] depths = new int[mCode.size()];
+        Arrays.fill(depths, -1);
+        int[] worklist = new int[mCode.size()];
+        int size = 0;
+        if (!mCode.isEmpty()) {
+            depths[0] = 0;
+            worklist[size++] = 0;
         }
-        return -1;
-    }
-
-    // Computes and returns the maximum depth of the operand stack for the method last added.
-    private int stackDepth() {
-        CLBranchStack branchTargets = new CLBranchStack();
         for (CLException e : mExceptionHandlers) {
-            CLInstruction h = instruction(e.handlerPC);
-            if (h != null) {
-                // 1 because the exception that is thrown is pushed on top of the operand stack.
-                branchTargets.push(h, 1);
-            }
+            // 1 because the exception that is thrown is pushed on top of the operand stack.
+            size = reach(e.handlerPC, 1, index, depths, worklist, size);
         }
-        int stackDepth = 0, maxStackDepth = 0, c = 0;
-        CLInstruction instr = (mCode.size() == 0) ? null : mCode.get(c);
-        while (instr != null) {
+        int maxStackDepth = 0;
+        while (size > 0) {
+            int c = worklist[--size];
+            CLInstruction instr = mCode.get(c);
             int opcode = instr.opcode();
             int stackUnits = instr.stackUnits();
+            int stackDepth = depths[c];
+            instr.stackDepth = stackDepth;
+            maxStackDepth = Math.max(maxStackDepth, stackDepth);
             if (stackUnits == EMPTY_STACK) {
                 stackDepth = 0;
             } else if (stackUnits == UNIT_SIZE_STACK) {
@@ -1443,49 +1497,56 @@ public class CLEmitter {
             } else {
                 stackDepth += stackUnits;
             }
-            if (stackDepth > maxStackDepth) {
-                maxStackDepth = stackDepth;
-            }
+            maxStackDepth = Math.max(maxStackDepth, stackDepth);
+            boolean fallsThrough = true;
             if (instr instanceof CLFlowControlInstruction) {
                 CLFlowControlInstruction b = (CLFlowControlInstruction) instr;
-                int jumpToIndex = b.pc() + b.jumpToOffset();
-                CLInstruction instrAt = null;
                 switch (opcode) {
                     case JSR:
                     case JSR_W:
                     case RET:
-                        instr = null;
+                        fallsThrough = false;
+                        break;
+                    case TABLESWITCH:
+                    case LOOKUPSWITCH:
+                        fallsThrough = false;
+                        for (int offset : b.switchOffsets()) {
+                            size = reach(b.pc() + offset, stackDepth, index, depths, worklist, size);
+                        }
                         break;
                     case GOTO:
                     case GOTO_W:
-                        instr = null;
+                        fallsThrough = false;
                     default:
-                        instrAt = instruction(jumpToIndex);
-                        if (instrAt != null) {
-                            branchTargets.push(instrAt, stackDepth);
-                        }
+                        size = reach(b.pc() + b.jumpToOffset(), stackDepth, index, depths, worklist, size);
                 }
-            } else {
-                if ((opcode == ATHROW) || ((opcode >= IRETURN) && (opcode <= RETURN))) {
-                    instr = null;
-                }
-            }
-            if (instr != null) {
-                c++;
-                instr = (c >= mCode.size()) ? null : mCode.get(c);
+            } else if ((opcode == ATHROW) || ((opcode >= IRETURN) && (opcode <= RETURN))) {
+                fallsThrough = false;
             }
-            if (instr == null) {
-                CLBranchTarget bt = branchTargets.pop();
-                if (bt != null) {
-                    instr = bt.target;
-                    stackDepth = bt.stackDepth;
-                    c = instructionIndex(instr.pc());
-                }
+            if (fallsThrough && c + 1 < mCode.size()) {
+                size = reach(mCode.get(c + 1).pc(), stackDepth, index, depths, worklist, size);
             }
         }
         return maxStackDepth;
     }
 
+    // Records that the instruction at the specified pc (if there is one) is reached with the specified stack depth,
+    // adding it to the worklist if it had not been reached before, and returns the new size of the worklist.
+    private int reach(int pc, int stackDepth, int[] index, int[] depths, int[] worklist, int size) {
+        int c = (pc >= 0 && pc < index.length) ? index[pc] : -1;
+        if (c == -1) {
+            return size;
+        }
+        if (depths[c] == -1) {
+            depths[c] = stackDepth;
+            worklist[size++] = c;
+        } else if (depths[c] != stackDepth) {
+            reportEmitterError("%s: inconsistent stack depth at pc %d (%d and %d)", eCurrentMethod, pc, depths[c],
+                    stackDepth);
+        }
+        return size;
+    }
+
     // Adds LDC (LDC_W if index is wide) instruction.
     private void ldcInstruction(int index) {
         CLLoadStoreInstruction instr = index <= 255 ? new CLLoadStoreInstruction(LDC, mPC++, index) :
@@ -1512,9 +1573,9 @@ public class CLEmitter {
 
     // Constructs and returns a Code attribute given the list of bytes that make up the instructions and their
     // operands, exception table, maximum depth of operand stack, and maximum number of local variables.
-    private CLCodeAttribute codeAttribute(ArrayList<Integer> byteCode, ArrayList<CLExceptionInfo> exceptionTable,
+    private CLCodeAttribute codeAttribute(byte[] byteCode, ArrayList<CLExceptionInfo> exceptionTable,
                                           int stackDepth, int maxLocals) {
-        int codeLength = byteCode.size();
+        int codeLength = byteCode.length;
         int attributeNameIndex = constantPool.constantUtf8Info(ATT_CODE);
         int attributeLength = codeLength + 8 * exceptionTable.size() + 12;
         for (CLAttributeInfo info : mCodeAttributes) {
@@ -1559,12 +1620,10 @@ public class CLEmitter {
         }
     }
 
-    // Used to report any error that occurs while creating/writing the class, to STDERR.
+    // Used to report any error that occurs while creating/writing the class.
     private void reportEmitterError(String message, Object... args) {
         errorHasOccurred = true;
-        System.err.print("CLEmitter error: ");
-        System.err.printf(message, args);
-        System.err.println();
+        Diagnostic.report(null, 0, "CLEmitter error: " + String.format(message, args));
     }
 }
 
@@ -1659,152 +1718,151 @@ class CLException {
 }
 
 /**
- * Instances of this class form the elements of the CLBranchStack which is used for control flow analysis to compute
- * maximum depth of operand stack for a method.
+ * A class loader to be able to load classes from byte streams.
  */
-class CLBranchTarget {
+class ByteClassLoader extends ClassLoader {
+    // Maps (binary) class names to the bytes representing the classes.
+    private final HashMap<String, byte[]> classBytes;
+
     /**
-     * Target instruction.
+     * Constructs a ByteClassLoader.
      */
-    public CLInstruction target;
+    public ByteClassLoader() {
+        classBytes = new HashMap<>();
+    }
 
     /**
-     * Depth of stack before the target instruction is executed.
+     * Adds the bytes representing the class with the specified fully qualified name.
+     *
+     * @param name  the fully qualified name of the class, in internal or binary form.
+     * @param bytes bytes representing the class.
      */
-    public int stackDepth;
+    public void addClassBytes(String name, byte[] bytes) {
+        classBytes.put(name.replace("/", "."), bytes);
+    }
 
     /**
-     * Constructs a CLBranchTarget object.
+     * Loads the class with the specified fully qualified name.
      *
-     * @param target     the target instruction.
-     * @param stackDepth depth of stack before the target instruction is executed.
+     * @param name    the fully qualified name of the class.
+     * @param resolve if true then resolve the class.
+     * @throws ClassNotFoundException if the class could not be found.
      */
-    public CLBranchTarget(CLInstruction target, int stackDepth) {
-        this.target = target;
-        this.stackDepth = stackDepth;
+    public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        name = name.replace("/", ".");
+        Class cls = findLoadedClass(name);
+        if (cls == null && !classBytes.containsKey(name)) {
+            cls = findSystemClass(name);
+        }
+        if (cls == null) {
+            byte[] bytes = classBytes.get(name);
+            String pkg = name.lastIndexOf('.') == -1 ? "" : name.substring(0, name.lastIndexOf('.'));
+            if (getDefinedPackage(pkg) == null) {
+                // Packages must be created before the class is defined, and package names must be unique within a
+                // class loader and cannot be redefined or changed once created.
+                definePackage(pkg, "", "", "", "", "", "", null);
+            }
+            cls = defineClass(name, bytes, 0, bytes.length);
+            if (resolve && cls != null) {
+                resolveClass(cls);
+            }
+        }
+        return cls;
     }
 }
 
 /**
- * This class is used for control flow analysis to compute maximum depth of operand stack for a
- * method.
+ * A growable array of bytes, into which bytecode (and class files) are assembled without boxing the individual bytes.
+ * It is also an output stream, so that a CLOutputStream can write to it.
  */
-class CLBranchStack {
-    // Branch targets yet to visit.
-    private final Stack<CLBranchTarget> branchTargets;
+class CLByteBuffer extends OutputStream {
+    // The bytes; only the first size are in use.
+    private byte[] bytes;
 
-    // Branch targets already visited.
-    private final Hashtable<CLInstruction, CLBranchTarget> visitedTargets;
+    // Number of bytes in the buffer.
+    private int size;
 
     /**
-     * Constructs a CLBranchStack object.
+     * Constructs an empty CLByteBuffer.
      */
-    public CLBranchStack() {
-        this.branchTargets = new Stack<>();
-        this.visitedTargets = new Hashtable<>();
+    public CLByteBuffer() {
+        bytes = new byte[256];
+        size = 0;
     }
 
     /**
-     * Pushes the specified information into the stack as a CLBranchTarget instance if the target has not been
-     * visited yet.
+     * Appends the lower order byte of the specified value to the buffer.
      *
-     * @param target     the target instruction.
-     * @param stackDepth depth of stack before the target instruction is executed.
+     * @param b the value.
      */
-    public void push(CLInstruction target, int stackDepth) {
-        if (visited(target)) {
-            return;
+    public void writeByte(int b) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, 2 * size);
         }
-        branchTargets.push(visit(target, stackDepth));
+        bytes[size++] = (byte) b;
     }
 
     /**
-     * Pops and returns an element from the stack, or null.
+     * Appends the lower order two bytes of the specified value to the buffer, higher order byte first.
      *
-     * @return an element from the stack, or null.
+     * @param s the value.
      */
-    public CLBranchTarget pop() {
-        if (!branchTargets.empty()) {
-            return branchTargets.pop();
-        }
-        return null;
+    public void writeShort(int s) {
+        writeByte(s >> 8);
+        writeByte(s);
     }
 
-    // Returns an instance of CLBranchTarget with the specified information and records the target as visited.
-    private CLBranchTarget visit(CLInstruction target, int stackDepth) {
-        CLBranchTarget bt = new CLBranchTarget(target, stackDepth);
-        visitedTargets.put(target, bt);
-        return bt;
+    /**
+     * Appends the four bytes of the specified value to the buffer, higher order byte first.
+     *
+     * @param i the value.
+     */
+    public void writeInt(int i) {
+        writeShort(i >> 16);
+        writeShort(i);
     }
 
-    // Returns true if the specified instruction has been visited, and false otherwise.
-    private boolean visited(CLInstruction target) {
-        return (visitedTargets.get(target) != null);
+    /**
+     * {@inheritDoc}
+     */
+    public void write(int b) {
+        writeByte(b);
     }
-}
-
-/**
- * A class loader to be able to load a class from a byte stream.
- */
-class ByteClassLoader extends ClassLoader {
-    // Bytes representing the class.
-    private byte[] bytes;
-
-    // Has a package been defined for this class loader?
-    private boolean pkgDefined;
 
     /**
-     * Constructs a ByteClassLoader.
+     * {@inheritDoc}
      */
-    public ByteClassLoader() {
-        bytes = null;
-        pkgDefined = false;
+    public void write(byte[] b, int off, int len) {
+        if (size + len > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, size + len));
+        }
+        System.arraycopy(b, off, bytes, size, len);
+        size += len;
     }
 
     /**
-     * Sets the bytes representing the class.
+     * Returns the number of bytes in the buffer.
      *
-     * @param bytes bytes representing the class.
+     * @return the number of bytes in the buffer.
      */
-    public void setClassBytes(byte[] bytes) {
-        this.bytes = bytes;
+    public int size() {
+        return size;
     }
 
     /**
-     * Loads the class with the specified fully qualified name.
+     * Empties the buffer, keeping its storage for reuse.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Returns a copy of the bytes in the buffer.
      *
-     * @param name    the fully qualified name of the class.
-     * @param resolve if true then resolve the class.
-     * @throws ClassNotFoundException if the class could not be found.
+     * @return a copy of the bytes in the buffer.
      */
-    public Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-        Class cls = findLoadedClass(name);
-        if (cls == null) {
-            try {
-                cls = findSystemClass(name);
-            } catch (Exception e) {
-                // Ignore these.
-            } catch (NoClassDefFoundError e) {
-                // If we get here we know the class exists, so change the name to its binary name as defined in the
-                // Java Language Specifications.
-                cls = findSystemClass(name.replace("/", "."));
-            }
-        }
-        if (cls == null) {
-            name = name.replace("/", ".");
-            String pkg = name.lastIndexOf('.') == -1 ? "" : name.substring(0, name.lastIndexOf('.'));
-            if (!pkgDefined) {
-                // Packages must be created before the class is defined, and package names must be unique within a
-                // class loader and cannot be redefined or changed once created.
-                definePackage(pkg, "", "", "", "", "", "", null);
-                pkgDefined = true;
-            }
-            cls = defineClass(name, bytes, 0, bytes.length);
-            if (resolve && cls != null) {
-                resolveClass(cls);
-            }
-        }
-        return cls;
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
     }
 }
 
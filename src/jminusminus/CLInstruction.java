@@ -49,6 +49,12 @@ abstract class CLInstruction {
      */
     protected int localVariableIndex;
 
+    /**
+     * Depth of the operand stack before this instruction is executed, as computed by CLEmitter when the method
+     * containing the instruction is completed; -1 if the instruction is unreachable or the depth is not yet computed.
+     */
+    protected int stackDepth = -1;
+
     /**
      * For each JVM instruction, this array stores its opcode, mnemonic, number of operands (DYNAMIC for instructions
      * with variable attribute count), local variable index (IRRELEVANT where not applicable), stack units, and
@@ -330,37 +336,21 @@ abstract class CLInstruction {
     }
 
     /**
-     * Returns the bytecode for this instruction.
+     * Returns the depth of the operand stack before this instruction is executed, or -1 if the instruction is
+     * unreachable or the depth is not yet computed.
      *
-     * @return the bytecode for this instruction.
+     * @return the depth of the operand stack before this instruction is executed, or -1.
      */
-    public abstract ArrayList<Integer> toBytes();
+    public int stackDepth() {
+        return stackDepth;
+    }
 
     /**
-     * Returns the byte from i at position byteNum.
+     * Writes the bytecode for this instruction to the specified buffer.
      *
-     * @param i       number whose individual byte is required.
-     * @param byteNum the byte to return (1: lower - 4: higher).
-     * @return the byte at the specified position.
+     * @param bytes the buffer.
      */
-    protected int byteAt(int i, int byteNum) {
-        int j = 0, mask = 0xFF;
-        switch (byteNum) {
-            case 1: // lower order
-                j = i & mask;
-                break;
-            case 2:
-                j = (i >> 8) & mask;
-                break;
-            case 3:
-                j = (i >> 16) & mask;
-                break;
-            case 4: // higher order
-                j = (i >> 24) & mask;
-                break;
-        }
-        return j;
-    }
+    public abstract void toBytes(CLByteBuffer bytes);
 }
 
 /**
@@ -390,12 +380,9 @@ class CLObjectInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        bytes.add(byteAt(index, 2));
-        bytes.add(byteAt(index, 1));
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
+        bytes.writeShort(index);
     }
 }
 
@@ -428,12 +415,9 @@ class CLFieldInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        bytes.add(byteAt(index, 2));
-        bytes.add(byteAt(index, 1));
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
+        bytes.writeShort(index);
     }
 }
 
@@ -493,21 +477,18 @@ class CLMethodInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
         if (instructionInfo[opcode].category == METHOD1) {
-            bytes.add(byteAt(index, 2));
-            bytes.add(byteAt(index, 1));
+            bytes.writeShort(index);
 
             // INVOKEINTERFACE expects the number of arguments of the method as the third operand and a fourth
             // argument which must always be 0.
             if (opcode == INVOKEINTERFACE) {
-                bytes.add(byteAt(nArgs, 1));
-                bytes.add(0);
+                bytes.writeByte(nArgs);
+                bytes.writeByte(0);
             }
         }
-        return bytes;
     }
 }
 
@@ -576,24 +557,20 @@ class CLArrayInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
         switch (opcode) {
             case NEWARRAY:
-                bytes.add(byteAt(type, 1));
+                bytes.writeByte(type);
                 break;
             case ANEWARRAY:
-                bytes.add(byteAt(type, 2));
-                bytes.add(byteAt(type, 1));
+                bytes.writeShort(type);
                 break;
             case MULTIANEWARRAY:
-                bytes.add(byteAt(type, 2));
-                bytes.add(byteAt(type, 1));
-                bytes.add(byteAt(dim, 1));
+                bytes.writeShort(type);
+                bytes.writeByte(dim);
                 break;
         }
-        return bytes;
     }
 }
 
@@ -646,21 +623,17 @@ class CLArithmeticInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
         if (opcode == IINC) {
             if (isWidened) {
-                bytes.add(byteAt(localVariableIndex, 2));
-                bytes.add(byteAt(localVariableIndex, 1));
-                bytes.add(byteAt(constVal, 2));
-                bytes.add(byteAt(constVal, 1));
+                bytes.writeShort(localVariableIndex);
+                bytes.writeShort(constVal);
             } else {
-                bytes.add(byteAt(localVariableIndex, 1));
-                bytes.add(byteAt(constVal, 1));
+                bytes.writeByte(localVariableIndex);
+                bytes.writeByte(constVal);
             }
         }
-        return bytes;
     }
 }
 
@@ -686,10 +659,8 @@ class CLBitInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
     }
 }
 
@@ -715,10 +686,8 @@ class CLComparisonInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
     }
 }
 
@@ -744,10 +713,8 @@ class CLConversionInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
     }
 }
 
@@ -954,84 +921,70 @@ class CLFlowControlInstruction extends CLInstruction {
         return jumpToOffset;
     }
 
+    /**
+     * Returns the offsets (relative to the pc of this TABLESWITCH or LOOKUPSWITCH instruction) of the instructions that
+     * it may jump to: the default offset, followed by the offsets in its jump table or match-offset pairs.
+     *
+     * @return the offsets of the instructions that this switch instruction may jump to.
+     */
+    public ArrayList<Integer> switchOffsets() {
+        ArrayList<Integer> switchOffsets = new ArrayList<>();
+        switchOffsets.add(defaultOffset);
+        if (opcode == TABLESWITCH) {
+            switchOffsets.addAll(offsets);
+        } else {
+            switchOffsets.addAll(matchOffsetPairs.values());
+        }
+        return switchOffsets;
+    }
+
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
         switch (opcode) {
             case RET:
                 if (isWidened) {
-                    bytes.add(byteAt(index, 2));
-                    bytes.add(byteAt(index, 1));
+                    bytes.writeShort(index);
                 } else {
-                    bytes.add(byteAt(index, 1));
+                    bytes.writeByte(index);
                 }
                 break;
             case TABLESWITCH:
                 for (int i = 0; i < pad; i++) {
-                    bytes.add(0);
+                    bytes.writeByte(0);
                 }
-                bytes.add(byteAt(defaultOffset, 4));
-                bytes.add(byteAt(defaultOffset, 3));
-                bytes.add(byteAt(defaultOffset, 2));
-                bytes.add(byteAt(defaultOffset, 1));
-                bytes.add(byteAt(low, 4));
-                bytes.add(byteAt(low, 3));
-                bytes.add(byteAt(low, 2));
-                bytes.add(byteAt(low, 1));
-                bytes.add(byteAt(high, 4));
-                bytes.add(byteAt(high, 3));
-                bytes.add(byteAt(high, 2));
-                bytes.add(byteAt(high, 1));
+                bytes.writeInt(defaultOffset);
+                bytes.writeInt(low);
+                bytes.writeInt(high);
                 for (int jumpOffset : offsets) {
-                    bytes.add(byteAt(jumpOffset, 4));
-                    bytes.add(byteAt(jumpOffset, 3));
-                    bytes.add(byteAt(jumpOffset, 2));
-                    bytes.add(byteAt(jumpOffset, 1));
+                    bytes.writeInt(jumpOffset);
                 }
                 break;
             case LOOKUPSWITCH:
                 for (int i = 0; i < pad; i++) {
-                    bytes.add(0);
+                    bytes.writeByte(0);
                 }
-                bytes.add(byteAt(defaultOffset, 4));
-                bytes.add(byteAt(defaultOffset, 3));
-                bytes.add(byteAt(defaultOffset, 2));
-                bytes.add(byteAt(defaultOffset, 1));
-                bytes.add(byteAt(numPairs, 4));
-                bytes.add(byteAt(numPairs, 3));
-                bytes.add(byteAt(numPairs, 2));
-                bytes.add(byteAt(numPairs, 1));
+                bytes.writeInt(defaultOffset);
+                bytes.writeInt(numPairs);
                 Set<Entry<Integer, Integer>> matches = matchOffsetPairs.entrySet();
                 Iterator<Entry<Integer, Integer>> iter = matches.iterator();
                 while (iter.hasNext()) {
                     Entry<Integer, Integer> entry = iter.next();
                     int match = entry.getKey();
                     int offset = entry.getValue();
-                    bytes.add(byteAt(match, 4));
-                    bytes.add(byteAt(match, 3));
-                    bytes.add(byteAt(match, 2));
-                    bytes.add(byteAt(match, 1));
-                    bytes.add(byteAt(offset, 4));
-                    bytes.add(byteAt(offset, 3));
-                    bytes.add(byteAt(offset, 2));
-                    bytes.add(byteAt(offset, 1));
+                    bytes.writeInt(match);
+                    bytes.writeInt(offset);
                 }
                 break;
             case GOTO_W:
             case JSR_W:
-                bytes.add(byteAt(jumpToOffset, 4));
-                bytes.add(byteAt(jumpToOffset, 3));
-                bytes.add(byteAt(jumpToOffset, 2));
-                bytes.add(byteAt(jumpToOffset, 1));
+                bytes.writeInt(jumpToOffset);
                 break;
             default:
-                bytes.add(byteAt(jumpToOffset, 2));
-                bytes.add(byteAt(jumpToOffset, 1));
+                bytes.writeShort(jumpToOffset);
         }
-        return bytes;
     }
 }
 
@@ -1099,30 +1052,27 @@ class CLLoadStoreInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
         if (instructionInfo[opcode].operandCount > 0) {
             if (localVariableIndex != IRRELEVANT) {
                 if (isWidened) {
-                    bytes.add(byteAt(localVariableIndex, 2));
+                    bytes.writeByte(localVariableIndex >> 8);
                 }
-                bytes.add(byteAt(localVariableIndex, 1));
+                bytes.writeByte(localVariableIndex);
             } else {
                 switch (opcode) {
                     case BIPUSH:
                     case LDC:
-                        bytes.add(byteAt(constVal, 1));
+                        bytes.writeByte(constVal);
                         break;
                     case SIPUSH:
                     case LDC_W:
                     case LDC2_W:
-                        bytes.add(byteAt(constVal, 2));
-                        bytes.add(byteAt(constVal, 1));
+                        bytes.writeShort(constVal);
                 }
             }
         }
-        return bytes;
     }
 }
 
@@ -1148,10 +1098,8 @@ class CLStackInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
     }
 }
 
@@ -1177,10 +1125,8 @@ class CLMiscInstruction extends CLInstruction {
     /**
      * {@inheritDoc}
      */
-    public ArrayList<Integer> toBytes() {
-        ArrayList<Integer> bytes = new ArrayList<>();
-        bytes.add(opcode);
-        return bytes;
+    public void toBytes(CLByteBuffer bytes) {
+        bytes.writeByte(opcode);
     }
 }
 
@@ -0,0 +1,451 @@
+package jminusminus;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * An immutable, symbolic representation of a Java type: a primitive type, an array type, or a class (or interface)
+ * with its supertypes and declared members, as read from a class file. Unlike a Class, a ClassSymbol is not defined
+ * in (let alone initialized by) the compiler's JVM, so building one never executes any code of the type it represents.
+ * <p>
+ * Like Class, ClassSymbol answers for its own declarations only; the types it refers to (its supertypes, and the types
+ * of its members) are named by their binary names and descriptors, and are resolved through Type.
+ */
+class ClassSymbol {
+    /**
+     * The int type.
+     */
+    public static final ClassSymbol INT = new ClassSymbol("int", "I");
+
+    /**
+     * The char type.
+     */
+    public static final ClassSymbol CHAR = new ClassSymbol("char", "C");
+
+    /**
+     * The boolean type.
+     */
+    public static final ClassSymbol BOOLEAN = new ClassSymbol("boolean", "Z");
+
+    /**
+     * The long type.
+     */
+    public static final ClassSymbol LONG = new ClassSymbol("long", "J");
+
+    /**
+     * The double type.
+     */
+    public static final ClassSymbol DOUBLE = new ClassSymbol("double", "D");
+
+    /**
+     * The byte type.
+     */
+    public static final ClassSymbol BYTE = new ClassSymbol("byte", "B");
+
+    /**
+     * The short type.
+     */
+    public static final ClassSymbol SHORT = new ClassSymbol("short", "S");
+
+    /**
+     * The float type.
+     */
+    public static final ClassSymbol FLOAT = new ClassSymbol("float", "F");
+
+    /**
+     * The void type.
+     */
+    public static final ClassSymbol VOID = new ClassSymbol("void", "V");
+
+    // No members.
+    private static final MemberSymbol[] NO_MEMBERS = new MemberSymbol[0];
+
+    // No interfaces.
+    private static final String[] NO_INTERFACES = new String[0];
+
+    // Binary name of the type (as returned by Class.getName()).
+    private final String name;
+
+    // JVM descriptor of the type.
+    private final String descriptor;
+
+    // Access flags (as returned by Class.getModifiers()).
+    private final int modifiers;
+
+    // Binary name of the superclass, or null (for Object, interfaces, and primitive types).
+    private final String superName;
+
+    // Binary names of the directly implemented (or extended) interfaces.
+    private final String[] interfaceNames;
+
+    // Component type of an array type, or null.
+    private final ClassSymbol componentType;
+
+    // Declared fields, in declaration order.
+    private final MemberSymbol[] fields;
+
+    // Declared methods (but for class initializers), in declaration order.
+    private final MemberSymbol[] methods;
+
+    // Declared constructors, in declaration order.
+    private final MemberSymbol[] constructors;
+
+    // Whether the type is declared by the compilation units being compiled, rather than loaded from a library.
+    private final boolean isDeclared;
+
+    /**
+     * Constructs a ClassSymbol for a class or interface.
+     *
+     * @param name           binary name of the class.
+     * @param modifiers      access flags of the class.
+     * @param superName      binary name of the superclass, or null.
+     * @param interfaceNames binary names of the directly implemented interfaces.
+     * @param fields         declared fields.
+     * @param methods        declared methods.
+     * @param constructors   declared constructors.
+     * @param isDeclared     whether the class is declared by the compilation units being compiled.
+     */
+    public ClassSymbol(String name, int modifiers, String superName, String[] interfaceNames, MemberSymbol[] fields,
+                       MemberSymbol[] methods, MemberSymbol[] constructors, boolean isDeclared) {
+        this.name = name;
+        this.descriptor = "L" + name.replace('.', '/') + ";";
+        this.modifiers = modifiers;
+        this.superName = Modifier.isInterface(modifiers) ? null : superName;
+        this.interfaceNames = interfaceNames;
+        this.componentType = null;
+        this.fields = fields;
+        this.methods = methods;
+        this.constructors = constructors;
+        this.isDeclared = isDeclared;
+    }
+
+    /**
+     * Constructs and returns a ClassSymbol for a class that cannot be found: a public class extending Object, having
+     * no members.
+     *
+     * @param name binary name of the class.
+     * @return a ClassSymbol for the missing class.
+     */
+    public static ClassSymbol missing(String name) {
+        return new ClassSymbol(name, Modifier.PUBLIC, "java.lang.Object", NO_INTERFACES, NO_MEMBERS, NO_MEMBERS,
+                NO_MEMBERS, false);
+    }
+
+    /**
+     * Constructs and returns a ClassSymbol for the array type having the specified component type.
+     *
+     * @param componentType the component type.
+     * @return a ClassSymbol for the array type.
+     */
+    public static ClassSymbol arrayOf(ClassSymbol componentType) {
+        return new ClassSymbol(componentType);
+    }
+
+    /**
+     * Returns the ClassSymbol for the primitive type (or void) having the specified descriptor, or null.
+     *
+     * @param descriptor the descriptor.
+     * @return the ClassSymbol for the primitive type, or null.
+     */
+    public static ClassSymbol primitive(String descriptor) {
+        switch (descriptor) {
+            case "I":
+                return INT;
+            case "C":
+                return CHAR;
+            case "Z":
+                return BOOLEAN;
+            case "J":
+                return LONG;
+            case "D":
+                return DOUBLE;
+            case "B":
+                return BYTE;
+            case "S":
+                return SHORT;
+            case "F":
+                return FLOAT;
+            case "V":
+                return VOID;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the binary name of this type.
+     *
+     * @return the binary name of this type.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the JVM descriptor of this type.
+     *
+     * @return the JVM descriptor of this type.
+     */
+    public String descriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Returns the access flags of this type.
+     *
+     * @return the access flags of this type.
+     */
+    public int modifiers() {
+        return modifiers;
+    }
+
+    /**
+     * Returns the binary name of this type's superclass, or null.
+     *
+     * @return the binary name of this type's superclass, or null.
+     */
+    public String superName() {
+        return superName;
+    }
+
+    /**
+     * Returns the binary names of the interfaces this type directly implements (or extends).
+     *
+     * @return the binary names of the interfaces this type directly implements.
+     */
+    public String[] interfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Returns the component type of this array type, or null if this is not an array type.
+     *
+     * @return the component type of this array type, or null.
+     */
+    public ClassSymbol componentType() {
+        return componentType;
+    }
+
+    /**
+     * Returns the fields declared in this type.
+     *
+     * @return the fields declared in this type.
+     */
+    public MemberSymbol[] fields() {
+        return fields;
+    }
+
+    /**
+     * Returns the methods declared in this type.
+     *
+     * @return the methods declared in this type.
+     */
+    public MemberSymbol[] methods() {
+        return methods;
+    }
+
+    /**
+     * Returns the constructors declared in this type.
+     *
+     * @return the constructors declared in this type.
+     */
+    public MemberSymbol[] constructors() {
+        return constructors;
+    }
+
+    /**
+     * Returns true if this is an array type, and false otherwise.
+     *
+     * @return true if this is an array type, and false otherwise.
+     */
+    public boolean isArray() {
+        return componentType != null;
+    }
+
+    /**
+     * Returns true if this is a primitive type (or void), and false otherwise.
+     *
+     * @return true if this is a primitive type, and false otherwise.
+     */
+    public boolean isPrimitive() {
+        return descriptor.length() == 1;
+    }
+
+    /**
+     * Returns true if this type is declared by the compilation units being compiled, and false if it is loaded from a
+     * library.
+     *
+     * @return true if this type is declared by the compilation units being compiled, and false otherwise.
+     */
+    public boolean isDeclared() {
+        return isDeclared;
+    }
+
+    /**
+     * Returns the name of this type's package, or the empty string for primitive and array types and types in the
+     * unnamed package.
+     *
+     * @return the name of this type's package.
+     */
+    public String packageName() {
+        return isPrimitive() || isArray() || name.lastIndexOf('.') == -1 ? "" :
+                name.substring(0, name.lastIndexOf('.'));
+    }
+
+    /**
+     * Returns the simple name of this type (as returned by Class.getSimpleName()).
+     *
+     * @return the simple name of this type.
+     */
+    public String simpleName() {
+        if (isArray()) {
+            return componentType.simpleName() + "[]";
+        }
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        return simpleName.substring(simpleName.lastIndexOf('$') + 1);
+    }
+
+    /**
+     * Returns the canonical name of this type (as returned by Class.getCanonicalName()).
+     *
+     * @return the canonical name of this type.
+     */
+    public String canonicalName() {
+        return isArray() ? componentType.canonicalName() + "[]" : name.replace('$', '.');
+    }
+
+    // Constructs a ClassSymbol for the primitive type having the specified name and descriptor.
+    private ClassSymbol(String name, String descriptor) {
+        this.name = name;
+        this.descriptor = descriptor;
+        this.modifiers = Modifier.PUBLIC | Modifier.FINAL | Modifier.ABSTRACT;
+        this.superName = null;
+        this.interfaceNames = NO_INTERFACES;
+        this.componentType = null;
+        this.fields = NO_MEMBERS;
+        this.methods = NO_MEMBERS;
+        this.constructors = NO_MEMBERS;
+        this.isDeclared = false;
+    }
+
+    // Constructs a ClassSymbol for the array type having the specified component type.
+    private ClassSymbol(ClassSymbol componentType) {
+        this.name = "[" + componentType.descriptor.replace('/', '.');
+        this.descriptor = "[" + componentType.descriptor;
+        this.modifiers = componentType.modifiers & (Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)
+                | Modifier.FINAL | Modifier.ABSTRACT;
+        this.superName = "java.lang.Object";
+        this.interfaceNames = new String[] {"java.lang.Cloneable", "java.io.Serializable"};
+        this.componentType = componentType;
+        this.fields = NO_MEMBERS;
+        this.methods = NO_MEMBERS;
+        this.constructors = NO_MEMBERS;
+        this.isDeclared = componentType.isDeclared;
+    }
+}
+
+/**
+ * An immutable, symbolic representation of a field, method, or constructor declared in a class, as read from a class
+ * file.
+ */
+class MemberSymbol {
+    // Binary name of the class declaring the member.
+    private final String declaringName;
+
+    // The member's name; <init> for constructors.
+    private final String name;
+
+    // The member's access flags.
+    private final int modifiers;
+
+    // The member's JVM descriptor.
+    private final String descriptor;
+
+    /**
+     * Constructs a MemberSymbol.
+     *
+     * @param declaringName binary name of the class declaring the member.
+     * @param name          the member's name.
+     * @param modifiers     the member's access flags.
+     * @param descriptor    the member's JVM descriptor.
+     */
+    public MemberSymbol(String declaringName, String name, int modifiers, String descriptor) {
+        this.declaringName = declaringName;
+        this.name = name;
+        this.modifiers = modifiers;
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Returns the binary name of the class declaring this member.
+     *
+     * @return the binary name of the class declaring this member.
+     */
+    public String declaringName() {
+        return declaringName;
+    }
+
+    /**
+     * Returns this member's name.
+     *
+     * @return this member's name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns this member's access flags.
+     *
+     * @return this member's access flags.
+     */
+    public int modifiers() {
+        return modifiers;
+    }
+
+    /**
+     * Returns this member's JVM descriptor.
+     *
+     * @return this member's JVM descriptor.
+     */
+    public String descriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Returns the number of parameters of this method (or constructor).
+     *
+     * @return the number of parameters of this method.
+     */
+    public int parameterCount() {
+        int count = 0;
+        for (int i = 1; descriptor.charAt(i) != ')'; i++) {
+            while (descriptor.charAt(i) == '[') {
+                i++;
+            }
+            if (descriptor.charAt(i) == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the descriptor of this method's return type.
+     *
+     * @return the descriptor of this method's return type.
+     */
+    public String returnDescriptor() {
+        return descriptor.substring(descriptor.indexOf(')') + 1);
+    }
+
+    /**
+     * Returns true if this method is a bridge method (generated by a Java compiler to implement a covariant override),
+     * and false otherwise.
+     *
+     * @return true if this method is a bridge method, and false otherwise.
+     */
+    public boolean isBridge() {
+        return (modifiers & CLConstants.ACC_BRIDGE) != 0;
+    }
+}
@@ -0,0 +1,339 @@
+package jminusminus;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A batch of compilation units that are compiled together, in a single invocation of the compiler. The units share a
+ * compilation unit context in which the types declared by every unit are declared, so that a type declared in one
+ * unit can be referenced from any other unit in the batch.
+ * <p>
+ * Each phase (pre-analysis, analysis, and code generation) is run over all the units in the batch before the next
+ * phase begins, which is what makes the types (and members) declared by one unit available to the others.
+ * <p>
+ * A batch can be parallel, in which case the units are parsed, analyzed, and code generated as separate tasks on a
+ * fork-join pool. Pre-analysis, which declares the types shared by all the units, is always done sequentially, and
+ * is cheap compared to the other phases. Everything a task mutates (the unit's AST, its contexts, and its code
+ * emitter) is confined to that task; the data shared by the tasks (the batch context, once pre-analysis is done, and
+ * the Type registry) is either read-only or thread-safe. Diagnostics from units compiled in parallel may be
+ * reported in any order.
+ * <p>
+ * A batch can also be incremental, in which case the units that are up to date with respect to the build state
+ * stored in the output directory (see BuildState) are pre-analyzed (so that the types they declare are available to
+ * the other units), but neither analyzed nor code generated; the classes already in the output directory are kept.
+ */
+class CompilationBatch {
+    // Compilation units in the batch.
+    private final ArrayList<JCompilationUnit> compilationUnits;
+
+    // Context shared by the compilation units, in which the types declared by the units are declared.
+    private final CompilationUnitContext context;
+
+    // Pool on which the units are compiled in parallel, or null if the batch is sequential.
+    private final ForkJoinPool pool;
+
+    // Whether an error has occurred while generating code.
+    private volatile boolean codegenErrorHasOccurred;
+
+    // Build state, if the batch is incremental, or null.
+    private BuildState buildState;
+
+    // Units that are up to date with respect to the build state.
+    private final HashSet<JCompilationUnit> upToDateUnits;
+
+    // Report in which the time spent in each phase is recorded, or null.
+    private Timings timings;
+
+    // Table in which the identifiers in the sources of the batch are interned.
+    private final Names names;
+
+    /**
+     * Constructs an empty (sequential) CompilationBatch.
+     */
+    public CompilationBatch() {
+        this(1);
+    }
+
+    /**
+     * Constructs an empty CompilationBatch that compiles its units using the specified number of threads.
+     *
+     * @param parallelism the number of threads; the batch is sequential if this is 1.
+     */
+    public CompilationBatch(int parallelism) {
+        compilationUnits = new ArrayList<>();
+        context = new CompilationUnitContext();
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        codegenErrorHasOccurred = false;
+        upToDateUnits = new HashSet<>();
+        names = new Names();
+    }
+
+    /**
+     * Makes this batch incremental, with its build state stored in the specified output directory. Must be called
+     * before preAnalyze().
+     *
+     * @param outputDir the output directory.
+     */
+    public void setIncremental(String outputDir) {
+        buildState = new BuildState(outputDir);
+    }
+
+    /**
+     * Records the time spent in each phase of compiling the units added to this batch from now on in the specified
+     * report.
+     *
+     * @param timings the report.
+     */
+    public void setTimings(Timings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Adds the specified compilation unit to this batch.
+     *
+     * @param compilationUnit the compilation unit.
+     */
+    public void add(JCompilationUnit compilationUnit) {
+        compilationUnit.setTimings(timings);
+        compilationUnits.add(compilationUnit);
+    }
+
+    /**
+     * Parses the specified source files using the specified parser (which returns the AST for a source file, or null
+     * if the file cannot be read or has syntax errors), and adds the resulting compilation units to this batch in the
+     * order of the files. Returns true if all the files were parsed successfully, and false otherwise.
+     *
+     * @param sourceFiles the source files.
+     * @param parser      the parser.
+     * @return true if all the files were parsed successfully, and false otherwise.
+     */
+    public boolean parse(List<String> sourceFiles, Function<String, JCompilationUnit> parser) {
+        JCompilationUnit[] asts = new JCompilationUnit[sourceFiles.size()];
+        ArrayList<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < sourceFiles.size(); i++) {
+            indices.add(i);
+        }
+        forEach(indices, i -> asts[i] = parser.apply(sourceFiles.get(i)));
+        boolean allParsed = true;
+        for (JCompilationUnit ast : asts) {
+            if (ast == null) {
+                allParsed = false;
+            } else {
+                add(ast);
+            }
+        }
+        return allParsed;
+    }
+
+    /**
+     * Returns the table in which the identifiers in the sources of this batch are to be interned when they are
+     * scanned.
+     *
+     * @return the table in which the identifiers are to be interned.
+     */
+    public Names names() {
+        return names;
+    }
+
+    /**
+     * Returns the compilation units in this batch.
+     *
+     * @return the compilation units in this batch.
+     */
+    public ArrayList<JCompilationUnit> compilationUnits() {
+        return compilationUnits;
+    }
+
+    /**
+     * Returns true if a semantic (or code generation) error has occurred in any of the compilation units up to now, and
+     * false otherwise.
+     *
+     * @return true if a semantic (or code generation) error has occurred up to now, and false otherwise.
+     */
+    public boolean errorHasOccurred() {
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            if (compilationUnit.errorHasOccurred()) {
+                return true;
+            }
+        }
+        return codegenErrorHasOccurred;
+    }
+
+    /**
+     * Pre-analyzes the compilation units in this batch. The types declared by all the units are declared first, then
+     * the units are pre-analyzed, and finally the partial classes for all the declared types are defined.
+     */
+    public void preAnalyze() {
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            compilationUnit.declareTypes(context);
+        }
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            compilationUnit.preAnalyze();
+        }
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            compilationUnit.definePartialTypes();
+        }
+        if (buildState != null && !errorHasOccurred()) {
+            buildState.computeSignatures(compilationUnits);
+            for (JCompilationUnit compilationUnit : compilationUnits) {
+                if (buildState.isUpToDate(compilationUnit)) {
+                    upToDateUnits.add(compilationUnit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Analyzes the (out of date) compilation units in this batch.
+     */
+    public void analyze() {
+        forEach(outOfDateUnits(), compilationUnit -> compilationUnit.analyze(null));
+    }
+
+    /**
+     * Generates code for the (out of date) compilation units in this batch, writing the .class files to the specified
+     * directory. If the batch is incremental, also updates and saves the build state.
+     *
+     * @param outputDir the destination directory for the .class files.
+     */
+    public void codegen(String outputDir) {
+        ArrayList<JCompilationUnit> outOfDateUnits = outOfDateUnits();
+        codegen(outOfDateUnits, () -> {
+            CLEmitter jvmCode = new CLEmitter(true);
+            jvmCode.destinationDir(outputDir);
+            return jvmCode;
+        });
+        if (buildState != null && !errorHasOccurred()) {
+            for (JCompilationUnit compilationUnit : outOfDateUnits) {
+                buildState.record(compilationUnit);
+            }
+            buildState.save(compilationUnits);
+        }
+    }
+
+    /**
+     * Generates code for the (out of date) compilation units in this batch, adding the classes to the specified
+     * (thread-safe) map, keyed by their binary names, instead of writing them to the file system.
+     *
+     * @param classes the map to which the classes are added.
+     */
+    public void codegen(Map<String, byte[]> classes) {
+        codegen(outOfDateUnits(), () -> {
+            CLEmitter jvmCode = new CLEmitter(false);
+            jvmCode.destinationMap(classes);
+            return jvmCode;
+        });
+    }
+
+    /**
+     * Discards the types declared by the compilation units in this batch (see Type.discardDeclaredTypes()), and
+     * shuts down the pool on which the units are compiled (if the batch is parallel). The batch may not be used
+     * afterwards.
+     */
+    public void dispose() {
+        ArrayList<Type> declaredTypes = new ArrayList<>();
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            declaredTypes.addAll(compilationUnit.declaredTypes());
+        }
+        Type.discardDeclaredTypes(declaredTypes);
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Prints the ASTs of the compilation units in this batch to STDOUT, in JSON format.
+     */
+    public void printJSON() {
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            JSONElement json = new JSONElement();
+            compilationUnit.toJSON(json);
+            System.out.println(json);
+        }
+    }
+
+    /**
+     * Returns a list of the source files denoted by the specified path: the path itself if it names a .java file, or
+     * the .java files found (recursively, and in sorted order) under it if it names a directory.
+     *
+     * @param path the path of a source file or directory.
+     * @return a list of the source files denoted by the specified path.
+     */
+    public static ArrayList<String> sourceFiles(String path) {
+        ArrayList<String> sourceFiles = new ArrayList<>();
+        File file = new File(path);
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    if (child.isDirectory() || child.getName().endsWith(".java")) {
+                        sourceFiles.addAll(sourceFiles(child.getPath()));
+                    }
+                }
+            }
+        } else {
+            sourceFiles.add(path);
+        }
+        return sourceFiles;
+    }
+
+    // Returns the compilation units in this batch that are not up to date.
+    private ArrayList<JCompilationUnit> outOfDateUnits() {
+        ArrayList<JCompilationUnit> outOfDateUnits = new ArrayList<>();
+        for (JCompilationUnit compilationUnit : compilationUnits) {
+            if (!upToDateUnits.contains(compilationUnit)) {
+                outOfDateUnits.add(compilationUnit);
+            }
+        }
+        return outOfDateUnits;
+    }
+
+    // Generates code for the specified compilation units, each into a code emitter obtained from the specified
+    // supplier.
+    private void codegen(ArrayList<JCompilationUnit> units, Supplier<CLEmitter> emitters) {
+        forEach(units, compilationUnit -> {
+            CLEmitter jvmCode = emitters.get();
+            compilationUnit.codegen(jvmCode);
+            if (jvmCode.errorHasOccurred()) {
+                codegenErrorHasOccurred = true;
+            }
+        });
+    }
+
+    // Performs the specified action on each of the specified items, as separate tasks on the pool if this batch is
+    // parallel, and returns once the action has been performed on all the items. The tasks report diagnostics to the
+    // listener of the calling thread.
+    private <T> void forEach(List<T> items, Consumer<T> action) {
+        if (pool == null) {
+            for (T item : items) {
+                action.accept(item);
+            }
+            return;
+        }
+        Consumer<Diagnostic> listener = Diagnostic.listener();
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (T item : items) {
+            tasks.add(pool.submit(() -> {
+                Diagnostic.setListener(listener);
+                try {
+                    action.accept(item);
+                } finally {
+                    Diagnostic.setListener(null);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package jminusminus;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * A long-running compile server for j--. Compiling a small program with the j-- command costs far more in JVM startup
+ * and warm-up (of the scanner, parser, code emitter, and the types for the JDK classes) than in compiling. The server
+ * pays those costs once, and then compiles programs on request, from a thin client (bin/j--client) that talks to it
+ * over a loopback socket.
+ * <p>
+ * As any local user can connect to a loopback socket, the server only serves the clients that can read its token: a
+ * random string that it writes, when it starts, to the file ~/.j--/server-&lt;port&gt;.token, which only the user
+ * running the server can read (the file and its directory are made private to that user), and deletes when it stops.
+ * <p>
+ * The protocol is line-based (UTF-8), so that the client can be a shell script. A request is the server's token,
+ * followed by the client's working directory, followed by the command-line arguments to the compiler, one per line,
+ * and terminated by an empty line. The first argument names the front-end to use ("j--" for Main, or "javaccj--" for
+ * JavaCCMain). Relative paths in the arguments are resolved against the client's working directory. The response is
+ * the output of the compiler, one line at a time, each line prefixed with "O " (STDOUT) or "E " (STDERR), followed by
+ * a line "X status", where status is 0 if the compiler reported nothing on STDERR, and 1 otherwise. A request whose
+ * (last) argument is "-stop" stops the server. The -run option is refused: the program would run in the server's JVM,
+ * where it could (among other things) exit the server.
+ * <p>
+ * Requests are served one at a time. So that a client cannot hold up the others, the server drops a connection on
+ * which the request does not arrive within ten seconds, or whose first line is longer than a token. The types for
+ * JDK classes are kept across requests, whereas the types declared by the compiled programs are discarded after each
+ * request.
+ */
+public class CompileServer {
+    /**
+     * Default port on which the server listens.
+     */
+    public static final int DEFAULT_PORT = 7733;
+
+    // Milliseconds that the server waits for (each part of) a request before dropping the connection.
+    private static final int REQUEST_TIMEOUT = 10000;
+
+    /**
+     * Constructs a CompileServer object.
+     */
+    public CompileServer() {
+        // Nothing here.
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args the command-line arguments.
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        if (args.length == 2 && args[0].equals("-port") && args[1].matches("[0-9]+")) {
+            port = Integer.parseInt(args[1]);
+        } else if (args.length != 0) {
+            System.out.println("Usage: j--server [-port <port>]; default port = " + DEFAULT_PORT);
+            return;
+        }
+        Path tokenFile = tokenFile(port);
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            byte[] token;
+            try {
+                token = writeToken(tokenFile);
+            } catch (IOException e) {
+                System.err.println("Error: cannot write the token file " + tokenFile + ": " + e.getMessage());
+                return;
+            }
+            System.out.println("j-- compile server listening on port " + port);
+            try {
+                boolean isRunning = true;
+                while (isRunning) {
+                    try (Socket socket = serverSocket.accept()) {
+                        isRunning = serve(socket, token);
+                    } catch (IOException e) {
+                        System.err.println("Error: " + e.getMessage());
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(tokenFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: cannot listen on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    // Returns the file holding the token of the server listening on the specified port.
+    private static Path tokenFile(int port) {
+        return Path.of(System.getProperty("user.home"), ".j--", "server-" + port + ".token");
+    }
+
+    // Writes a new random token to the specified file, creating the file (and its directory) so that only the
+    // current user can read it, and returns the token.
+    private static byte[] writeToken(Path tokenFile) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        byte[] token = HexFormat.of().formatHex(random).getBytes(StandardCharsets.UTF_8);
+        Path dir = tokenFile.getParent();
+        Files.deleteIfExists(tokenFile);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            if (!Files.isDirectory(dir)) {
+                Files.createDirectories(dir,
+                        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            }
+            Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwx------"));
+            Files.createFile(tokenFile,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createDirectories(dir);
+            Files.createFile(tokenFile);
+        }
+        Files.write(tokenFile, token);
+        return token;
+    }
+
+    // Serves the request on the specified socket, provided that it starts with the specified token. Returns false if
+    // the request is to stop the server, and true otherwise.
+    private static boolean serve(Socket socket, byte[] token) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT);
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.UTF_8);
+
+        // A line terminator (\n or \r\n) may follow the token.
+        byte[] clientToken = readLine(socket.getInputStream(), token.length + 2);
+        if (clientToken == null || !MessageDigest.isEqual(token, clientToken)) {
+            out.println("E Error: bad token; the client must be run by the user running the server");
+            out.println("X 2");
+            out.flush();
+            return true;
+        }
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8));
+        String workingDir = in.readLine();
+        ArrayList<String> args = new ArrayList<>();
+        for (String line = in.readLine(); line != null && !line.isEmpty(); line = in.readLine()) {
+            args.add(line);
+        }
+        if (workingDir == null) {
+            return true;
+        }
+        if (!args.isEmpty() && args.get(args.size() - 1).equals("-stop")) {
+            out.println("X 0");
+            out.flush();
+            return false;
+        }
+
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        if (args.contains("-run")) {
+            stderr.writeBytes("Error: the compile server does not support -run; use j-- -run instead.\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        } else {
+            compile(workingDir, args, stdout, stderr);
+        }
+        respond(out, "O ", stdout);
+        respond(out, "E ", stderr);
+        out.println("X " + (stderr.size() == 0 ? 0 : 1));
+        out.flush();
+        return true;
+    }
+
+    // Reads a line from the specified stream, reading at most maxLength bytes (the line terminator included), and
+    // returns it without its terminator, or null if the stream ends, or no line ends, within maxLength bytes. The
+    // stream is read a byte at a time, so that nothing past the line is consumed.
+    private static byte[] readLine(InputStream in, int maxLength) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int i = 0; i < maxLength; i++) {
+            int b = in.read();
+            if (b == -1) {
+                return null;
+            } else if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return Arrays.copyOf(bytes, length);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    // Runs the compiler with the specified arguments (relative to the specified working directory), capturing what it
+    // writes to STDOUT and STDERR in the specified streams.
+    private static void compile(String workingDir, ArrayList<String> args, ByteArrayOutputStream stdout,
+                                ByteArrayOutputStream stderr) {
+        String[] compilerArgs = new String[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            boolean isPath = i > 0 && args.get(i - 1).endsWith("-d") || !arg.startsWith("-")
+                    && (arg.endsWith(".java") || new File(workingDir, arg).isDirectory());
+            compilerArgs[i] = isPath && !new File(arg).isAbsolute() ? new File(workingDir, arg).getPath() : arg;
+        }
+
+        PrintStream systemOut = System.out;
+        PrintStream systemErr = System.err;
+        System.setOut(new PrintStream(stdout, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(stderr, true, StandardCharsets.UTF_8));
+        try {
+            if (compilerArgs.length > 0 && compilerArgs[0].equals("javaccj--")) {
+                JavaCCMain.main(compilerArgs);
+            } else {
+                Main.main(compilerArgs);
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+        } finally {
+            System.out.flush();
+            System.err.flush();
+            System.setOut(systemOut);
+            System.setErr(systemErr);
+            Type.discardDeclaredTypes();
+        }
+    }
+
+    // Writes the lines in the specified stream to the client, each prefixed with the specified prefix.
+    private static void respond(PrintWriter out, String prefix, ByteArrayOutputStream stream) {
+        String text = stream.toString(StandardCharsets.UTF_8);
+        if (text.isEmpty()) {
+            return;
+        }
+        if (text.endsWith("\n")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        for (String line : text.split("\r?\n", -1)) {
+            out.println(prefix + line);
+        }
+    }
+}
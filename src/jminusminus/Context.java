@@ -1,6 +1,7 @@
 package jminusminus;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +25,11 @@ import java.util.Set;
  * Part of this structure is built during pre-analysis; pre-analysis reaches only into the type (for example a class)
  * declaration for typing the members; pre-analysis does not reach into the method bodies. The rest of it is built
  * during analysis.
+ * <p>
+ * Names are not looked up in the contexts of a method one by one: all the local contexts of a method share a flat
+ * symbol table (see SymbolTable) holding the names declared in the contexts that are open, ie, the context in which
+ * analysis currently is and the contexts surrounding it, so that a name is looked up in constant time, however deeply
+ * the contexts are nested.
  */
 class Context {
     /**
@@ -69,7 +75,7 @@ class Context {
      */
     public void addEntry(int line, String name, Defn definition) {
         if (entries.containsKey(name)) {
-            JAST.compilationUnit.reportSemanticError(line, "redefining name: " + name);
+            JAST.compilationUnit().reportSemanticError(line, "redefining name: " + name);
         } else {
             entries.put(name, definition);
         }
@@ -94,7 +100,13 @@ class Context {
      */
     public Type lookupType(String name) {
         TypeNameDefn defn = (TypeNameDefn) compilationUnitContext.lookup(name);
-        return defn == null ? null : defn.type();
+        if (defn == null) {
+            return null;
+        }
+        if (JAST.compilationUnit() != null) {
+            JAST.compilationUnit().addDependency(defn.type());
+        }
+        return defn.type();
     }
 
     /**
@@ -181,15 +193,25 @@ class Context {
 }
 
 /**
- * The compilation unit context is always the outermost context and is where imported types and locally defined types
- * (classes) are declared.
+ * The compilation unit context is always the outermost context of a compilation unit and is where imported types and
+ * locally defined types (classes) are declared. When several compilation units are compiled together, their contexts
+ * are surrounded by a shared compilation unit context in which the types declared by all the units are declared.
  */
 class CompilationUnitContext extends Context {
     /**
      * Constructs a new compilation unit context.
      */
     public CompilationUnitContext() {
-        super(null, null, null);
+        this(null);
+    }
+
+    /**
+     * Constructs a new compilation unit context surrounded by the specified (shared) compilation unit context.
+     *
+     * @param surrounding the surrounding compilation unit context, or null.
+     */
+    public CompilationUnitContext(CompilationUnitContext surrounding) {
+        super(surrounding, null, null);
         compilationUnitContext = this;
     }
 
@@ -253,6 +275,11 @@ class ClassContext extends Context {
  * A local context is a context (scope) in which local variables (including formal parameters) can be declared. Local
  * variables are allocated at fixed offsets from the base of the current method's stack frame; this is done during
  * analysis. The definitions for local variables record these offsets. The offsets are used in code generation.
+ * <p>
+ * The names declared in a local context are entered both in its map and in the symbol table of its method. A context
+ * is open in the symbol table from its construction until a context that is not nested in it is used (which means that
+ * it has been analyzed); names are looked up in the symbol table while the context is open, and in the maps of the
+ * context and the surrounding contexts afterwards.
  */
 class LocalContext extends Context {
     /**
@@ -260,6 +287,12 @@ class LocalContext extends Context {
      */
     protected int offset;
 
+    // The symbol table of the method, or null if this context was constructed in a context that was no longer open.
+    private SymbolTable table;
+
+    // Level of this context in the symbol table.
+    private int level;
+
     /**
      * Constructs a local context. A local context is constructed for each block.
      *
@@ -268,6 +301,35 @@ class LocalContext extends Context {
     public LocalContext(Context surrounding) {
         super(surrounding, surrounding.classContext(), surrounding.compilationUnitContext());
         offset = (surrounding instanceof LocalContext) ? ((LocalContext) surrounding).offset() : 0;
+        if (surrounding instanceof LocalContext && ((LocalContext) surrounding).isOpen()) {
+            LocalContext local = (LocalContext) surrounding;
+            table = local.table;
+            level = table.open(this, local.level + 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void addEntry(int line, String name, Defn definition) {
+        boolean isDeclared = entries.containsKey(name);
+        super.addEntry(line, name, definition);
+        if (!isDeclared && isOpen()) {
+            table.close(level + 1);
+            table.add(name, definition);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Defn lookup(String name) {
+        if (!isOpen()) {
+            return super.lookup(name);
+        }
+        table.close(level + 1);
+        Defn defn = table.lookup(name);
+        return defn != null ? defn : table.surroundingContext().lookup(name);
     }
 
     /**
@@ -288,6 +350,21 @@ class LocalContext extends Context {
         return offset++;
     }
 
+    /**
+     * Opens this context, as the outermost one, in the specified (new) symbol table.
+     *
+     * @param table the symbol table.
+     */
+    protected void openTable(SymbolTable table) {
+        this.table = table;
+        level = table.open(this, 0);
+    }
+
+    // Returns true if this context is open in the symbol table of its method, and false otherwise.
+    private boolean isOpen() {
+        return table != null && table.isOpen(this, level);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -339,6 +416,7 @@ class MethodContext extends LocalContext {
     public MethodContext(Context surrounding, boolean isStatic, Type methodReturnType) {
         super(surrounding);
         super.offset = 0;
+        openTable(new SymbolTable(surrounding));
         this.isStatic = isStatic;
         this.methodReturnType = methodReturnType;
         hasReturnStatement = false;
@@ -397,3 +475,156 @@ class MethodContext extends LocalContext {
         }
     }
 }
+
+/**
+ * The symbol table shared by the local contexts of a method: a flat, open-addressed hash table of the names declared
+ * in the contexts that are open. The open contexts form a stack of levels, the method context being at level 0; each
+ * level records the number of entries when it was opened, so that closing it is a matter of truncating the entries
+ * (and undoing, in reverse order, their insertions in the hash table). A name declared at several levels maps to its
+ * innermost declaration, which records the one it shadows.
+ */
+class SymbolTable {
+    // The context surrounding the method context (ie, the class context), in which the names not found are looked up.
+    private final Context surroundingContext;
+
+    // The declared names, their definitions, and the indices of the entries they shadow (or -1).
+    private String[] names;
+    private Defn[] defns;
+    private int[] shadowed;
+
+    // Number of entries.
+    private int size;
+
+    // Hash table of 1 + the index of the innermost entry for each name, or 0 for an empty slot; its length is a power
+    // of two, at least twice the number of entries.
+    private int[] slots;
+
+    // The open contexts, by level, and the number of entries when each was opened.
+    private LocalContext[] contexts;
+    private int[] marks;
+
+    // Number of open levels.
+    private int levels;
+
+    /**
+     * Constructs an empty symbol table for a method declared in the specified (class) context.
+     *
+     * @param surroundingContext the context surrounding the method context.
+     */
+    public SymbolTable(Context surroundingContext) {
+        this.surroundingContext = surroundingContext;
+        names = new String[8];
+        defns = new Defn[8];
+        shadowed = new int[8];
+        size = 0;
+        slots = new int[16];
+        contexts = new LocalContext[4];
+        marks = new int[4];
+        levels = 0;
+    }
+
+    /**
+     * Returns the context surrounding the method context.
+     *
+     * @return the context surrounding the method context.
+     */
+    public Context surroundingContext() {
+        return surroundingContext;
+    }
+
+    /**
+     * Opens the specified context at the specified level, closing the levels from there up, and returns the level.
+     *
+     * @param context the context.
+     * @param level   the level, at most the number of open levels.
+     * @return the level.
+     */
+    public int open(LocalContext context, int level) {
+        close(level);
+        if (levels == contexts.length) {
+            contexts = Arrays.copyOf(contexts, levels * 2);
+            marks = Arrays.copyOf(marks, levels * 2);
+        }
+        contexts[levels] = context;
+        marks[levels] = size;
+        return levels++;
+    }
+
+    /**
+     * Returns true if the specified context is open at the specified level, and false otherwise.
+     *
+     * @param context the context.
+     * @param level   the level.
+     * @return true if the context is open at the level, and false otherwise.
+     */
+    public boolean isOpen(LocalContext context, int level) {
+        return level < levels && contexts[level] == context;
+    }
+
+    /**
+     * Closes the levels from the specified one up, removing the names declared in them.
+     *
+     * @param level the lowest level to close.
+     */
+    public void close(int level) {
+        while (levels > level) {
+            levels--;
+            while (size > marks[levels]) {
+                size--;
+                slots[slot(names[size])] = shadowed[size] + 1;
+                names[size] = null;
+                defns[size] = null;
+            }
+            contexts[levels] = null;
+        }
+    }
+
+    /**
+     * Declares the specified name, with the specified definition, at the innermost open level.
+     *
+     * @param name the name.
+     * @param defn its definition.
+     */
+    public void add(String name, Defn defn) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            defns = Arrays.copyOf(defns, size * 2);
+            shadowed = Arrays.copyOf(shadowed, size * 2);
+        }
+        if (2 * (size + 1) > slots.length) {
+            // Rehash the entries, in the order they were added, into a table twice as large.
+            slots = new int[slots.length * 2];
+            for (int i = 0; i < size; i++) {
+                slots[slot(names[i])] = i + 1;
+            }
+        }
+        int slot = slot(name);
+        names[size] = name;
+        defns[size] = defn;
+        shadowed[size] = slots[slot] - 1;
+        slots[slot] = ++size;
+    }
+
+    /**
+     * Returns the innermost definition of the specified name, or null if the name is not declared at an open level.
+     *
+     * @param name the name.
+     * @return the definition of the name, or null.
+     */
+    public Defn lookup(String name) {
+        int index = slots[slot(name)];
+        return index == 0 ? null : defns[index - 1];
+    }
+
+    // Returns the slot of the hash table for the specified name: the slot holding it, or the empty one (found by
+    // linear probing) in which it would go.
+    private int slot(String name) {
+        int mask = slots.length - 1;
+        int hash = name.hashCode() * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (slots[slot] != 0 && !names[slots[slot] - 1].equals(name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,109 @@
+package jminusminus;
+
+import java.util.function.Consumer;
+
+/**
+ * An error reported by the compiler: the name of the source file and the line in which the error was found (where
+ * known), and a message describing it.
+ * <p>
+ * Diagnostics are printed to STDERR as they are reported, unless a listener has been installed (using setListener())
+ * for the thread reporting them, in which case they are sent to the listener instead. The tasks of a parallel
+ * compilation run with the listener of the thread that started the compilation.
+ */
+public class Diagnostic {
+    // Listener to which the diagnostics reported by each thread are sent, or null if they are printed to STDERR.
+    private static final ThreadLocal<Consumer<Diagnostic>> listener = new ThreadLocal<>();
+
+    // Name of the source file, or null.
+    private final String fileName;
+
+    // Line in which the error was found, or 0.
+    private final int line;
+
+    // Message describing the error.
+    private final String message;
+
+    /**
+     * Constructs a Diagnostic.
+     *
+     * @param fileName the name of the source file, or null if the error is not tied to a source file.
+     * @param line     the line in which the error was found, or 0 if it is not known.
+     * @param message  the message describing the error.
+     */
+    public Diagnostic(String fileName, int line, String message) {
+        this.fileName = fileName;
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * Returns the name of the source file, or null if the error is not tied to a source file.
+     *
+     * @return the name of the source file, or null.
+     */
+    public String fileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the line in which the error was found, or 0 if it is not known.
+     *
+     * @return the line in which the error was found, or 0.
+     */
+    public int line() {
+        return line;
+    }
+
+    /**
+     * Returns the message describing the error.
+     *
+     * @return the message describing the error.
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Returns the diagnostic as the compiler prints it.
+     *
+     * @return the diagnostic as the compiler prints it.
+     */
+    public String toString() {
+        return fileName == null ? message : String.format("%s:%d: error: %s", fileName, line, message);
+    }
+
+    /**
+     * Reports a diagnostic, sending it to the current thread's listener, or printing it to STDERR if there is none.
+     *
+     * @param fileName the name of the source file, or null if the error is not tied to a source file.
+     * @param line     the line in which the error was found, or 0 if it is not known.
+     * @param message  the message describing the error.
+     */
+    public static void report(String fileName, int line, String message) {
+        Diagnostic diagnostic = new Diagnostic(fileName, line, message);
+        if (listener.get() == null) {
+            System.err.println(diagnostic);
+        } else {
+            listener.get().accept(diagnostic);
+        }
+    }
+
+    /**
+     * Returns the listener for the current thread, or null if there is none.
+     *
+     * @return the listener for the current thread, or null.
+     */
+    public static Consumer<Diagnostic> listener() {
+        return listener.get();
+    }
+
+    /**
+     * Sets the listener for the current thread to the specified listener; null means diagnostics are printed to
+     * STDERR.
+     *
+     * @param diagnosticListener the listener, or null.
+     */
+    public static void setListener(Consumer<Diagnostic> diagnosticListener) {
+        listener.set(diagnosticListener);
+    }
+}
@@ -0,0 +1,188 @@
+package jminusminus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A benchmark of the compiler's front ends: the hand-written one (Scanner, LookaheadScanner, and Parser), with and
+ * without the compact token buffer (the -compact option of Main), and the one generated by JavaCC from j--.jj. It
+ * proceeds as follows:
+ * <ol>
+ *   <li>It reads the source files (and directories of source files) given as arguments into memory, so that no I/O is
+ *   measured.</li>
+ *
+ *   <li>It parses each file with every front end, and checks that they all produce the same AST, ie, the same toJSON()
+ *   output; the benchmark stops if they do not, or if a file has syntax errors.</li>
+ *
+ *   <li>It parses all the files with each front end in turn, for a number of warm-up iterations and then for a number
+ *   of measured iterations; the front ends take turns within each iteration, so that they run under similar
+ *   conditions.</li>
+ *
+ *   <li>Finally, it reports for each front end the mean and best time per iteration, the rates of tokens and AST
+ *   nodes parsed per second, and the allocation rate and allocation per token (measured on the benchmark thread).</li>
+ * </ol>
+ * The benchmark can be run on the tests/ programs (but for the Gen* ones, which are not j-- programs) with
+ * "ant benchmark".
+ */
+public class FrontEndBenchmark {
+    // The front ends, and the number of them.
+    private static final int HAND_WRITTEN = 0, COMPACT = 1, JAVACC = 2, FRONT_ENDS = 3;
+
+    // Names of the front ends, as reported.
+    private static final String[] FRONT_END_NAMES = {"hand-written", "hand-written -compact", "JavaCC"};
+
+    /**
+     * Constructs a FrontEndBenchmark object.
+     */
+    public FrontEndBenchmark() {
+        // Nothing here.
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args the command-line arguments.
+     */
+    public static void main(String[] args) {
+        ArrayList<String> sourceFiles = new ArrayList<>();
+        int warmups = 10;
+        int iterations = 20;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].endsWith(".java") || new File(args[i]).isDirectory()) {
+                sourceFiles.addAll(CompilationBatch.sourceFiles(args[i]));
+            } else if (args[i].equals("-warmup") && (i + 1) < args.length && args[i + 1].matches("[0-9]+")) {
+                warmups = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-iterations") && (i + 1) < args.length
+                    && args[i + 1].matches("[1-9][0-9]*")) {
+                iterations = Integer.parseInt(args[++i]);
+            } else {
+                printUsage();
+                return;
+            }
+        }
+        if (sourceFiles.isEmpty()) {
+            printUsage();
+            return;
+        }
+
+        String[] sources = new String[sourceFiles.size()];
+        for (int i = 0; i < sources.length; i++) {
+            try {
+                sources[i] = Files.readString(Path.of(sourceFiles.get(i)), Charset.defaultCharset());
+            } catch (IOException e) {
+                System.err.println("Error: cannot read " + sourceFiles.get(i));
+                return;
+            }
+        }
+
+        // Check that the front ends agree, and count the tokens (which the front ends scan alike) and AST nodes.
+        long tokens = 0;
+        long nodes = 0;
+        JAST.countNodes(true);
+        try {
+            for (int i = 0; i < sources.length; i++) {
+                String json = null;
+                for (int frontEnd = 0; frontEnd < FRONT_ENDS; frontEnd++) {
+                    int start = JAST.nodeCount();
+                    JCompilationUnit ast = parse(frontEnd, sourceFiles.get(i), sources[i]);
+                    if (ast == null) {
+                        System.err.printf("Error: %s front end cannot parse %s\n", FRONT_END_NAMES[frontEnd],
+                                sourceFiles.get(i));
+                        return;
+                    }
+                    JSONElement element = new JSONElement();
+                    ast.toJSON(element);
+                    if (json == null) {
+                        json = element.toString();
+                        nodes += JAST.nodeCount() - start;
+                    } else if (!json.equals(element.toString())) {
+                        System.err.printf("Error: %s and %s front ends produce different ASTs for %s\n",
+                                FRONT_END_NAMES[0], FRONT_END_NAMES[frontEnd], sourceFiles.get(i));
+                        return;
+                    }
+                }
+                tokens += new TokenBuffer(new Scanner(sourceFiles.get(i), new StringReader(sources[i]),
+                        new Names())).size();
+            }
+        } finally {
+            JAST.countNodes(false);
+        }
+        System.out.printf("%d files, %d tokens, %d AST nodes; all front ends produce the same ASTs\n",
+                sources.length, tokens, nodes);
+
+        // Run the iterations, recording the time and allocation of each front end in each measured one.
+        long[][] times = new long[FRONT_ENDS][iterations];
+        long[][] allocations = new long[FRONT_ENDS][iterations];
+        for (int iteration = -warmups; iteration < iterations; iteration++) {
+            for (int frontEnd = 0; frontEnd < FRONT_ENDS; frontEnd++) {
+                long[] start = Timings.start();
+                for (int i = 0; i < sources.length; i++) {
+                    parse(frontEnd, sourceFiles.get(i), sources[i]);
+                }
+                long[] end = Timings.start();
+                if (iteration >= 0) {
+                    times[frontEnd][iteration] = end[0] - start[0];
+                    allocations[frontEnd][iteration] = start[2] < 0 ? -1 : end[2] - start[2];
+                }
+            }
+        }
+
+        System.out.printf("%-22s %12s %12s %14s %14s %12s %12s\n", "front end", "mean ms", "best ms", "tokens/s",
+                "nodes/s", "alloc MB/s", "bytes/token");
+        for (int frontEnd = 0; frontEnd < FRONT_ENDS; frontEnd++) {
+            double time = mean(times[frontEnd]) / 1e9;
+            double allocation = mean(allocations[frontEnd]);
+            System.out.printf("%-22s %12.2f %12.2f %14.0f %14.0f %12.1f %12.1f\n", FRONT_END_NAMES[frontEnd],
+                    time * 1e3, Arrays.stream(times[frontEnd]).min().getAsLong() / 1e6, tokens / time, nodes / time,
+                    allocation < 0 ? -1 : allocation / time / (1 << 20), allocation < 0 ? -1 : allocation / tokens);
+        }
+    }
+
+    // Parses the specified source (of the specified file) with the specified front end, and returns its AST, or null
+    // if it has syntax errors.
+    private static JCompilationUnit parse(int frontEnd, String fileName, String source) {
+        if (frontEnd == JAVACC) {
+            JavaCCParser parser = new JavaCCParser(new JavaCCParserTokenManager(new SimpleCharStream(
+                    new StringReader(source), 1, 1)));
+            parser.fileName(fileName);
+            try {
+                JCompilationUnit ast = parser.compilationUnit();
+                return parser.errorHasOccurred() ? null : ast;
+            } catch (ParseException e) {
+                return null;
+            }
+        }
+        Scanner scanner = new Scanner(fileName, new StringReader(source), new Names());
+        Parser parser = new Parser(frontEnd == COMPACT ? new LookaheadScanner(new TokenBuffer(scanner)) :
+                new LookaheadScanner(scanner));
+        JCompilationUnit ast = parser.compilationUnit();
+        return parser.errorHasOccurred() || scanner.errorHasOccurred() ? null : ast;
+    }
+
+    // Returns the mean of the specified values, or -1 if any of them is -1 (not measured).
+    private static double mean(long[] values) {
+        double sum = 0;
+        for (long value : values) {
+            if (value < 0) {
+                return -1;
+            }
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    // Prints command usage to STDOUT.
+    private static void printUsage() {
+        String usage = "Usage: java jminusminus.FrontEndBenchmark <options> <source files and/or directories>\n"
+                + "Where possible options include:\n"
+                + "  -warmup <n> Number of warm-up iterations; default = 10\n"
+                + "  -iterations <n> Number of measured iterations; default = 20";
+        System.out.println(usage);
+    }
+}
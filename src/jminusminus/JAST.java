@@ -6,10 +6,15 @@ import java.util.ArrayList;
  * JAST is the abstract superclass of all nodes in the abstract syntax tree (AST).
  */
 abstract class JAST {
-    /**
-     * Current compilation unit (set in JCompilationUnit()).
-     */
-    public static JCompilationUnit compilationUnit;
+    // Current compilation unit (set in JCompilationUnit(), and by each of its phases), kept per thread so that
+    // compilation units can be compiled in parallel.
+    private static final ThreadLocal<JCompilationUnit> compilationUnit = new ThreadLocal<>();
+
+    // Number of AST nodes constructed by each thread, while nodes are being counted (for the -timings report).
+    private static final ThreadLocal<int[]> nodeCount = ThreadLocal.withInitial(() -> new int[1]);
+
+    // Whether AST nodes are being counted.
+    private static volatile boolean isCountingNodes = false;
 
     /**
      * Line in which the source for the AST was found.
@@ -23,6 +28,45 @@ abstract class JAST {
      */
     protected JAST(int line) {
         this.line = line;
+        if (isCountingNodes) {
+            nodeCount.get()[0]++;
+        }
+    }
+
+    /**
+     * Sets whether the AST nodes constructed from now on are counted.
+     *
+     * @param isCounting whether the AST nodes are counted.
+     */
+    public static void countNodes(boolean isCounting) {
+        isCountingNodes = isCounting;
+    }
+
+    /**
+     * Returns the number of AST nodes counted so far for the current thread.
+     *
+     * @return the number of AST nodes counted so far for the current thread.
+     */
+    public static int nodeCount() {
+        return nodeCount.get()[0];
+    }
+
+    /**
+     * Returns the current compilation unit (for the current thread).
+     *
+     * @return the current compilation unit.
+     */
+    public static JCompilationUnit compilationUnit() {
+        return compilationUnit.get();
+    }
+
+    /**
+     * Sets the current compilation unit (for the current thread) to the specified compilation unit.
+     *
+     * @param unit the compilation unit.
+     */
+    public static void setCompilationUnit(JCompilationUnit unit) {
+        compilationUnit.set(unit);
     }
 
     /**
@@ -38,9 +82,9 @@ abstract class JAST {
      * Performs first phase of semantic analysis on this AST.
      *
      * @param context the environment (scope) in which code is pre-analyzed.
-     * @param partial the code emitter.
+     * @param partial the partial class.
      */
-    public void preAnalyze(Context context, CLEmitter partial) {
+    public void preAnalyze(Context context, PartialClass partial) {
         // A dummy -- redefined where necessary.
     }
 
@@ -53,12 +97,12 @@ abstract class JAST {
     public abstract JAST analyze(Context context);
 
     /**
-     * Generates a partial class for a type, reflecting only the member information required to do analysis.
+     * Adds to the partial class for a type the member information required to do analysis.
      *
      * @param context the parent context.
-     * @param partial the code emitter.
+     * @param partial the partial class.
      */
-    public void partialCodegen(Context context, CLEmitter partial) {
+    public void partialCodegen(Context context, PartialClass partial) {
         // A dummy -- redefined where necessary.
     }
 
@@ -45,7 +45,7 @@ class JArrayExpression extends JExpression implements JLhs {
         theArray = theArray.analyze(context);
         indexExpr = indexExpr.analyze(context);
         if (!(theArray.type().isArray())) {
-            JAST.compilationUnit.reportSemanticError(line(), "attempt to index a non-array object");
+            JAST.compilationUnit().reportSemanticError(line(), "attempt to index a non-array object");
             this.type = Type.ANY;
         }
         indexExpr.type().mustMatchExpected(line(), Type.INT);
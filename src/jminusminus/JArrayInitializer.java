@@ -36,7 +36,7 @@ class JArrayInitializer extends JExpression {
     public JExpression analyze(Context context) {
         type = type.resolve(context);
         if (!type.isArray()) {
-            JAST.compilationUnit.reportSemanticError(line, "cannot initialize a " + type.toString()
+            JAST.compilationUnit().reportSemanticError(line, "cannot initialize a " + type.toString()
                     + " with an array sequence {...}");
             return this;
         }
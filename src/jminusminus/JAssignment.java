@@ -39,7 +39,7 @@ class JAssignOp extends JAssignment {
      */
     public JExpression analyze(Context context) {
         if (!(lhs instanceof JLhs)) {
-            JAST.compilationUnit.reportSemanticError(line(), "illegal lhs for assignment");
+            JAST.compilationUnit().reportSemanticError(line(), "illegal lhs for assignment");
         } else {
             lhs = ((JLhs) lhs).analyzeLhs(context);
             rhs = rhs.analyze(context);
@@ -89,7 +89,7 @@ class JPlusAssignOp extends JAssignment {
      */
     public JExpression analyze(Context context) {
         if (!(lhs instanceof JLhs)) {
-            JAST.compilationUnit.reportSemanticError(line(), "illegal lhs for assignment");
+            JAST.compilationUnit().reportSemanticError(line(), "illegal lhs for assignment");
             return this;
         } else {
             lhs = ((JLhs) lhs).analyzeLhs(context);
@@ -1,5 +1,7 @@
 package jminusminus;
 
+import java.util.ArrayList;
+
 import static jminusminus.CLConstants.IADD;
 import static jminusminus.CLConstants.IMUL;
 import static jminusminus.CLConstants.ISUB;
@@ -7,6 +9,11 @@ import static jminusminus.CLConstants.ISUB;
 /**
  * This abstract base class is the AST node for a binary expression --- an expression with a binary operator and two
  * operands: lhs and rhs.
+ * <p>
+ * The parser builds a chain of left-associative operators (eg, a + b + ... + z) into a left-deep tree, which may be
+ * thousands of levels deep in generated sources. So that such a chain does not overflow the stack, the expressions
+ * along it are analyzed, and code generated, iteratively from the deepest one up (see analyzeLhs() and codegenLhs()),
+ * rather than by recursing down the chain.
  */
 abstract class JBinaryExpression extends JExpression {
     /**
@@ -24,6 +31,9 @@ abstract class JBinaryExpression extends JExpression {
      */
     protected JExpression rhs;
 
+    // Whether the lhs operand has already been analyzed (or code generated) as part of a chain.
+    private boolean isLhsDone;
+
     /**
      * Constructs an AST node for a binary expression.
      *
@@ -39,6 +49,79 @@ abstract class JBinaryExpression extends JExpression {
         this.rhs = rhs;
     }
 
+    /**
+     * Analyzes the lhs operand and returns it (as analyzed). If the lhs operand is a chain of binary expressions that
+     * can be analyzed as part of a chain, they are analyzed iteratively, from the deepest one up.
+     *
+     * @param context context in which names are resolved.
+     * @return the analyzed lhs operand.
+     */
+    protected JExpression analyzeLhs(Context context) {
+        if (isLhsDone) {
+            isLhsDone = false;
+            return lhs;
+        }
+        ArrayList<JBinaryExpression> chain = new ArrayList<>();
+        JExpression e = lhs;
+        while (e instanceof JBinaryExpression && ((JBinaryExpression) e).isAnalyzableInChain()) {
+            chain.add((JBinaryExpression) e);
+            e = ((JBinaryExpression) e).lhs;
+        }
+        JExpression analyzed = e.analyze(context);
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            JBinaryExpression expr = chain.get(i);
+            expr.lhs = analyzed;
+            expr.isLhsDone = true;
+            analyzed = expr.analyze(context);
+        }
+        return analyzed;
+    }
+
+    /**
+     * Generates code for the lhs operand. If the lhs operand is a chain of binary expressions for which code can be
+     * generated as part of a chain, the code is generated iteratively, from the deepest one up.
+     *
+     * @param output the code emitter.
+     */
+    protected void codegenLhs(CLEmitter output) {
+        if (isLhsDone) {
+            isLhsDone = false;
+            return;
+        }
+        ArrayList<JBinaryExpression> chain = new ArrayList<>();
+        JExpression e = lhs;
+        while (e instanceof JBinaryExpression && ((JBinaryExpression) e).isGeneratableInChain()) {
+            chain.add((JBinaryExpression) e);
+            e = ((JBinaryExpression) e).lhs;
+        }
+        e.codegen(output);
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            JBinaryExpression expr = chain.get(i);
+            expr.isLhsDone = true;
+            expr.codegen(output);
+        }
+    }
+
+    /**
+     * Returns true if the analyze() method of this expression analyzes the lhs operand using analyzeLhs(), so that
+     * the expression can be analyzed as part of a chain, and false otherwise.
+     *
+     * @return true if this expression can be analyzed as part of a chain, and false otherwise.
+     */
+    protected boolean isAnalyzableInChain() {
+        return false;
+    }
+
+    /**
+     * Returns true if the codegen() method of this expression generates code for the lhs operand using codegenLhs(),
+     * so that code can be generated for the expression as part of a chain, and false otherwise.
+     *
+     * @return true if code can be generated for this expression as part of a chain, and false otherwise.
+     */
+    protected boolean isGeneratableInChain() {
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -75,7 +158,7 @@ class JMultiplyOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         lhs.type().mustMatchExpected(line(), Type.INT);
         rhs.type().mustMatchExpected(line(), Type.INT);
@@ -87,10 +170,24 @@ class JMultiplyOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         output.addNoArgInstruction(IMUL);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -113,7 +210,7 @@ class JPlusOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         if (lhs.type() == Type.STRING || rhs.type() == Type.STRING) {
             return (new JStringConcatenationOp(line, lhs, rhs)).analyze(context);
@@ -129,10 +226,24 @@ class JPlusOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         output.addNoArgInstruction(IADD);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -154,7 +265,7 @@ class JSubtractOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         lhs.type().mustMatchExpected(line(), Type.INT);
         rhs.type().mustMatchExpected(line(), Type.INT);
@@ -166,10 +277,24 @@ class JSubtractOp extends JBinaryExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         output.addNoArgInstruction(ISUB);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -1,5 +1,7 @@
 package jminusminus;
 
+import java.util.ArrayList;
+
 import static jminusminus.CLConstants.GOTO;
 import static jminusminus.CLConstants.ICONST_0;
 import static jminusminus.CLConstants.ICONST_1;
@@ -60,7 +62,7 @@ class JEqualOp extends JBooleanBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         lhs.type().mustMatchExpected(line(), rhs.type());
         type = Type.BOOLEAN;
@@ -71,7 +73,7 @@ class JEqualOp extends JBooleanBinaryExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output, String targetLabel, boolean onTrue) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         if (lhs.type().isReference()) {
             output.addBranchInstruction(onTrue ? IF_ACMPEQ : IF_ACMPNE, targetLabel);
@@ -79,6 +81,20 @@ class JEqualOp extends JBooleanBinaryExpression {
             output.addBranchInstruction(onTrue ? IF_ICMPEQ : IF_ICMPNE, targetLabel);
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -100,7 +116,7 @@ class JLogicalAndOp extends JBooleanBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         lhs.type().mustMatchExpected(line(), Type.BOOLEAN);
         rhs.type().mustMatchExpected(line(), Type.BOOLEAN);
@@ -118,10 +134,26 @@ class JLogicalAndOp extends JBooleanBinaryExpression {
             rhs.codegen(output, targetLabel, true);
             output.addLabel(falseLabel);
         } else {
-            lhs.codegen(output, targetLabel, false);
-            rhs.codegen(output, targetLabel, false);
+            // Branch to the target if any operand of the chain of logical-ands rooted here is false, in turn.
+            ArrayList<JExpression> operands = new ArrayList<>();
+            JExpression e = this;
+            while (e instanceof JLogicalAndOp) {
+                operands.add(((JLogicalAndOp) e).rhs);
+                e = ((JLogicalAndOp) e).lhs;
+            }
+            e.codegen(output, targetLabel, false);
+            for (int i = operands.size() - 1; i >= 0; i--) {
+                operands.get(i).codegen(output, targetLabel, false);
+            }
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -58,7 +58,7 @@ class JCastOp extends JExpression {
         } else if (conversions.get(expr.type(), cast) != null) {
             converter = conversions.get(expr.type(), cast);
         } else {
-            JAST.compilationUnit.reportSemanticError(line,
+            JAST.compilationUnit().reportSemanticError(line,
                     "cannot cast a " + expr.type().toString() + " to a " + cast.toString());
         }
         return this;
@@ -1,6 +1,7 @@
 package jminusminus;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import static jminusminus.CLConstants.ALOAD_0;
 import static jminusminus.CLConstants.INVOKESPECIAL;
@@ -31,6 +32,9 @@ class JClassDeclaration extends JAST implements JTypeDecl {
     // Context for this class.
     private ClassContext context;
 
+    // Partial class built during pre-analysis.
+    private PartialClass partial;
+
     // Whether this class has an explicit constructor.
     private boolean hasExplicitConstructor;
 
@@ -76,11 +80,11 @@ class JClassDeclaration extends JAST implements JTypeDecl {
      * {@inheritDoc}
      */
     public void declareThisType(Context context) {
-        String qualifiedName = JAST.compilationUnit.packageName().isEmpty() ?
-                name : JAST.compilationUnit.packageName() + "/" + name;
-        CLEmitter partial = new CLEmitter(false);
-        partial.addClass(mods, qualifiedName, Type.OBJECT.jvmName(), null, false);
-        thisType = Type.typeFor(partial.toClass());
+        String qualifiedName = JAST.compilationUnit().packageName().isEmpty() ?
+                name : JAST.compilationUnit().packageName() + "/" + name;
+        PartialClass partial = new PartialClass();
+        partial.addClass(mods, qualifiedName, Type.OBJECT.jvmName());
+        thisType = Type.typeFor(partial.toClassSymbol());
         context.addType(line, thisType);
     }
 
@@ -94,21 +98,21 @@ class JClassDeclaration extends JAST implements JTypeDecl {
         // Resolve superclass.
         superType = superType.resolve(this.context);
 
-        // Creating a partial class in memory can result in a java.lang.VerifyError if the semantics below are
-        // violated, so we can't defer these checks to analyze().
+        // The partial class must not violate the semantics below, as the types that inherit from it rely on it, so
+        // we can't defer these checks to analyze().
 
         thisType.checkAccess(line, superType);
         if (superType.isFinal()) {
-            JAST.compilationUnit.reportSemanticError(line, "cannot extend a final type: %s", superType.toString());
+            JAST.compilationUnit().reportSemanticError(line, "cannot extend a final type: %s", superType.toString());
         }
 
         // Create the (partial) class.
-        CLEmitter partial = new CLEmitter(false);
+        partial = new PartialClass();
 
         // Add the class header to the partial class
-        String qualifiedName = JAST.compilationUnit.packageName().isEmpty() ?
-                name : JAST.compilationUnit.packageName() + "/" + name;
-        partial.addClass(mods, qualifiedName, superType.jvmName(), null, false);
+        String qualifiedName = JAST.compilationUnit().packageName().isEmpty() ?
+                name : JAST.compilationUnit().packageName() + "/" + name;
+        partial.addClass(mods, qualifiedName, superType.jvmName());
 
         // Pre-analyze the members and add them to the partial class.
         for (JMember member : classBlock) {
@@ -121,11 +125,27 @@ class JClassDeclaration extends JAST implements JTypeDecl {
             codegenPartialImplicitConstructor(partial);
         }
 
-        // Get the ClassRep for the (partial) class and make it the representation for this type.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void definePartialType() {
+        // Get the ClassRep for the (partial) class and make it the representation for this type, unless this type
+        // would then inherit from itself.
         Type id = this.context.lookupType(name);
-        if (id != null && !JAST.compilationUnit.errorHasOccurred()) {
-            id.setClassRep(partial.toClass());
+        if (id != null && !JAST.compilationUnit().errorHasOccurred()) {
+            HashSet<Type> supertypes = new HashSet<>();
+            for (Type type = superType; type != null && supertypes.add(type); type = type.superClass()) {
+                if (type == id) {
+                    JAST.compilationUnit().reportSemanticError(line, "cyclic inheritance involving %s", id);
+                    partial = null;
+                    return;
+                }
+            }
+            id.setClassRep(partial.toClassSymbol());
         }
+        partial = null;
     }
 
     /**
@@ -183,7 +203,7 @@ class JClassDeclaration extends JAST implements JTypeDecl {
             for (Method method : thisType.abstractMethods()) {
                 methods += "\n" + method;
             }
-            JAST.compilationUnit.reportSemanticError(line,
+            JAST.compilationUnit().reportSemanticError(line,
                     "class must be abstract since it defines abstract methods: %s", methods);
         }
         return this;
@@ -194,8 +214,8 @@ class JClassDeclaration extends JAST implements JTypeDecl {
      */
     public void codegen(CLEmitter output) {
         // The class header.
-        String qualifiedName = JAST.compilationUnit.packageName().isEmpty() ?
-                name : JAST.compilationUnit.packageName() + "/" + name;
+        String qualifiedName = JAST.compilationUnit().packageName().isEmpty() ?
+                name : JAST.compilationUnit().packageName() + "/" + name;
         output.addClass(mods, qualifiedName, superType.jvmName(), null, false);
 
         // The implicit empty constructor?
@@ -246,14 +266,12 @@ class JClassDeclaration extends JAST implements JTypeDecl {
         }
     }
 
-    // Generates code for an implicit empty constructor (necessary only if there is not already an explicit one).
-    private void codegenPartialImplicitConstructor(CLEmitter partial) {
+    // Adds an implicit empty constructor to the partial class (necessary only if there is not already an explicit
+    // one).
+    private void codegenPartialImplicitConstructor(PartialClass partial) {
         ArrayList<String> mods = new ArrayList<>();
         mods.add("public");
-        partial.addMethod(mods, "<init>", "()V", null, false);
-        partial.addNoArgInstruction(ALOAD_0);
-        partial.addMemberAccessInstruction(INVOKESPECIAL, superType.jvmName(), "<init>", "()V");
-        partial.addNoArgInstruction(RETURN);
+        partial.addMethod(mods, "<init>", "()V");
     }
 
     // Generates code for an implicit empty constructor (necessary only if there is not already an explicit one).
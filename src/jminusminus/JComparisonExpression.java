@@ -23,13 +23,20 @@ abstract class JComparisonExpression extends JBooleanBinaryExpression {
      * {@inheritDoc}
      */
     public JExpression analyze(Context context) {
-        lhs = lhs.analyze(context);
+        lhs = analyzeLhs(context);
         rhs = rhs.analyze(context);
         lhs.type().mustMatchExpected(line(), Type.INT);
         rhs.type().mustMatchExpected(line(), lhs.type());
         type = Type.BOOLEAN;
         return this;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isAnalyzableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -51,10 +58,17 @@ class JGreaterThanOp extends JComparisonExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output, String targetLabel, boolean onTrue) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         output.addBranchInstruction(onTrue ? IF_ICMPGT : IF_ICMPLE, targetLabel);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -77,10 +91,17 @@ class JLessEqualOp extends JComparisonExpression {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output, String targetLabel, boolean onTrue) {
-        lhs.codegen(output);
+        codegenLhs(output);
         rhs.codegen(output);
         output.addBranchInstruction(onTrue ? IF_ICMPLE : IF_ICMPGT, targetLabel);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected boolean isGeneratableInChain() {
+        return true;
+    }
 }
 
 /**
@@ -1,15 +1,17 @@
 package jminusminus;
 
 import java.util.ArrayList;
+import java.util.TreeSet;
 
 /**
  * The abstract syntax tree (AST) node representing a compilation unit, and so the root of the AST.
  * <p>
  * The AST is produced by the Parser. Once the AST has been built, three successive methods are invoked:
  * <ol>
- *   <li>Method preAnalyze() is invoked for making a first pass at type analysis, recursively reaching down to the
- *   member headers for declaring types and member interfaces in the environment (contexts). preAnalyze() also
- *   creates a partial class file (in memory) for recording member header information.</li>
+ *   <li>Methods declareTypes() and preAnalyze() are invoked for making a first pass at type analysis, recursively
+ *   reaching down to the member headers for declaring types and member interfaces in the environment (contexts).
+ *   preAnalyze() also creates a partial class (see PartialClass) for recording member header information, which
+ *   becomes the type's representation in definePartialTypes().</li>
  *
  *   <li>Method analyze() is invoked for type-checking field initializations and method bodies, and determining the
  *   types of all expressions. A certain amount of tree surgery is also done here. And stack frame offsets are
@@ -42,6 +44,18 @@ class JCompilationUnit extends JAST {
     // Whether a semantic error has been found.
     private boolean isInError;
 
+    // Number of syntax errors found in the method bodies parsed on demand (see JLazyBlock), and the line at which the
+    // ones beyond the parser's limit are summed up.
+    private int syntaxErrorCount;
+    private int syntaxErrorLine;
+
+    // Names of the (non-primitive) types that the unit depends on, ie, that it references by name or whose members it
+    // references.
+    private final TreeSet<String> dependencies;
+
+    // Report in which the time spent in each phase is recorded, or null.
+    private Timings timings;
+
     /**
      * Constructs an AST node for a compilation unit.
      *
@@ -58,7 +72,65 @@ class JCompilationUnit extends JAST {
         this.packageName = packageName;
         this.imports = imports;
         this.typeDeclarations = typeDeclarations;
-        compilationUnit = this;
+        dependencies = new TreeSet<>();
+        setCompilationUnit(this);
+    }
+
+    /**
+     * Returns the name of the source file.
+     *
+     * @return the name of the source file.
+     */
+    public String fileName() {
+        return fileName;
+    }
+
+    /**
+     * Records the time spent in each phase of compiling this unit in the specified report.
+     *
+     * @param timings the report.
+     */
+    public void setTimings(Timings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Returns the types declared in this compilation unit.
+     *
+     * @return the types declared in this compilation unit.
+     */
+    public ArrayList<Type> declaredTypes() {
+        ArrayList<Type> declaredTypes = new ArrayList<>();
+        for (JAST typeDeclaration : typeDeclarations) {
+            declaredTypes.add(((JTypeDecl) typeDeclaration).thisType());
+        }
+        return declaredTypes;
+    }
+
+    /**
+     * Records that this compilation unit depends on the specified type.
+     *
+     * @param type the type.
+     */
+    public void addDependency(Type type) {
+        if (type.classRep() == null) {
+            return;
+        }
+        while (type.isArray()) {
+            type = type.componentType();
+        }
+        if (!type.isPrimitive()) {
+            dependencies.add(type.toString());
+        }
+    }
+
+    /**
+     * Returns the names of the types that this compilation unit depends on.
+     *
+     * @return the names of the types that this compilation unit depends on.
+     */
+    public TreeSet<String> dependencies() {
+        return dependencies;
     }
 
     /**
@@ -88,17 +160,43 @@ class JCompilationUnit extends JAST {
      */
     public void reportSemanticError(int line, String message, Object... args) {
         isInError = true;
-        System.err.printf("%s:%d: error: ", fileName, line);
-        System.err.printf(message, args);
-        System.err.println();
+        Diagnostic.report(fileName, line, String.format(message, args));
     }
 
     /**
-     * Constructs a context for the compilation unit, initializing it with imported types. Then pre-analyzes the
-     * unit's type declarations, adding their types to the context.
+     * Returns the number of syntax errors found up to now in the method bodies of this compilation unit that were
+     * parsed on demand (see JLazyBlock).
+     *
+     * @return the number of syntax errors found up to now in the lazily parsed method bodies.
      */
-    public void preAnalyze() {
-        context = new CompilationUnitContext();
+    public int syntaxErrorCount() {
+        return syntaxErrorCount;
+    }
+
+    /**
+     * Records that syntax errors (already reported by the parser, up to its limit) have been found in a method body
+     * that was parsed on demand (see JLazyBlock). The errors not reported are summed up once the unit is analyzed.
+     *
+     * @param errorCount the number of syntax errors found up to now in the lazily parsed method bodies.
+     * @param line       line at which to sum up the errors not reported.
+     */
+    public void markSyntaxErrors(int errorCount, int line) {
+        isInError = true;
+        syntaxErrorCount = errorCount;
+        syntaxErrorLine = line;
+    }
+
+    /**
+     * Constructs a context for the compilation unit, surrounded by the specified context shared by all the units
+     * being compiled together, and initializes it with imported types. Then declares the unit's type declarations,
+     * adding their types to both contexts.
+     *
+     * @param batchContext the context shared by all the compilation units being compiled together.
+     */
+    public void declareTypes(CompilationUnitContext batchContext) {
+        setCompilationUnit(this);
+        long[] start = startTiming();
+        context = new CompilationUnitContext(batchContext);
 
         // Declare the two implicit types java.lang.Object and java.lang.String.
         context.addType(0, Type.OBJECT);
@@ -106,25 +204,46 @@ class JCompilationUnit extends JAST {
 
         // Declare any imported types.
         for (TypeName imported : imports) {
-            try {
-                Class<?> classRep = Class.forName(imported.toString());
-                context.addType(imported.line(), Type.typeFor(classRep));
-            } catch (Exception e) {
-                JAST.compilationUnit.reportSemanticError(imported.line(), "unable to find %s", imported.toString());
+            Type type = Type.typeForName(imported.toString());
+            if (type != null) {
+                context.addType(imported.line(), type);
+            } else {
+                JAST.compilationUnit().reportSemanticError(imported.line(), "unable to find %s", imported.toString());
             }
         }
+        recordTiming("imports", null, start);
 
-        // Declare the locally declared type(s).
-        CLEmitter.initializeByteClassLoader();
+        // Declare the locally declared type(s), making them visible to the other compilation units as well.
         for (JAST typeDeclaration : typeDeclarations) {
+            start = startTiming();
             ((JTypeDecl) typeDeclaration).declareThisType(context);
+            batchContext.addType(typeDeclaration.line(), ((JTypeDecl) typeDeclaration).thisType());
+            recordTiming("declare", typeDeclaration, start);
         }
+    }
 
-        // Pre-analyze the locally declared type(s). Generate (partial) Class instances, reflecting only the member
-        // declaration information.
-        CLEmitter.initializeByteClassLoader();
+    /**
+     * Pre-analyzes the unit's type declarations, building (partial) classes that reflect only the member
+     * declaration information. The partial classes are defined by definePartialTypes().
+     */
+    public void preAnalyze() {
+        setCompilationUnit(this);
         for (JAST typeDeclaration : typeDeclarations) {
+            long[] start = startTiming();
             ((JTypeDecl) typeDeclaration).preAnalyze(context);
+            recordTiming("preAnalyze", typeDeclaration, start);
+        }
+    }
+
+    /**
+     * Defines the partial classes built by preAnalyze(), making them the representations for the unit's types.
+     */
+    public void definePartialTypes() {
+        setCompilationUnit(this);
+        for (JAST typeDeclaration : typeDeclarations) {
+            long[] start = startTiming();
+            ((JTypeDecl) typeDeclaration).definePartialType();
+            recordTiming("load", typeDeclaration, start);
         }
     }
 
@@ -132,9 +251,13 @@ class JCompilationUnit extends JAST {
      * {@inheritDoc}
      */
     public JAST analyze(Context context) {
+        setCompilationUnit(this);
         for (JAST typeDeclaration : typeDeclarations) {
+            long[] start = startTiming();
             typeDeclaration.analyze(this.context);
+            recordTiming("analyze", typeDeclaration, start);
         }
+        Parser.reportUnreportedErrors(fileName, syntaxErrorLine, syntaxErrorCount);
         return this;
     }
 
@@ -142,9 +265,14 @@ class JCompilationUnit extends JAST {
      * {@inheritDoc}
      */
     public void codegen(CLEmitter output) {
+        setCompilationUnit(this);
         for (JAST typeDeclaration : typeDeclarations) {
+            long[] start = startTiming();
             typeDeclaration.codegen(output);
+            recordTiming("codegen", typeDeclaration, start);
+            start = startTiming();
             output.write();
+            recordTiming("write", typeDeclaration, start);
         }
     }
 
@@ -174,4 +302,22 @@ class JCompilationUnit extends JAST {
             }
         }
     }
+
+    // Returns a measurement of the current thread for timing a phase, or null if timings are not being recorded.
+    private long[] startTiming() {
+        return timings == null ? null : Timings.start();
+    }
+
+    // Records (if timings are being recorded) the specified phase, started at the specified measurement, for the
+    // specified type declaration, or for the unit as a whole if the type declaration is null.
+    private void recordTiming(String phase, JAST typeDeclaration, long[] start) {
+        if (timings != null) {
+            String className = null;
+            if (typeDeclaration != null) {
+                String name = ((JTypeDecl) typeDeclaration).name();
+                className = packageName == null ? name : packageName + "." + name;
+            }
+            timings.record(phase, fileName, className, start);
+        }
+    }
 }
@@ -34,22 +34,12 @@ class JConstructorDeclaration extends JMethodDeclaration {
     /**
      * {@inheritDoc}
      */
-    public void preAnalyze(Context context, CLEmitter partial) {
+    public void preAnalyze(Context context, PartialClass partial) {
         super.preAnalyze(context, partial);
         if (isStatic) {
-            JAST.compilationUnit.reportSemanticError(line(), "constructor cannot be static");
+            JAST.compilationUnit().reportSemanticError(line(), "constructor cannot be static");
         } else if (isAbstract) {
-            JAST.compilationUnit.reportSemanticError(line(), "constructor cannot be abstract");
-        }
-        if (!body.statements().isEmpty() && body.statements().get(0) instanceof JStatementExpression) {
-            JStatementExpression first = (JStatementExpression) body.statements().get(0);
-            if (first.expr instanceof JSuperConstruction) {
-                ((JSuperConstruction) first.expr).markProperUseOfConstructor();
-                invokesConstructor = true;
-            } else if (first.expr instanceof JThisConstruction) {
-                ((JThisConstruction) first.expr).markProperUseOfConstructor();
-                invokesConstructor = true;
-            }
+            JAST.compilationUnit().reportSemanticError(line(), "constructor cannot be abstract");
         }
     }
 
@@ -70,6 +60,19 @@ class JConstructorDeclaration extends JMethodDeclaration {
             this.context.addEntry(param.line(), param.name(), defn);
         }
 
+        // Check for an explicit constructor invocation here rather than in preAnalyze(), since the body may only be
+        // parsed now (see JLazyBlock).
+        if (!body.statements().isEmpty() && body.statements().get(0) instanceof JStatementExpression) {
+            JStatementExpression first = (JStatementExpression) body.statements().get(0);
+            if (first.expr instanceof JSuperConstruction) {
+                ((JSuperConstruction) first.expr).markProperUseOfConstructor();
+                invokesConstructor = true;
+            } else if (first.expr instanceof JThisConstruction) {
+                ((JThisConstruction) first.expr).markProperUseOfConstructor();
+                invokesConstructor = true;
+            }
+        }
+
         if (body != null) {
             body = body.analyze(this.context);
         }
@@ -79,19 +82,13 @@ class JConstructorDeclaration extends JMethodDeclaration {
     /**
      * {@inheritDoc}
      */
-    public void partialCodegen(Context context, CLEmitter partial) {
+    public void partialCodegen(Context context, PartialClass partial) {
         if (partial.containsMethodSignature(signature)) {
-            JAST.compilationUnit.reportSemanticError(line(), "redefining constructor " + signature);
+            JAST.compilationUnit().reportSemanticError(line(), "redefining constructor " + signature);
             return;
         }
-        partial.addMethod(mods, "<init>", descriptor, null, false);
+        partial.addMethod(mods, "<init>", descriptor);
         partial.addMethodSignature(signature);
-        if (!invokesConstructor) {
-            partial.addNoArgInstruction(ALOAD_0);
-            partial.addMemberAccessInstruction(INVOKESPECIAL,
-                    ((JClassDeclaration) context.classContext().definition()).superType().jvmName(), "<init>", "()V");
-        }
-        partial.addNoArgInstruction(RETURN);
     }
 
     /**
@@ -53,6 +53,6 @@ abstract class JExpression extends JStatement {
      */
     public void codegen(CLEmitter output, String targetLabel, boolean onTrue) {
         // We should never reach here, since all boolean expressions must override this method.
-        System.err.println("Error in short-circuit code generation");
+        Diagnostic.report(null, 0, "Error in short-circuit code generation");
     }
 }
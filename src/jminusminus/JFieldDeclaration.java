@@ -41,16 +41,16 @@ class JFieldDeclaration extends JAST implements JMember {
     /**
      * {@inheritDoc}
      */
-    public void preAnalyze(Context context, CLEmitter partial) {
+    public void preAnalyze(Context context, PartialClass partial) {
         if (mods.contains("abstract")) {
-            JAST.compilationUnit.reportSemanticError(line(), "field cannot be declared abstract");
+            JAST.compilationUnit().reportSemanticError(line(), "field cannot be declared abstract");
         }
         for (JVariableDeclarator decl : decls) {
             decl.setType(decl.type().resolve(context));
             if (partial.containsFieldName(decl.name())) {
-                JAST.compilationUnit.reportSemanticError(line(), "redefining field " + decl.name());
+                JAST.compilationUnit().reportSemanticError(line(), "redefining field " + decl.name());
             } else {
-                partial.addField(mods, decl.name(), decl.type().toDescriptor(), false);
+                partial.addField(mods, decl.name(), decl.type().toDescriptor());
                 partial.addFieldName(decl.name());
             }
         }
@@ -66,7 +66,7 @@ class JFieldSelection extends JExpression implements JLhs {
                     target = expr;
                 } else {
                     // Can't even happen syntactically.
-                    JAST.compilationUnit.reportSemanticError(line(), "badly formed suffix");
+                    JAST.compilationUnit().reportSemanticError(line(), "badly formed suffix");
                 }
             }
         }
@@ -80,14 +80,14 @@ class JFieldSelection extends JExpression implements JLhs {
         } else {
             // Other than that, targetType has to be a reference type.
             if (targetType.isPrimitive()) {
-                JAST.compilationUnit.reportSemanticError(line(),
+                JAST.compilationUnit().reportSemanticError(line(),
                         "target of a field selection must be a reference type");
                 type = Type.ANY;
                 return this;
             }
             field = targetType.fieldFor(fieldName);
             if (field == null) {
-                JAST.compilationUnit.reportSemanticError(line(), "cannot find a field: " + fieldName);
+                JAST.compilationUnit().reportSemanticError(line(), "cannot find a field: " + fieldName);
                 type = Type.ANY;
             } else {
                 context.definingType().checkAccess(line, field);
@@ -97,7 +97,7 @@ class JFieldSelection extends JExpression implements JLhs {
                 if (!field.isStatic()) {
                     if (target instanceof JVariable &&
                             ((JVariable) target).iDefn() instanceof TypeNameDefn) {
-                        JAST.compilationUnit.reportSemanticError(line(), "non-static field " +
+                        JAST.compilationUnit().reportSemanticError(line(), "non-static field " +
                                 fieldName + " cannot be referenced from a static context");
                     }
                 }
@@ -112,7 +112,7 @@ class JFieldSelection extends JExpression implements JLhs {
     public JExpression analyzeLhs(Context context) {
         JExpression result = analyze(context);
         if (field.isFinal()) {
-            JAST.compilationUnit.reportSemanticError(line, "the field " + fieldName + " in type " +
+            JAST.compilationUnit().reportSemanticError(line, "the field " + fieldName + " in type " +
                     target.type.toString() + " is final");
         }
         return result;
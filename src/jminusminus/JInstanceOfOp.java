@@ -34,12 +34,12 @@ class JInstanceOfOp extends JExpression {
         expr = expr.analyze(context);
         typeSpec = typeSpec.resolve(context);
         if (!typeSpec.isReference()) {
-            JAST.compilationUnit.reportSemanticError(line(), "RHS of instanceof must be a reference type");
+            JAST.compilationUnit().reportSemanticError(line(), "RHS of instanceof must be a reference type");
         } else if (!(expr.type() == Type.NULLTYPE || expr.type() == Type.ANY || expr.type().isReference())) {
-            JAST.compilationUnit.reportSemanticError(line(), "LHS of instanceof must be a reference type");
+            JAST.compilationUnit().reportSemanticError(line(), "LHS of instanceof must be a reference type");
         } else if (expr.type().isReference() && !typeSpec.isJavaAssignableFrom(expr.type()) &&
                 !expr.type().isJavaAssignableFrom(typeSpec)) {
-            JAST.compilationUnit.reportSemanticError(line(),
+            JAST.compilationUnit().reportSemanticError(line(),
                     "impossible for the expression to be an instance of " + typeSpec.toString());
         }
         type = Type.BOOLEAN;
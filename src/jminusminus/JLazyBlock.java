@@ -0,0 +1,93 @@
+package jminusminus;
+
+import java.util.ArrayList;
+
+/**
+ * The AST node for a method (or constructor) body that the parser skipped, so as to parse it only when (and if) it is
+ * needed: its statements are parsed, from the compact token buffer of the source, the first time that they are asked
+ * for, or that the body is analyzed. Bodies that are never analyzed (those of pre-analyzed only, and up-to-date,
+ * compilation units) are thus never parsed.
+ * <p>
+ * Syntax errors in the body are reported when it is parsed (counting towards the parser's limit for the compilation
+ * unit as a whole), and mark the compilation unit being analyzed as erroneous, so that no code is generated for it. A
+ * body in error is replaced by an empty block, which is analyzed in place of the (partial) AST built for it.
+ */
+class JLazyBlock extends JBlock {
+    // The buffer holding the tokens of the source.
+    private final TokenBuffer tokens;
+
+    // Index (as returned by LookaheadScanner.tokenIndex()) of the LCURLY starting the block.
+    private final int tokenIndex;
+
+    // The block, once it is parsed (an empty block if it has syntax errors).
+    private JBlock block;
+
+    // Whether the block has syntax errors.
+    private boolean isInError;
+
+    /**
+     * Constructs an AST node for a block that is parsed on demand.
+     *
+     * @param line       line in which the block occurs in the source file.
+     * @param tokens     the buffer holding the tokens of the source.
+     * @param tokenIndex index of the LCURLY starting the block.
+     */
+    public JLazyBlock(int line, TokenBuffer tokens, int tokenIndex) {
+        super(line, null);
+        this.tokens = tokens;
+        this.tokenIndex = tokenIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ArrayList<JStatement> statements() {
+        return parse().statements();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JBlock analyze(Context context) {
+        JBlock block = parse();
+        if (isInError) {
+            // The missing statements may well have returned; do not report that the method has no return statement.
+            context.methodContext().confirmMethodHasReturn();
+        }
+        return block.analyze(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void codegen(CLEmitter output) {
+        parse().codegen(output);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void toJSON(JSONElement json) {
+        if (block != null) {
+            block.toJSON(json);
+        } else {
+            json.addChild("JLazyBlock:" + line, new JSONElement());
+        }
+    }
+
+    // Parses the block (if it has not been parsed yet) and returns it.
+    private JBlock parse() {
+        if (block == null) {
+            JCompilationUnit compilationUnit = JAST.compilationUnit();
+            Parser parser = new Parser(new LookaheadScanner(tokens, tokenIndex));
+            parser.setPriorErrorCount(compilationUnit.syntaxErrorCount());
+            block = parser.block();
+            if (parser.errorHasOccurred()) {
+                compilationUnit.markSyntaxErrors(parser.errorCount(), tokens.line(tokens.size() - 1));
+                block = new JBlock(line(), new ArrayList<>());
+                isInError = true;
+            }
+        }
+        return block;
+    }
+}
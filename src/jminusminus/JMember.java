@@ -13,10 +13,10 @@ interface JMember {
 
 
     /**
-     * Declares the member names in the specified (class) context and generates the member headers in the partial class.
+     * Declares the member names in the specified (class) context and adds the member headers to the partial class.
      *
      * @param context class context in which names are resolved.
-     * @param partial the code emitter.
+     * @param partial the partial class.
      */
-    void preAnalyze(Context context, CLEmitter partial);
+    void preAnalyze(Context context, PartialClass partial);
 }
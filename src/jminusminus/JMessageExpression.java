@@ -71,7 +71,7 @@ class JMessageExpression extends JExpression {
                     target = expr;
                 } else {
                     // Can't even happen syntactically.
-                    JAST.compilationUnit.reportSemanticError(line(), "badly formed suffix");
+                    JAST.compilationUnit().reportSemanticError(line(), "badly formed suffix");
                 }
             }
         }
@@ -94,7 +94,7 @@ class JMessageExpression extends JExpression {
         } else {
             target = target.analyze(context);
             if (target.type().isPrimitive()) {
-                JAST.compilationUnit.reportSemanticError(line(),
+                JAST.compilationUnit().reportSemanticError(line(),
                         "cannot invoke a message on a primitive type: " + target.type());
             }
         }
@@ -102,7 +102,7 @@ class JMessageExpression extends JExpression {
         // Find appropriate Method for this message expression.
         method = target.type().methodFor(messageName, argTypes);
         if (method == null) {
-            JAST.compilationUnit.reportSemanticError(line(),
+            JAST.compilationUnit().reportSemanticError(line(),
                     "cannot find method for: " + Type.signatureFor(messageName, argTypes));
             type = Type.ANY;
         } else {
@@ -113,7 +113,7 @@ class JMessageExpression extends JExpression {
             if (!method.isStatic()) {
                 if (target instanceof JVariable &&
                         ((JVariable) target).iDefn() instanceof TypeNameDefn) {
-                    JAST.compilationUnit.reportSemanticError(line(),
+                    JAST.compilationUnit().reportSemanticError(line(),
                             "non-static method " + Type.signatureFor(messageName, argTypes) +
                                     " cannot be referenced from a static context");
                 }
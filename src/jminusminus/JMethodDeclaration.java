@@ -2,10 +2,6 @@ package jminusminus;
 
 import java.util.ArrayList;
 
-import static jminusminus.CLConstants.ACONST_NULL;
-import static jminusminus.CLConstants.ARETURN;
-import static jminusminus.CLConstants.ICONST_0;
-import static jminusminus.CLConstants.IRETURN;
 import static jminusminus.CLConstants.RETURN;
 
 /**
@@ -100,7 +96,7 @@ class JMethodDeclaration extends JAST implements JMember {
     /**
      * {@inheritDoc}
      */
-    public void preAnalyze(Context context, CLEmitter partial) {
+    public void preAnalyze(Context context, PartialClass partial) {
         // Resolve types of the formal parameters, the return type, and compute method descriptor/signature.
         descriptor = "(";
         Type[] argTypes = new Type[params.size()];
@@ -116,16 +112,16 @@ class JMethodDeclaration extends JAST implements JMember {
 
         // Check proper local use of abstract.
         if (isAbstract && body != null) {
-            JAST.compilationUnit.reportSemanticError(line(), "abstract method cannot have a body");
+            JAST.compilationUnit().reportSemanticError(line(), "abstract method cannot have a body");
         } else if (body == null && !isAbstract) {
-            JAST.compilationUnit.reportSemanticError(line(), "method without body must be abstract");
+            JAST.compilationUnit().reportSemanticError(line(), "method without body must be abstract");
         } else if (isAbstract && isPrivate) {
-            JAST.compilationUnit.reportSemanticError(line(), "private method cannot be abstract");
+            JAST.compilationUnit().reportSemanticError(line(), "private method cannot be abstract");
         } else if (isAbstract && isStatic) {
-            JAST.compilationUnit.reportSemanticError(line(), "static method cannot be abstract");
+            JAST.compilationUnit().reportSemanticError(line(), "static method cannot be abstract");
         }
 
-        // Generate the method with an empty body (for now).
+        // Add the method header to the partial class.
         partialCodegen(context, partial);
     }
 
@@ -151,7 +147,7 @@ class JMethodDeclaration extends JAST implements JMember {
         if (body != null) {
             body = body.analyze(this.context);
             if (returnType != Type.VOID && !methodContext.methodHasReturn()) {
-                JAST.compilationUnit.reportSemanticError(line(), "non-void method must have a return statement");
+                JAST.compilationUnit().reportSemanticError(line(), "non-void method must have a return statement");
             }
         }
         return this;
@@ -160,22 +156,13 @@ class JMethodDeclaration extends JAST implements JMember {
     /**
      * {@inheritDoc}
      */
-    public void partialCodegen(Context context, CLEmitter partial) {
+    public void partialCodegen(Context context, PartialClass partial) {
         if (partial.containsMethodSignature(signature)) {
-            JAST.compilationUnit.reportSemanticError(line(), "redefining method " + signature);
+            JAST.compilationUnit().reportSemanticError(line(), "redefining method " + signature);
             return;
         }
-        partial.addMethod(mods, name, descriptor, null, false);
+        partial.addMethod(mods, name, descriptor);
         partial.addMethodSignature(signature);
-        if (returnType == Type.VOID) {
-            partial.addNoArgInstruction(RETURN);
-        } else if (returnType == Type.INT || returnType == Type.BOOLEAN || returnType == Type.CHAR) {
-            partial.addNoArgInstruction(ICONST_0);
-            partial.addNoArgInstruction(IRETURN);
-        } else {
-            partial.addNoArgInstruction(ACONST_NULL);
-            partial.addNoArgInstruction(ARETURN);
-        }
     }
 
     /**
@@ -0,0 +1,192 @@
+package jminusminus;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A programmatic interface to the j-- compiler (with the hand-written front-end), for programs that embed the
+ * compiler. A compilation takes the sources to compile, either as strings or as paths, and returns the classes
+ * generated for them, as bytes (in class file format), along with the diagnostics reported. Nothing is written to the
+ * file system, and nothing is printed.
+ * <p>
+ * The sources given to a compilation are compiled together, as a batch, so that they may refer to one another. A
+ * compiler may be used for any number of compilations, from any number of threads. The types declared by a
+ * compilation are registered in the map of types shared by the whole JVM (see Type) until it ends, though, so the
+ * compilations (by all the compilers in the JVM) run one at a time: a compile() call waits for any compilation in
+ * progress to end. The types declared by one compilation are not visible to the next.
+ * <p>
+ * For example, the following compiles a program and runs it:
+ * <pre>
+ *   JMinusMinusCompiler.Result result = new JMinusMinusCompiler().compile("HelloWorld.java", source);
+ *   if (result.isSuccessful()) {
+ *       ClassLoader loader = new ClassLoader() {
+ *           protected Class&lt;?&gt; findClass(String name) throws ClassNotFoundException {
+ *               byte[] bytes = result.classes().get(name);
+ *               if (bytes == null) {
+ *                   throw new ClassNotFoundException(name);
+ *               }
+ *               return defineClass(name, bytes, 0, bytes.length);
+ *           }
+ *       };
+ *       loader.loadClass("HelloWorld").getMethod("main", String[].class).invoke(null, (Object) new String[0]);
+ *   }
+ * </pre>
+ */
+public class JMinusMinusCompiler {
+    // Lock that serializes the compilations in the JVM, which would otherwise clobber each other's declared types.
+    private static final Object compilationLock = new Object();
+
+    // Number of threads used by a compilation.
+    private final int parallelism;
+
+    /**
+     * Constructs a JMinusMinusCompiler that compiles sequentially.
+     */
+    public JMinusMinusCompiler() {
+        this(1);
+    }
+
+    /**
+     * Constructs a JMinusMinusCompiler that compiles the sources of a compilation using the specified number of
+     * threads.
+     *
+     * @param parallelism the number of threads.
+     */
+    public JMinusMinusCompiler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Compiles the specified source.
+     *
+     * @param fileName the name of the source file (used in diagnostics).
+     * @param source   the source.
+     * @return the result of the compilation.
+     */
+    public Result compile(String fileName, String source) {
+        return compile(Map.of(fileName, source));
+    }
+
+    /**
+     * Compiles the specified sources together.
+     *
+     * @param sources maps the names of the source files (used in diagnostics) to the sources.
+     * @return the result of the compilation.
+     */
+    public Result compile(Map<String, String> sources) {
+        ArrayList<Diagnostic> diagnostics = new ArrayList<>();
+        Map<String, byte[]> classes = new ConcurrentHashMap<>();
+        synchronized (compilationLock) {
+            CompilationBatch batch = new CompilationBatch(parallelism);
+            Consumer<Diagnostic> listener = Diagnostic.listener();
+            Diagnostic.setListener(diagnostic -> {
+                synchronized (diagnostics) {
+                    diagnostics.add(diagnostic);
+                }
+            });
+            try {
+                ArrayList<String> fileNames = new ArrayList<>(sources.keySet());
+                if (batch.parse(fileNames, fileName -> parse(fileName, sources.get(fileName), batch.names()))) {
+                    batch.preAnalyze();
+                    if (!batch.errorHasOccurred()) {
+                        batch.analyze();
+                    }
+                    if (!batch.errorHasOccurred()) {
+                        batch.codegen(classes);
+                    }
+                }
+            } finally {
+                Diagnostic.setListener(listener);
+                batch.dispose();
+            }
+        }
+        return new Result(diagnostics.isEmpty() ? new TreeMap<>(classes) : new TreeMap<>(), diagnostics);
+    }
+
+    /**
+     * Compiles the source files at the specified paths together.
+     *
+     * @param paths the paths of the source files.
+     * @return the result of the compilation.
+     */
+    public Result compile(Collection<Path> paths) {
+        LinkedHashMap<String, String> sources = new LinkedHashMap<>();
+        ArrayList<Diagnostic> diagnostics = new ArrayList<>();
+        for (Path path : paths) {
+            try {
+                sources.put(path.toString(), Files.readString(path, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                diagnostics.add(new Diagnostic(null, 0, "Error: file " + path + " not found."));
+            }
+        }
+        return diagnostics.isEmpty() ? compile(sources) : new Result(new TreeMap<>(), diagnostics);
+    }
+
+    // Parses the specified source, interning its identifiers in the specified table, and returns its AST, or null if it
+    // has syntax errors.
+    private static JCompilationUnit parse(String fileName, String source, Names names) {
+        Parser parser = new Parser(new LookaheadScanner(fileName, new StringReader(source), names));
+        JCompilationUnit ast = parser.compilationUnit();
+        return parser.errorHasOccurred() ? null : ast;
+    }
+
+    /**
+     * The result of a compilation.
+     */
+    public static class Result {
+        // Maps the binary names of the classes generated to their bytes.
+        private final Map<String, byte[]> classes;
+
+        // Diagnostics reported.
+        private final List<Diagnostic> diagnostics;
+
+        // Constructs a result.
+        private Result(Map<String, byte[]> classes, List<Diagnostic> diagnostics) {
+            this.classes = Collections.unmodifiableMap(classes);
+            this.diagnostics = Collections.unmodifiableList(diagnostics);
+        }
+
+        /**
+         * Returns true if the compilation succeeded (reported no diagnostics), and false otherwise.
+         *
+         * @return true if the compilation succeeded, and false otherwise.
+         */
+        public boolean isSuccessful() {
+            return diagnostics.isEmpty();
+        }
+
+        /**
+         * Returns the classes generated, as a map from their binary names (eg, "pkg.HelloWorld") to their bytes (in
+         * class file format); the map is empty if the compilation failed.
+         *
+         * @return the classes generated.
+         */
+        public Map<String, byte[]> classes() {
+            return classes;
+        }
+
+        /**
+         * Returns the diagnostics reported, in the order in which they were reported.
+         *
+         * @return the diagnostics reported.
+         */
+        public List<Diagnostic> diagnostics() {
+            return diagnostics;
+        }
+    }
+}
@@ -46,13 +46,14 @@ class JNewOp extends JExpression {
 
         // Can't instantiate an abstract type.
         if (type.isAbstract()) {
-            JAST.compilationUnit.reportSemanticError(line(), "cannot instantiate an abstract type: " + type.toString());
+            JAST.compilationUnit().reportSemanticError(line(),
+                    "cannot instantiate an abstract type: " + type.toString());
         }
 
         // Then get the proper constructor, given the arguments.
         constructor = type.constructorFor(argTypes);
         if (constructor == null) {
-            JAST.compilationUnit.reportSemanticError(line(),
+            JAST.compilationUnit().reportSemanticError(line(),
                     "cannot find constructor: " + Type.signatureFor(type.toString(), argTypes));
         }
 
@@ -30,7 +30,7 @@ class JReturnStatement extends JStatement {
         MethodContext methodContext = context.methodContext();
         if (methodContext.methodReturnType() == Type.CONSTRUCTOR) {
             if (expr != null) {
-                JAST.compilationUnit.reportSemanticError(line(), "cannot return a value from a constructor");
+                JAST.compilationUnit().reportSemanticError(line(), "cannot return a value from a constructor");
             }
         } else {
             // Must be a method.
@@ -38,14 +38,14 @@ class JReturnStatement extends JStatement {
             methodContext.confirmMethodHasReturn();
             if (expr != null) {
                 if (returnType == Type.VOID) {
-                    JAST.compilationUnit.reportSemanticError(line(), "cannot return a value from a void method");
+                    JAST.compilationUnit().reportSemanticError(line(), "cannot return a value from a void method");
                 } else {
                     expr = expr.analyze(context);
                     expr.type().mustMatchExpected(line(), returnType);
                 }
             } else {
                 if (returnType != Type.VOID) {
-                    JAST.compilationUnit.reportSemanticError(line(), "missing return value");
+                    JAST.compilationUnit().reportSemanticError(line(), "missing return value");
                 }
             }
         }
@@ -1,5 +1,7 @@
 package jminusminus;
 
+import java.util.ArrayList;
+
 import static jminusminus.CLConstants.DUP;
 import static jminusminus.CLConstants.INVOKESPECIAL;
 import static jminusminus.CLConstants.INVOKEVIRTUAL;
@@ -47,26 +49,21 @@ class JStringConcatenationOp extends JBinaryExpression {
     }
 
     // Like codegen() method, but we needn't (and shouldn't) create a StringBuilder nor convert the result to a
-    // String, as that will be done in a parent.
+    // String, as that will be done in a parent. Appends the operands of the tree of concatenations rooted here from
+    // left to right, using an explicit stack rather than recursion, as the tree may be very deep.
     private void nestedCodegen(CLEmitter output) {
-        // Lhs.
-        if (lhs instanceof JStringConcatenationOp) {
-            // This appends lhs.
-            ((JStringConcatenationOp) lhs).nestedCodegen(output);
-        } else {
-            lhs.codegen(output);
-            output.addMemberAccessInstruction(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
-                    "(" + lhs.type().argumentTypeForAppend() + ")Ljava/lang/StringBuilder;");
-        }
-
-        // Rhs.
-        if (rhs instanceof JStringConcatenationOp) {
-            // This appends rhs.
-            ((JStringConcatenationOp) rhs).nestedCodegen(output);
-        } else {
-            rhs.codegen(output);
-            output.addMemberAccessInstruction(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
-                    "(" + rhs.type().argumentTypeForAppend() + ")Ljava/lang/StringBuilder;");
+        ArrayList<JExpression> pending = new ArrayList<>();
+        pending.add(this);
+        while (!pending.isEmpty()) {
+            JExpression operand = pending.remove(pending.size() - 1);
+            if (operand instanceof JStringConcatenationOp) {
+                pending.add(((JStringConcatenationOp) operand).rhs);
+                pending.add(((JStringConcatenationOp) operand).lhs);
+            } else {
+                operand.codegen(output);
+                output.addMemberAccessInstruction(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+                        "(" + operand.type().argumentTypeForAppend() + ")Ljava/lang/StringBuilder;");
+            }
         }
     }
 }
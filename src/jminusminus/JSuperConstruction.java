@@ -54,7 +54,7 @@ class JSuperConstruction extends JExpression {
         }
 
         if (!properUseOfConstructor) {
-            JAST.compilationUnit.reportSemanticError(line(), "super" + Type.argTypesAsString(argTypes)
+            JAST.compilationUnit().reportSemanticError(line(), "super" + Type.argTypesAsString(argTypes)
                     + " must be first statement in the constructor's body");
             return this;
         }
@@ -63,7 +63,7 @@ class JSuperConstruction extends JExpression {
         Type superClass = ((JTypeDecl) context.classContext.definition()).thisType().superClass();
         constructor = superClass == null ? null : superClass.constructorFor(argTypes);
         if (constructor == null) {
-            JAST.compilationUnit.reportSemanticError(line(),
+            JAST.compilationUnit().reportSemanticError(line(),
                     "no such constructor: super" + Type.argTypesAsString(argTypes));
         }
 
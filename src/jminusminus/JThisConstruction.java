@@ -51,7 +51,7 @@ class JThisConstruction extends JExpression {
         }
 
         if (!properUseOfConstructor) {
-            JAST.compilationUnit.reportSemanticError(line(), "this" + Type.argTypesAsString(argTypes)
+            JAST.compilationUnit().reportSemanticError(line(), "this" + Type.argTypesAsString(argTypes)
                     + " must be first statement in the constructor's body");
             return this;
         }
@@ -60,7 +60,7 @@ class JThisConstruction extends JExpression {
         constructor = ((JTypeDecl) context.classContext.definition()).thisType().constructorFor(argTypes);
 
         if (constructor == null) {
-            JAST.compilationUnit.reportSemanticError(line(),
+            JAST.compilationUnit().reportSemanticError(line(),
                     "no such constructor: this" + Type.argTypesAsString(argTypes));
 
         }
@@ -21,6 +21,13 @@ interface JTypeDecl {
      */
     void preAnalyze(Context context);
 
+    /**
+     * Builds the symbol for the partial class built by preAnalyze() and makes it the representation for this type.
+     * Called once all the types being compiled have been pre-analyzed, so that the partial classes can refer to one
+     * another.
+     */
+    void definePartialType();
+
     /**
      * Returns the name of this type declaration.
      *
@@ -146,7 +146,7 @@ class JPostDecrementOp extends JUnaryExpression {
      */
     public JExpression analyze(Context context) {
         if (!(operand instanceof JLhs)) {
-            JAST.compilationUnit.reportSemanticError(line, "operand to -- must have an LValue.");
+            JAST.compilationUnit().reportSemanticError(line, "operand to -- must have an LValue.");
             type = Type.ANY;
         } else {
             operand = operand.analyze(context);
@@ -201,7 +201,7 @@ class JPreIncrementOp extends JUnaryExpression {
      */
     public JExpression analyze(Context context) {
         if (!(operand instanceof JLhs)) {
-            JAST.compilationUnit.reportSemanticError(line, "operand to ++ must have an LValue.");
+            JAST.compilationUnit().reportSemanticError(line, "operand to ++ must have an LValue.");
             type = Type.ANY;
         } else {
             operand = operand.analyze(context);
@@ -77,7 +77,7 @@ class JVariable extends JExpression implements JLhs {
             Field field = definingType.fieldFor(name);
             if (field == null) {
                 type = Type.ANY;
-                JAST.compilationUnit.reportSemanticError(line, "cannot find name: " + name);
+                JAST.compilationUnit().reportSemanticError(line, "cannot find name: " + name);
             } else {
                 // Rewrite a variable denoting a field as an explicit field selection.
                 type = field.type();
@@ -88,7 +88,8 @@ class JVariable extends JExpression implements JLhs {
             }
         } else {
             if (!analyzeLhs && defn instanceof LocalVariableDefn && !((LocalVariableDefn) defn).isInitialized()) {
-                JAST.compilationUnit.reportSemanticError(line, "variable " + name + " might not have been initialized");
+                JAST.compilationUnit().reportSemanticError(line,
+                        "variable " + name + " might not have been initialized");
             }
             type = defn.type();
         }
@@ -104,7 +105,7 @@ class JVariable extends JExpression implements JLhs {
         if (newTree instanceof JVariable) {
             // Could (now) be a JFieldSelection, but if it's (still) a JVariable...
             if (defn != null && !(defn instanceof LocalVariableDefn)) {
-                JAST.compilationUnit.reportSemanticError(line(), name + " is a bad LHS to a =");
+                JAST.compilationUnit().reportSemanticError(line(), name + " is a bad LHS to a =");
             }
         }
         return newTree;
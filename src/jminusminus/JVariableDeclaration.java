@@ -37,7 +37,7 @@ class JVariableDeclaration extends JStatement {
             // First, check for shadowing.
             Defn previousDefn = context.lookup(decl.name());
             if (previousDefn instanceof LocalVariableDefn) {
-                JAST.compilationUnit.reportSemanticError(decl.line(),
+                JAST.compilationUnit().reportSemanticError(decl.line(),
                         "the variable " + decl.name() + " shadows another local variable");
             }
 
@@ -1,17 +1,24 @@
 package jminusminus;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
 
 /**
  * Driver class for j-- compiler using JavaCC front-end. This is the main entry point for the compiler. The compiler
  * proceeds as follows:
  * <ol>
- *   <li>It reads arguments that affects its behavior.</li>
+ *   <li>It reads arguments that affects its behavior, including the source files (and directories of source files)
+ *   to compile.</li>
  *
- *   <li>It builds a scanner.</li>
+ *   <li>For each source file, it builds a scanner.</li>
  *
- *   <li>It builds a parser (using the scanner) and parses the input for producing an abstact syntax tree (AST).</li>
+ *   <li>It builds a parser (using the scanner) and parses the input for producing an abstact syntax tree (AST). The
+ *   ASTs for all the source files are compiled together, as a batch, by the remaining steps. With the -j option, the
+ *   source files are parsed, analyzed, and code generated in parallel. With the -incremental option, only the
+ *   source files that are out of date with respect to the classes in the output directory are analyzed and code
+ *   generated.</li>
  *
  *   <li>It sends the preAnalyze() message to that AST, which recursively descends the tree so far as the member
  *   headers for declaring types and members in the symbol table (represented as a string of contexts).</li>
@@ -39,117 +46,187 @@ public class JavaCCMain {
      */
     public static void main(String[] args) {
         String caller = "java jminusminus.JavaCCMain";
-        String sourceFile = "";
+        ArrayList<String> sourceFiles = new ArrayList<>();
         String debugOption = "";
         String outputDir = ".";
-        boolean spimOutput = false;
+        int parallelism = 1;
+        boolean isIncremental = false;
+        String timingsFile = null;
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("javaccj--")) {
                 caller = "javaccj--";
-            } else if (args[i].endsWith(".java")) {
-                sourceFile = args[i];
+            } else if (args[i].endsWith(".java") || new File(args[i]).isDirectory()) {
+                sourceFiles.addAll(CompilationBatch.sourceFiles(args[i]));
             } else if (args[i].equals("-t") || args[i].equals("-p")
                     || args[i].equals("-pa") || args[i].equals("-a")) {
                 debugOption = args[i];
             } else if (args[i].endsWith("-d") && (i + 1) < args.length) {
                 outputDir = args[++i];
+            } else if (args[i].equals("-j") && (i + 1) < args.length && args[i + 1].matches("[1-9][0-9]*")) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-incremental")) {
+                isIncremental = true;
+            } else if (args[i].equals("-timings") && (i + 1) < args.length) {
+                timingsFile = args[++i];
             } else {
                 printUsage(caller);
                 return;
             }
         }
-        if (sourceFile.isEmpty()) {
+        if (sourceFiles.isEmpty()) {
             printUsage(caller);
             return;
         }
 
-        JavaCCParserTokenManager javaCCScanner = null;
-        try {
-            javaCCScanner = new JavaCCParserTokenManager(new SimpleCharStream(new FileInputStream(sourceFile), 
-                                                                              1, 1));
-        } catch (FileNotFoundException e) {
-            System.err.println("Error: file " + sourceFile + " not found.");
-        }
+        if (debugOption.equals("-t") || debugOption.equals("-p")) {
+            for (String sourceFile : sourceFiles) {
+                JavaCCParserTokenManager javaCCScanner = null;
+                try {
+                    javaCCScanner = new JavaCCParserTokenManager(new SimpleCharStream(new FileInputStream(sourceFile),
+                                                                                      1, 1));
+                } catch (FileNotFoundException e) {
+                    System.err.println("Error: file " + sourceFile + " not found.");
+                    return;
+                }
 
-        if (debugOption.equals("-t")) {
-            // Just tokenize input and print the tokens to STDOUT.
-            Token token;
-            do {
-                token = javaCCScanner.getNextToken();
-                if (token.kind == JavaCCParserConstants.ERROR) {
-                    System.err.printf("%s:%d: Unidentified input token: '%s'\n", sourceFile, token.beginLine,
-                            token.image);
+                if (debugOption.equals("-t")) {
+                    // Just tokenize input and print the tokens to STDOUT.
+                    Token token;
+                    do {
+                        token = javaCCScanner.getNextToken();
+                        if (token.kind == JavaCCParserConstants.ERROR) {
+                            System.err.printf("%s:%d: Unidentified input token: '%s'\n", sourceFile, token.beginLine,
+                                    token.image);
+                        } else {
+                            System.out.printf("%d\t : %s = %s\n", token.beginLine,
+                                    JavaCCParserConstants.tokenImage[token.kind], token.image);
+                        }
+                    } while (token.kind != JavaCCParserConstants.EOF);
                 } else {
-                    System.out.printf("%d\t : %s = %s\n", token.beginLine,
-                            JavaCCParserConstants.tokenImage[token.kind], token.image);
+                    // Just parse input and print AST to STDOUT.
+                    JCompilationUnit ast = null;
+                    JavaCCParser parser = new JavaCCParser(javaCCScanner);
+                    parser.fileName(sourceFile);
+                    try {
+                        ast = parser.compilationUnit();
+                    } catch (ParseException e) {
+                        System.err.println(e.getMessage());
+                    }
+                    JSONElement json = new JSONElement();
+                    ast.toJSON(json);
+                    System.out.println(json);
                 }
-            } while (token.kind != JavaCCParserConstants.EOF);
+            }
             return;
         }
 
-        JCompilationUnit ast = null;
-        JavaCCParser parser = new JavaCCParser(javaCCScanner);
-        parser.fileName(sourceFile);
+        Timings timings = timingsFile == null ? null : new Timings();
+        JAST.countNodes(timings != null);
         try {
-            ast = parser.compilationUnit();
-        } catch (ParseException e) {
-            System.err.println(e.getMessage());
+            compile(sourceFiles, debugOption, outputDir, parallelism, isIncremental, timings);
+        } finally {
+            JAST.countNodes(false);
+            if (timings != null) {
+                timings.write(timingsFile);
+            }
         }
-        if (debugOption.equals("-p")) {
-            // Just parse input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
-            return;
+    }
+
+    // Compiles the specified source files as a batch, recording the time spent in each phase in the specified report
+    // (if it is not null).
+    private static void compile(ArrayList<String> sourceFiles, String debugOption, String outputDir, int parallelism,
+                                boolean isIncremental, Timings timings) {
+        CompilationBatch batch = new CompilationBatch(parallelism);
+        if (isIncremental) {
+            batch.setIncremental(outputDir);
         }
-        if (parser.errorHasOccurred()) {
+        batch.setTimings(timings);
+        if (!batch.parse(sourceFiles, sourceFile -> parse(sourceFile, timings))) {
             return;
         }
 
-        ast.preAnalyze();
+        batch.preAnalyze();
         if (debugOption.equals("-pa")) {
             // Just pre-analyze input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
+            batch.printJSON();
             return;
         }
-        if (JAST.compilationUnit.errorHasOccurred()) {
+        if (batch.errorHasOccurred()) {
             return;
         }
 
         // Do analysis.
-        ast.analyze(null);
+        batch.analyze();
         if (debugOption.equals("-a")) {
             // Just analyze input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
+            batch.printJSON();
             return;
         }
-        if (JAST.compilationUnit.errorHasOccurred()) {
+        if (batch.errorHasOccurred()) {
             return;
         }
 
         // Generate JVM code.
-        CLEmitter jvmCode = new CLEmitter(!spimOutput);
-        jvmCode.destinationDir(outputDir);
-        ast.codegen(jvmCode);
-        if (jvmCode.errorHasOccurred()) {
+        batch.codegen(outputDir);
+        if (batch.errorHasOccurred()) {
             System.err.println("Error: compilation failed!");
         }
     }
 
+    // Parses the specified source file and returns its AST, or null if the file cannot be read or has syntax errors.
+    // Records the time spent scanning and parsing the file in the specified report (if it is not null).
+    private static JCompilationUnit parse(String sourceFile, Timings timings) {
+        long[] start = timings == null ? null : Timings.start();
+        int nodes = JAST.nodeCount();
+        Timings.Accumulator scanTimes = timings == null ? null : new Timings.Accumulator();
+        JavaCCParserTokenManager javaCCScanner;
+        try {
+            SimpleCharStream stream = new SimpleCharStream(new FileInputStream(sourceFile), 1, 1);
+            javaCCScanner = scanTimes == null ? new JavaCCParserTokenManager(stream) : new JavaCCParserTokenManager(
+                    stream) {
+                public Token getNextToken() {
+                    scanTimes.start();
+                    Token token = super.getNextToken();
+                    scanTimes.stop();
+                    return token;
+                }
+            };
+        } catch (FileNotFoundException e) {
+            System.err.println("Error: file " + sourceFile + " not found.");
+            return null;
+        }
+        JavaCCParser parser = new JavaCCParser(javaCCScanner);
+        parser.fileName(sourceFile);
+        JCompilationUnit ast;
+        try {
+            ast = parser.compilationUnit();
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            return null;
+        } finally {
+            if (timings != null) {
+                timings.recordParse(sourceFile, start, scanTimes.count(), JAST.nodeCount() - nodes);
+                timings.recordScan(sourceFile, scanTimes);
+            }
+        }
+        return parser.errorHasOccurred() ? null : ast;
+    }
+
     // Prints command usage to STDOUT.
     private static void printUsage(String caller) {
         String usage = "Usage: " + caller
-                + " <options> <source file>\n"
+                + " <options> <source files and/or directories>\n"
                 + "Where possible options include:\n"
                 + "  -t  Tokenize input and print tokens to STDOUT\n"
                 + "  -p  Parse input and print AST to STDOUT\n"
                 + "  -pa Pre-analyze input and print AST to STDOUT\n"
                 + "  -a  Analyze input and print AST to STDOUT\n"
-                + "  -d  <dir> Specify where to place output (.class) files; default = .";
+                + "  -d  <dir> Specify where to place output (.class) files; default = .\n"
+                + "  -j  <n> Compile using n threads; default = 1\n"
+                + "  -incremental Recompile only the source files that have changed, or that depend on types whose\n"
+                + "               signatures have changed, since the last compilation into the output directory\n"
+                + "  -timings <file> Report the time and memory spent in each phase, per file and class, to file (as\n"
+                + "                  CSV if its name ends with .csv, and as JSON otherwise)";
         System.out.println(usage);
     }
 }
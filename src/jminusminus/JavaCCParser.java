@@ -0,0 +1,3039 @@
+/* JavaCCParser.java */
+/* Generated By:JavaCC: Do not edit this line. JavaCCParser.java */
+package jminusminus;
+
+import java.util.ArrayList;
+
+/**
+ * Parser generated by JavaCC. It parses a j-- compilation unit (program file), taking tokens from
+ * the scanner (also generated by JavaCC), and produces an abstract syntax tree (AST) for it.
+ */
+class JavaCCParser implements JavaCCParserConstants {
+    // Whether a parser error has been found.
+    private boolean errorHasOccurred;
+
+    // Name of the file that is parsed.
+    private String fileName;
+
+    /**
+     * Sets the name of the file being parsed.
+     *
+     * @param fileName name of the file being parsed.
+     */
+    public void fileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns {@code true} if a parser error has occurred up to now, and {@code false} otherwise.
+     *
+     * @return {@code true} if a parser error has occurred up to now, and {@code false} otherwise.
+     */
+    public boolean errorHasOccurred() {
+        return errorHasOccurred;
+    }
+
+    // Pulls out and returns the ambiguous part of a name.
+    private AmbiguousName ambiguousPart(TypeName name) {
+        String qualifiedName = name.toString();
+        int i = qualifiedName.lastIndexOf('.');
+        return i == -1 ? null : new AmbiguousName(name.line(), qualifiedName.substring(0, i));
+    }
+
+    // Reports a syntax error.
+    private void reportParserError(String message, Object... args) {
+        errorHasOccurred = true;
+        Diagnostic.report(fileName, token.beginLine, String.format(message, args));
+    }
+
+    // Recover from the parser error that occurred by skipping to any of the specified tokens.
+    // Current error recovery mechanism is rather simple-minded and is based on skipping all the
+    // tokens until a SEMI or an EOF is encountered. This scheme can be enhanced by passing in the
+    // FOLLOW-SET of the non-terminal at hand.
+    private void recoverFromError(int[] skipTo, ParseException e) {
+        // Get the possible expected tokens.
+        StringBuffer expected = new StringBuffer();
+        for (int i = 0; i < e.expectedTokenSequences.length; i++) {
+            for (int j = 0; j < e.expectedTokenSequences[i].length; j++) {
+                expected.append("\n");
+                expected.append("    ");
+                expected.append(tokenImage[e.expectedTokenSequences[i][j]]);
+                expected.append("...");
+            }
+        }
+
+        // Print error message.
+        if (e.expectedTokenSequences.length == 1) {
+            reportParserError("\"%s\" found where %s sought", getToken(1), expected);
+        } else {
+            reportParserError("\"%s\" found where one of %s sought", getToken(1), expected);
+        }
+
+        // Recover.
+        boolean loop = true;
+        do {
+            token = getNextToken();
+            for (int i = 0; i < skipTo.length; i++) {
+                if (token.kind == skipTo[i]) {
+                    loop = false;
+                    break;
+                }
+            }
+        } while(loop);
+    }
+
+  final public JCompilationUnit compilationUnit() throws ParseException {int line = 0;
+    TypeName packageName = null;
+    TypeName anImport = null;
+    ArrayList<TypeName> imports = new ArrayList<>();
+    JAST aTypeDeclaration = null;
+    ArrayList<JAST> typeDeclarations = new ArrayList<>();
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case PACKAGE:{
+        jj_consume_token(PACKAGE);
+line = token.beginLine;
+        packageName = qualifiedIdentifier();
+        jj_consume_token(SEMI);
+        break;
+        }
+      default:
+        jj_la1[0] = jj_gen;
+        ;
+      }
+      label_1:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case IMPORT:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[1] = jj_gen;
+          break label_1;
+        }
+        jj_consume_token(IMPORT);
+line = line == 0 ? token.beginLine : line;
+        anImport = qualifiedIdentifier();
+imports.add(anImport);
+        jj_consume_token(SEMI);
+      }
+      label_2:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case ABSTRACT:
+        case CLASS:
+        case PRIVATE:
+        case PROTECTED:
+        case PUBLIC:
+        case STATIC:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[2] = jj_gen;
+          break label_2;
+        }
+        aTypeDeclaration = typeDeclaration();
+line = line == 0 ? aTypeDeclaration.line() : line;
+                typeDeclarations.add(aTypeDeclaration);
+      }
+      jj_consume_token(0);
+line = line == 0 ? token.beginLine : line;
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JCompilationUnit(fileName, line, packageName, imports, typeDeclarations);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private TypeName qualifiedIdentifier() throws ParseException {int line = 0;
+    String qualifiedIdentifier = "";
+    try {
+      jj_consume_token(IDENTIFIER);
+line = token.beginLine;
+            qualifiedIdentifier = token.image;
+      label_3:
+      while (true) {
+        if (jj_2_1(2147483647)) {
+          ;
+        } else {
+          break label_3;
+        }
+        jj_consume_token(DOT);
+        jj_consume_token(IDENTIFIER);
+qualifiedIdentifier += "." + token.image;
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new TypeName(line, qualifiedIdentifier);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JAST typeDeclaration() throws ParseException {ArrayList<String> mods = null;
+    JAST typeDeclaration = null;
+    try {
+      mods = modifiers();
+      typeDeclaration = classDeclaration(mods);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return typeDeclaration;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private ArrayList<String> modifiers() throws ParseException {ArrayList<String> mods = new ArrayList<>();
+    boolean scannedPUBLIC = false;
+    boolean scannedPROTECTED = false;
+    boolean scannedPRIVATE = false;
+    boolean scannedSTATIC = false;
+    boolean scannedABSTRACT = false;
+    try {
+      label_4:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case ABSTRACT:
+        case PRIVATE:
+        case PROTECTED:
+        case PUBLIC:
+        case STATIC:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[3] = jj_gen;
+          break label_4;
+        }
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case ABSTRACT:{
+          jj_consume_token(ABSTRACT);
+mods.add("abstract");
+                if (scannedABSTRACT) {
+                    reportParserError("repeated modifier: abstract");
+                }
+                scannedABSTRACT = true;
+          break;
+          }
+        case PRIVATE:{
+          jj_consume_token(PRIVATE);
+mods.add("private");
+                if (scannedPRIVATE) {
+                    reportParserError("repeated modifier: private");
+                }
+                if (scannedPUBLIC || scannedPROTECTED) {
+                    reportParserError("access conflict in modifiers");
+                }
+                scannedPRIVATE = true;
+          break;
+          }
+        case PROTECTED:{
+          jj_consume_token(PROTECTED);
+mods.add("protected");
+                if (scannedPROTECTED) {
+                    reportParserError("repeated modifier: protected");
+                }
+                if (scannedPUBLIC || scannedPRIVATE) {
+                    reportParserError("access conflict in modifiers");
+                }
+                scannedPROTECTED = true;
+          break;
+          }
+        case PUBLIC:{
+          jj_consume_token(PUBLIC);
+mods.add("public");
+                if (scannedPUBLIC) {
+                    reportParserError("repeated modifier: public");
+                }
+                if (scannedPROTECTED || scannedPRIVATE) {
+                    reportParserError("access conflict in modifiers");
+                }
+                scannedPUBLIC = true;
+          break;
+          }
+        case STATIC:{
+          jj_consume_token(STATIC);
+mods.add("static");
+                if (scannedSTATIC) {
+                    reportParserError("repeated modifier: static");
+                }
+                scannedSTATIC = true;
+          break;
+          }
+        default:
+          jj_la1[4] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return mods;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JClassDeclaration classDeclaration(ArrayList<String> mods) throws ParseException {int line = 0;
+    String name = "";
+    Type superClass = Type.OBJECT;
+    ArrayList<JMember> classBody = null;
+    try {
+      jj_consume_token(CLASS);
+line = token.beginLine;
+      jj_consume_token(IDENTIFIER);
+name = token.image;
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case EXTENDS:{
+        jj_consume_token(EXTENDS);
+        superClass = qualifiedIdentifier();
+        break;
+        }
+      default:
+        jj_la1[5] = jj_gen;
+        ;
+      }
+      classBody = classBody();
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JClassDeclaration(line, mods, name, superClass, null, classBody);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private ArrayList<JMember> classBody() throws ParseException {ArrayList<String> mods = null;
+    JMember aMember = null;
+    ArrayList<JMember> members = new ArrayList<>();
+    try {
+      jj_consume_token(LCURLY);
+      label_5:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case ABSTRACT:
+        case BOOLEAN:
+        case CHAR:
+        case INT:
+        case PRIVATE:
+        case PROTECTED:
+        case PUBLIC:
+        case STATIC:
+        case VOID:
+        case IDENTIFIER:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[6] = jj_gen;
+          break label_5;
+        }
+        mods = modifiers();
+        aMember = memberDecl(mods);
+members.add(aMember);
+      }
+      jj_consume_token(RCURLY);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return members;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JMember memberDecl(ArrayList<String> mods) throws ParseException {int line = 0;
+    Type type = null;
+    String name = "";
+    ArrayList<JFormalParameter> params = null;
+    JBlock body = null;
+    ArrayList<JVariableDeclarator> variableDeclarators = null;
+    JMember memberDecl = null;
+    try {
+      if (jj_2_2(2147483647)) {
+        jj_consume_token(IDENTIFIER);
+line = token.beginLine;
+            name = token.image;
+        params = formalParameters();
+        body = block();
+memberDecl = new JConstructorDeclaration(line, mods, name, params, null, body);
+      } else if (jj_2_3(2147483647)) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case VOID:{
+          jj_consume_token(VOID);
+type = Type.VOID;
+          break;
+          }
+        case BOOLEAN:
+        case CHAR:
+        case INT:
+        case IDENTIFIER:{
+          type = type();
+          break;
+          }
+        default:
+          jj_la1[7] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+line = token.beginLine;
+        jj_consume_token(IDENTIFIER);
+name = token.image;
+        params = formalParameters();
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LCURLY:{
+          body = block();
+          break;
+          }
+        case SEMI:{
+          jj_consume_token(SEMI);
+          break;
+          }
+        default:
+          jj_la1[8] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+memberDecl = new JMethodDeclaration(line, mods, name, type, params, null, body);
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case BOOLEAN:
+        case CHAR:
+        case INT:
+        case IDENTIFIER:{
+          type = type();
+line = token.beginLine;
+          variableDeclarators = variableDeclarators(type);
+memberDecl = new JFieldDeclaration(line, mods, variableDeclarators);
+          jj_consume_token(SEMI);
+          break;
+          }
+        default:
+          jj_la1[9] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return memberDecl;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JBlock block() throws ParseException {int line = 0;
+    JStatement aStatement = null;
+    ArrayList<JStatement> statements = new ArrayList<>();
+    try {
+      jj_consume_token(LCURLY);
+line = token.beginLine;
+      label_6:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case BOOLEAN:
+        case CHAR:
+        case FALSE:
+        case IF:
+        case INT:
+        case NEW:
+        case NULL:
+        case RETURN:
+        case SUPER:
+        case THIS:
+        case TRUE:
+        case WHILE:
+        case LCURLY:
+        case LPAREN:
+        case SEMI:
+        case INC:
+        case LNOT:
+        case MINUS:
+        case IDENTIFIER:
+        case INT_LITERAL:
+        case CHAR_LITERAL:
+        case STRING_LITERAL:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[10] = jj_gen;
+          break label_6;
+        }
+        aStatement = blockStatement();
+statements.add(aStatement);
+      }
+      jj_consume_token(RCURLY);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JBlock(line, statements);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JStatement blockStatement() throws ParseException {JStatement statement = null;
+    try {
+      if (jj_2_4(2147483647)) {
+        statement = localVariableDeclarationStatement();
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case FALSE:
+        case IF:
+        case NEW:
+        case NULL:
+        case RETURN:
+        case SUPER:
+        case THIS:
+        case TRUE:
+        case WHILE:
+        case LCURLY:
+        case LPAREN:
+        case SEMI:
+        case INC:
+        case LNOT:
+        case MINUS:
+        case IDENTIFIER:
+        case INT_LITERAL:
+        case CHAR_LITERAL:
+        case STRING_LITERAL:{
+          statement = statement();
+          break;
+          }
+        default:
+          jj_la1[11] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return statement;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JStatement statement() throws ParseException {int line = 0;
+    JExpression expr      = null;
+    JStatement statement  = null;
+    JStatement consequent = null;
+    JStatement alternate  = null;
+    JStatement body       = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case LCURLY:{
+        statement = block();
+        break;
+        }
+      case IF:{
+        jj_consume_token(IF);
+line = token.beginLine;
+        expr = parExpression();
+        consequent = statement();
+        if (jj_2_5(2147483647)) {
+          jj_consume_token(ELSE);
+          alternate = statement();
+        } else {
+          ;
+        }
+statement = new JIfStatement(line, expr, consequent, alternate);
+        break;
+        }
+      case RETURN:{
+        jj_consume_token(RETURN);
+line = token.beginLine;
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case FALSE:
+        case NEW:
+        case NULL:
+        case SUPER:
+        case THIS:
+        case TRUE:
+        case LPAREN:
+        case INC:
+        case LNOT:
+        case MINUS:
+        case IDENTIFIER:
+        case INT_LITERAL:
+        case CHAR_LITERAL:
+        case STRING_LITERAL:{
+          expr = expression();
+          break;
+          }
+        default:
+          jj_la1[12] = jj_gen;
+          ;
+        }
+        jj_consume_token(SEMI);
+statement = new JReturnStatement(line, expr);
+        break;
+        }
+      case SEMI:{
+        jj_consume_token(SEMI);
+line = token.beginLine;
+            statement = new JEmptyStatement( line );
+        break;
+        }
+      case WHILE:{
+        jj_consume_token(WHILE);
+line = token.beginLine;
+        expr = parExpression();
+        body = statement();
+statement = new JWhileStatement(line, expr, body);
+        break;
+        }
+      case FALSE:
+      case NEW:
+      case NULL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case LPAREN:
+      case INC:
+      case LNOT:
+      case MINUS:
+      case IDENTIFIER:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        // Must be a statementExpression.
+                statement = statementExpression();
+        jj_consume_token(SEMI);
+        break;
+        }
+      default:
+        jj_la1[13] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return statement;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private ArrayList<JFormalParameter> formalParameters() throws ParseException {ArrayList<JFormalParameter> parameters = new ArrayList<>();
+    JFormalParameter aParameter = null;
+    try {
+      jj_consume_token(LPAREN);
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case BOOLEAN:
+      case CHAR:
+      case INT:
+      case IDENTIFIER:{
+        aParameter = formalParameter();
+parameters.add(aParameter);
+        label_7:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case COMMA:{
+            ;
+            break;
+            }
+          default:
+            jj_la1[14] = jj_gen;
+            break label_7;
+          }
+          jj_consume_token(COMMA);
+          aParameter = formalParameter();
+parameters.add(aParameter);
+        }
+        break;
+        }
+      default:
+        jj_la1[15] = jj_gen;
+        ;
+      }
+      jj_consume_token(RPAREN);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return parameters;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JFormalParameter formalParameter() throws ParseException {int line = 0;
+    Type type = null;
+    String name = "";
+    try {
+      type = type();
+line = token.beginLine;
+      jj_consume_token(IDENTIFIER);
+name = token.image;
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JFormalParameter(line, name, type);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression parExpression() throws ParseException {JExpression expr = null;
+    try {
+      jj_consume_token(LPAREN);
+      expr = expression();
+      jj_consume_token(RPAREN);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JVariableDeclaration localVariableDeclarationStatement() throws ParseException {int line = 0;
+    Type type = null;
+    ArrayList<JVariableDeclarator> vdecls = null;
+    try {
+      type = type();
+line = token.beginLine;
+      vdecls = variableDeclarators(type);
+      jj_consume_token(SEMI);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JVariableDeclaration(line, vdecls);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private ArrayList<JVariableDeclarator> variableDeclarators(Type type) throws ParseException {JVariableDeclarator aVariableDeclarator = null;
+    ArrayList<JVariableDeclarator> variableDeclarators = new ArrayList<>();
+    try {
+      aVariableDeclarator = variableDeclarator(type);
+variableDeclarators.add(aVariableDeclarator);
+      label_8:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case COMMA:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[16] = jj_gen;
+          break label_8;
+        }
+        jj_consume_token(COMMA);
+        aVariableDeclarator = variableDeclarator(type);
+variableDeclarators.add(aVariableDeclarator);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return variableDeclarators;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JVariableDeclarator variableDeclarator(Type type) throws ParseException {int line = 0;
+    JExpression initial = null;
+    String name = "";
+    try {
+      jj_consume_token(IDENTIFIER);
+line = token.beginLine;
+            name = token.image;
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case ASSIGN:{
+        jj_consume_token(ASSIGN);
+        initial = variableInitializer(type);
+        break;
+        }
+      default:
+        jj_la1[17] = jj_gen;
+        ;
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JVariableDeclarator(line, name, type, initial);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression variableInitializer(Type type) throws ParseException {JExpression initializer = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case LCURLY:{
+        initializer = arrayInitializer(type);
+        break;
+        }
+      case FALSE:
+      case NEW:
+      case NULL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case LPAREN:
+      case INC:
+      case LNOT:
+      case MINUS:
+      case IDENTIFIER:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        initializer = expression();
+        break;
+        }
+      default:
+        jj_la1[18] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return initializer;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JArrayInitializer arrayInitializer(Type type) throws ParseException {int line = 0;
+    ArrayList<JExpression> initials = new ArrayList<>();
+    JExpression anInitializer = null;
+    try {
+      jj_consume_token(LCURLY);
+line = token.beginLine;
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case FALSE:
+      case NEW:
+      case NULL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case LCURLY:
+      case LPAREN:
+      case INC:
+      case LNOT:
+      case MINUS:
+      case IDENTIFIER:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        anInitializer = variableInitializer(type.componentType());
+initials.add(anInitializer);
+        label_9:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case COMMA:{
+            ;
+            break;
+            }
+          default:
+            jj_la1[19] = jj_gen;
+            break label_9;
+          }
+          jj_consume_token(COMMA);
+          anInitializer = variableInitializer(type.componentType());
+initials.add(anInitializer);
+        }
+        break;
+        }
+      default:
+        jj_la1[20] = jj_gen;
+        ;
+      }
+      jj_consume_token(RCURLY);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JArrayInitializer(line, type, initials);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private ArrayList<JExpression> arguments() throws ParseException {ArrayList<JExpression> args = new ArrayList<>();
+    JExpression anExpression = null;
+    try {
+      jj_consume_token(LPAREN);
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case FALSE:
+      case NEW:
+      case NULL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case LPAREN:
+      case INC:
+      case LNOT:
+      case MINUS:
+      case IDENTIFIER:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        anExpression = expression();
+args.add(anExpression);
+        label_10:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case COMMA:{
+            ;
+            break;
+            }
+          default:
+            jj_la1[21] = jj_gen;
+            break label_10;
+          }
+          jj_consume_token(COMMA);
+          anExpression = expression();
+args.add(anExpression);
+        }
+        break;
+        }
+      default:
+        jj_la1[22] = jj_gen;
+        ;
+      }
+      jj_consume_token(RPAREN);
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return args;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private Type type() throws ParseException {Type type = null;
+    try {
+      if (jj_2_6(2147483647)) {
+        type = referenceType();
+      } else {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case BOOLEAN:
+        case CHAR:
+        case INT:{
+          type = basicType();
+          break;
+          }
+        default:
+          jj_la1[23] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return type;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private Type basicType() throws ParseException {Type type = Type.ANY;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case BOOLEAN:{
+        jj_consume_token(BOOLEAN);
+type = Type.BOOLEAN;
+        break;
+        }
+      case CHAR:{
+        jj_consume_token(CHAR);
+type = Type.CHAR;
+        break;
+        }
+      case INT:{
+        jj_consume_token(INT);
+type = Type.INT;
+        break;
+        }
+      default:
+        jj_la1[24] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+if (type == Type.ANY) {
+            reportParserError("type sought where %s found", token.image);
+        }
+        {if ("" != null) return type;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private Type referenceType() throws ParseException {Type type = Type.ANY;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case BOOLEAN:
+      case CHAR:
+      case INT:{
+        type = basicType();
+        jj_consume_token(LBRACK);
+        jj_consume_token(RBRACK);
+type = new ArrayTypeName(type);
+        label_11:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case LBRACK:{
+            ;
+            break;
+            }
+          default:
+            jj_la1[25] = jj_gen;
+            break label_11;
+          }
+          jj_consume_token(LBRACK);
+          jj_consume_token(RBRACK);
+type = new ArrayTypeName(type);
+        }
+        break;
+        }
+      case IDENTIFIER:{
+        type = qualifiedIdentifier();
+        label_12:
+        while (true) {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case LBRACK:{
+            ;
+            break;
+            }
+          default:
+            jj_la1[26] = jj_gen;
+            break label_12;
+          }
+          jj_consume_token(LBRACK);
+          jj_consume_token(RBRACK);
+type = new ArrayTypeName(type);
+        }
+        break;
+        }
+      default:
+        jj_la1[27] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return type;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JStatement statementExpression() throws ParseException {int line = 0;
+    JExpression expr = null;
+    try {
+      expr = expression();
+line = expr.line();
+            if (expr instanceof JAssignment
+             || expr instanceof JPreIncrementOp
+             || expr instanceof JPostIncrementOp
+             || expr instanceof JPreDecrementOp
+             || expr instanceof JPostDecrementOp
+             || expr instanceof JMessageExpression
+             || expr instanceof JSuperConstruction
+             || expr instanceof JThisConstruction
+             || expr instanceof JNewOp
+             || expr instanceof JNewArrayOp) {
+                // So as not to save on stack.
+                expr.isStatementExpression = true;
+            } else {
+                reportParserError("invalid statement expression; it does not have a side-effect");
+            }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JStatementExpression( line, expr );}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression expression() throws ParseException {JExpression expr = null;
+    try {
+      expr = assignmentExpression();
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression assignmentExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    try {
+      lhs = conditionalAndExpression();
+line = lhs.line();
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case ASSIGN:
+      case PLUS_ASSIGN:{
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case ASSIGN:{
+          jj_consume_token(ASSIGN);
+          rhs = assignmentExpression();
+lhs = new JAssignOp(line, lhs, rhs);
+          break;
+          }
+        case PLUS_ASSIGN:{
+          jj_consume_token(PLUS_ASSIGN);
+          rhs = assignmentExpression();
+lhs = new JPlusAssignOp(line, lhs, rhs);
+          break;
+          }
+        default:
+          jj_la1[28] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+        break;
+        }
+      default:
+        jj_la1[29] = jj_gen;
+        ;
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression conditionalAndExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    try {
+      lhs = equalityExpression();
+line = lhs.line();
+      label_13:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LAND:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[30] = jj_gen;
+          break label_13;
+        }
+        jj_consume_token(LAND);
+        rhs = equalityExpression();
+lhs = new JLogicalAndOp(line, lhs, rhs);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression equalityExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    try {
+      lhs = relationalExpression();
+line = lhs.line();
+      label_14:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case EQUAL:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[31] = jj_gen;
+          break label_14;
+        }
+        jj_consume_token(EQUAL);
+        rhs = relationalExpression();
+lhs = new JEqualOp(line, lhs, rhs);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression relationalExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    Type type = null;
+    try {
+      lhs = additiveExpression();
+line = lhs.line();
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case INSTANCEOF:
+      case GT:
+      case LE:{
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case GT:{
+          jj_consume_token(GT);
+          rhs = additiveExpression();
+lhs = new JGreaterThanOp(line, lhs, rhs);
+          break;
+          }
+        case LE:{
+          jj_consume_token(LE);
+          rhs = additiveExpression();
+lhs = new JLessEqualOp(line, lhs, rhs);
+          break;
+          }
+        case INSTANCEOF:{
+          jj_consume_token(INSTANCEOF);
+          type = referenceType();
+lhs = new JInstanceOfOp(line, lhs, type);
+          break;
+          }
+        default:
+          jj_la1[32] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+        break;
+        }
+      default:
+        jj_la1[33] = jj_gen;
+        ;
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression additiveExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    try {
+      lhs = multiplicativeExpression();
+line = lhs.line();
+      label_15:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case MINUS:
+        case PLUS:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[34] = jj_gen;
+          break label_15;
+        }
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case MINUS:{
+          jj_consume_token(MINUS);
+          rhs = multiplicativeExpression();
+lhs = new JSubtractOp(line, lhs, rhs);
+          break;
+          }
+        case PLUS:{
+          jj_consume_token(PLUS);
+          rhs = multiplicativeExpression();
+lhs = new JPlusOp(line, lhs, rhs);
+          break;
+          }
+        default:
+          jj_la1[35] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression multiplicativeExpression() throws ParseException {int line = 0;
+    JExpression lhs = null, rhs = null;
+    try {
+      lhs = unaryExpression();
+line = lhs.line();
+      label_16:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case STAR:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[36] = jj_gen;
+          break label_16;
+        }
+        jj_consume_token(STAR);
+        rhs = unaryExpression();
+lhs = new JMultiplyOp(line, lhs, rhs);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return lhs;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression unaryExpression() throws ParseException {int line = 0;
+    JExpression expr = null, unaryExpr = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case INC:{
+        jj_consume_token(INC);
+line = token.beginLine;
+        unaryExpr = unaryExpression();
+expr = new JPreIncrementOp(line, unaryExpr);
+        break;
+        }
+      case MINUS:{
+        jj_consume_token(MINUS);
+line = token.beginLine;
+        unaryExpr = unaryExpression();
+expr = new JNegateOp(line, unaryExpr);
+        break;
+        }
+      case FALSE:
+      case NEW:
+      case NULL:
+      case SUPER:
+      case THIS:
+      case TRUE:
+      case LPAREN:
+      case LNOT:
+      case IDENTIFIER:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        expr = simpleUnaryExpression();
+        break;
+        }
+      default:
+        jj_la1[37] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression simpleUnaryExpression() throws ParseException {int line = 0;
+    Type type = null;
+    JExpression expr = null, unaryExpr = null, simpleUnaryExpr = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case LNOT:{
+        jj_consume_token(LNOT);
+line = token.beginLine;
+        unaryExpr = unaryExpression();
+expr = new JLogicalNotOp(line, unaryExpr);
+        break;
+        }
+      default:
+        jj_la1[38] = jj_gen;
+        if (jj_2_7(2147483647)) {
+          jj_consume_token(LPAREN);
+line = token.beginLine;
+          type = basicType();
+          jj_consume_token(RPAREN);
+          unaryExpr = unaryExpression();
+expr = new JCastOp(line, type, unaryExpr);
+        } else if (jj_2_8(2147483647)) {
+          jj_consume_token(LPAREN);
+line = token.beginLine;
+          type = referenceType();
+          jj_consume_token(RPAREN);
+          simpleUnaryExpr = simpleUnaryExpression();
+expr = new JCastOp(line, type, simpleUnaryExpr);
+        } else {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case FALSE:
+          case NEW:
+          case NULL:
+          case SUPER:
+          case THIS:
+          case TRUE:
+          case LPAREN:
+          case IDENTIFIER:
+          case INT_LITERAL:
+          case CHAR_LITERAL:
+          case STRING_LITERAL:{
+            expr = postfixExpression();
+            break;
+            }
+          default:
+            jj_la1[39] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
+        }
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr ;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression postfixExpression() throws ParseException {int line = 0;
+    JExpression primaryExpr = null;
+    try {
+      primaryExpr = primary();
+line = primaryExpr.line();
+      label_17:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case DOT:
+        case LBRACK:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[40] = jj_gen;
+          break label_17;
+        }
+        primaryExpr = selector(primaryExpr);
+      }
+      label_18:
+      while (true) {
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case DEC:{
+          ;
+          break;
+          }
+        default:
+          jj_la1[41] = jj_gen;
+          break label_18;
+        }
+        jj_consume_token(DEC);
+primaryExpr = new JPostDecrementOp(line, primaryExpr);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return primaryExpr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression selector(JExpression target) throws ParseException {int line = 0;
+    ArrayList<JExpression> args = null;
+    TypeName id = null;
+    JExpression expr = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case DOT:{
+        jj_consume_token(DOT);
+line = token.beginLine;
+        id = qualifiedIdentifier();
+expr = new JFieldSelection(line, ambiguousPart(id), target, id.simpleName());
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LPAREN:{
+          args = arguments();
+expr = new JMessageExpression(line, target, ambiguousPart(id), id.simpleName(), args);
+          break;
+          }
+        default:
+          jj_la1[42] = jj_gen;
+          ;
+        }
+        break;
+        }
+      case LBRACK:{
+        jj_consume_token(LBRACK);
+line = token.beginLine;
+expr = new JArrayExpression(line, target, expression());
+        jj_consume_token(RBRACK);
+        break;
+        }
+      default:
+        jj_la1[43] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression primary() throws ParseException {int line = 0;
+    String name = "";
+    JExpression expr = null;
+    JExpression newTarget = null;
+    ArrayList<JExpression> args = null;
+    TypeName id = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case LPAREN:{
+        expr = parExpression();
+        break;
+        }
+      case NEW:{
+        jj_consume_token(NEW);
+        expr = creator();
+        break;
+        }
+      case THIS:{
+        jj_consume_token(THIS);
+line = token.beginLine;
+            expr = new JThis(line);
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LPAREN:{
+          args = arguments();
+expr = new JThisConstruction(line, args);
+          break;
+          }
+        default:
+          jj_la1[44] = jj_gen;
+          ;
+        }
+        break;
+        }
+      case SUPER:{
+        jj_consume_token(SUPER);
+line = token.beginLine;
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LPAREN:{
+          args = arguments();
+expr = new JSuperConstruction(line, args);
+          break;
+          }
+        case DOT:{
+          jj_consume_token(DOT);
+          jj_consume_token(IDENTIFIER);
+name = token.image;
+                newTarget = new JSuper(line);
+                expr = new JFieldSelection(line, newTarget, name);
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case LPAREN:{
+            args = arguments();
+expr = new JMessageExpression(line, newTarget, null, name, args);
+            break;
+            }
+          default:
+            jj_la1[45] = jj_gen;
+            ;
+          }
+          break;
+          }
+        default:
+          jj_la1[46] = jj_gen;
+          jj_consume_token(-1);
+          throw new ParseException();
+        }
+        break;
+        }
+      case IDENTIFIER:{
+        // Language is ambiguous here. JavaCC is unable to choose between qualifiedIdentifier and
+                // selector. Semantic analysis will sort it out.
+                id = qualifiedIdentifier();
+line = id.line();
+            if (ambiguousPart(id) == null) {
+                expr = new JVariable(line, id.simpleName());
+            } else {
+                expr = new JFieldSelection(line, ambiguousPart(id), null, id.simpleName());
+            }
+        switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+        case LPAREN:{
+          args = arguments();
+expr = new JMessageExpression(line, null, ambiguousPart(id), id.simpleName(), args);
+          break;
+          }
+        default:
+          jj_la1[47] = jj_gen;
+          ;
+        }
+        break;
+        }
+      case FALSE:
+      case NULL:
+      case TRUE:
+      case INT_LITERAL:
+      case CHAR_LITERAL:
+      case STRING_LITERAL:{
+        expr = literal();
+        break;
+        }
+      default:
+        jj_la1[48] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression creator() throws ParseException {int line = 0;
+    Type type = null;
+    ArrayList<JExpression> args = null;
+    ArrayList<JExpression> dims = null;
+    JArrayInitializer init =  null;
+    JExpression expr = null;
+    Type expected = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case BOOLEAN:
+      case CHAR:
+      case INT:{
+        type = basicType();
+        break;
+        }
+      case IDENTIFIER:{
+        type = qualifiedIdentifier();
+        break;
+        }
+      default:
+        jj_la1[49] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+line = token.beginLine;
+            expected = type;
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case LPAREN:{
+        args = arguments();
+expr = new JNewOp(line, type, args);
+        break;
+        }
+      default:
+        jj_la1[51] = jj_gen;
+        if (jj_2_10(2147483647)) {
+          jj_consume_token(LBRACK);
+          jj_consume_token(RBRACK);
+expected = new ArrayTypeName(expected);
+          label_19:
+          while (true) {
+            if (jj_2_9(2147483647)) {
+              ;
+            } else {
+              break label_19;
+            }
+            jj_consume_token(LBRACK);
+            jj_consume_token(RBRACK);
+expected = new ArrayTypeName(expected);
+          }
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case LCURLY:{
+            expr = arrayInitializer(expected);
+            break;
+            }
+          default:
+            jj_la1[50] = jj_gen;
+            ;
+          }
+        } else {
+          switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+          case LBRACK:{
+            expr = newArrayDeclarator(type);
+            break;
+            }
+          default:
+            jj_la1[52] = jj_gen;
+            jj_consume_token(-1);
+            throw new ParseException();
+          }
+        }
+      }
+    } catch (ParseException e) {
+expr = new JWildExpression(token.beginLine);
+        recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JNewArrayOp newArrayDeclarator(Type type) throws ParseException {int line = 0;
+    ArrayList<JExpression> dimensions = new ArrayList<>();
+    JExpression expr = null;
+    try {
+      jj_consume_token(LBRACK);
+line = token.beginLine;
+      expr = expression();
+dimensions.add(expr);
+            type = new ArrayTypeName(type);
+      jj_consume_token(RBRACK);
+      label_20:
+      while (true) {
+        if (jj_2_11(2147483647)) {
+          ;
+        } else {
+          break label_20;
+        }
+        jj_consume_token(LBRACK);
+        expr = expression();
+dimensions.add(expr);
+                type = new ArrayTypeName(type);
+        jj_consume_token(RBRACK);
+      }
+      label_21:
+      while (true) {
+        if (jj_2_12(2147483647)) {
+          ;
+        } else {
+          break label_21;
+        }
+        jj_consume_token(LBRACK);
+        jj_consume_token(RBRACK);
+type = new ArrayTypeName(type);
+      }
+    } catch (ParseException e) {
+recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return new JNewArrayOp(line, type, dimensions);}
+    throw new Error("Missing return statement in function");
+}
+
+  final private JExpression literal() throws ParseException {JExpression expr = null;
+    try {
+      switch ((jj_ntk==-1)?jj_ntk_f():jj_ntk) {
+      case CHAR_LITERAL:{
+        jj_consume_token(CHAR_LITERAL);
+expr = new JLiteralChar(token.beginLine, token.image);
+        break;
+        }
+      case FALSE:{
+        jj_consume_token(FALSE);
+expr = new JLiteralBoolean(token.beginLine, token.image);
+        break;
+        }
+      case INT_LITERAL:{
+        jj_consume_token(INT_LITERAL);
+expr = new JLiteralInt(token.beginLine, token.image);
+        break;
+        }
+      case NULL:{
+        jj_consume_token(NULL);
+expr = new JLiteralNull(token.beginLine);
+        break;
+        }
+      case STRING_LITERAL:{
+        jj_consume_token(STRING_LITERAL);
+expr = new JLiteralString(token.beginLine, token.image);
+        break;
+        }
+      case TRUE:{
+        jj_consume_token(TRUE);
+expr = new JLiteralBoolean(token.beginLine, token.image);
+        break;
+        }
+      default:
+        jj_la1[53] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    } catch (ParseException e) {
+expr = new JWildExpression(token.beginLine);
+        recoverFromError(new int[] { SEMI, EOF }, e);
+    }
+{if ("" != null) return expr;}
+    throw new Error("Missing return statement in function");
+}
+
+  private boolean jj_2_1(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_1()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(0, xla); }
+  }
+
+  private boolean jj_2_2(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_2()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(1, xla); }
+  }
+
+  private boolean jj_2_3(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_3()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(2, xla); }
+  }
+
+  private boolean jj_2_4(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_4()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(3, xla); }
+  }
+
+  private boolean jj_2_5(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_5()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(4, xla); }
+  }
+
+  private boolean jj_2_6(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_6()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(5, xla); }
+  }
+
+  private boolean jj_2_7(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_7()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(6, xla); }
+  }
+
+  private boolean jj_2_8(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_8()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(7, xla); }
+  }
+
+  private boolean jj_2_9(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_9()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(8, xla); }
+  }
+
+  private boolean jj_2_10(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_10()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(9, xla); }
+  }
+
+  private boolean jj_2_11(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_11()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(10, xla); }
+  }
+
+  private boolean jj_2_12(int xla)
+ {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return (!jj_3_12()); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(11, xla); }
+  }
+
+  private boolean jj_3R_postfixExpression_1323_13_70()
+ {
+    if (jj_scan_token(DEC)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_newArrayDeclarator_1519_5_103()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_3R_expression_1028_5_27()) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_newArrayDeclarator_1529_13_106()) { jj_scanpos = xsp; break; }
+    }
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_newArrayDeclarator_1539_13_107()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_postfixExpression_1320_13_69()
+ {
+    if (jj_3R_selector_1351_5_77()) return true;
+    return false;
+  }
+
+  private boolean jj_3_4()
+ {
+    if (jj_3R_type_897_5_23()) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_postfixExpression_1316_5_67()
+ {
+    if (jj_3R_primary_1394_5_68()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_postfixExpression_1320_13_69()) { jj_scanpos = xsp; break; }
+    }
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_postfixExpression_1323_13_70()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3_9()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_equalityExpression_1116_13_47()
+ {
+    if (jj_scan_token(EQUAL)) return true;
+    if (jj_3R_relationalExpression_1143_5_46()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_basicType_926_9_32()
+ {
+    if (jj_scan_token(INT)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1490_16_102()
+ {
+    if (jj_3R_arrayInitializer_831_5_105()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_basicType_924_9_31()
+ {
+    if (jj_scan_token(CHAR)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1492_13_91()
+ {
+    if (jj_3R_newArrayDeclarator_1519_5_103()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_null_898_34_24()
+ {
+    if (jj_3R_basicType_921_5_25()) return true;
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_basicType_922_9_30()
+ {
+    if (jj_scan_token(BOOLEAN)) return true;
+    return false;
+  }
+
+  private boolean jj_3_10()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1485_17_101()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_basicType_921_5_25()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_basicType_922_9_30()) {
+    jj_scanpos = xsp;
+    if (jj_3R_basicType_924_9_31()) {
+    jj_scanpos = xsp;
+    if (jj_3R_basicType_926_9_32()) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_equalityExpression_1112_5_42()
+ {
+    if (jj_3R_relationalExpression_1143_5_46()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_equalityExpression_1116_13_47()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3_8()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_referenceType_954_5_26()) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1481_13_90()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_creator_1485_17_101()) { jj_scanpos = xsp; break; }
+    }
+    xsp = jj_scanpos;
+    if (jj_3R_creator_1490_16_102()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3R_simpleUnaryExpression_1294_9_66()
+ {
+    if (jj_3R_postfixExpression_1316_5_67()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1479_13_89()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3_6()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(54)) {
+    jj_scanpos = xsp;
+    if (jj_3R_null_898_34_24()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3_7()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_basicType_921_5_25()) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_simpleUnaryExpression_1287_9_65()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_referenceType_954_5_26()) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    if (jj_3R_simpleUnaryExpression_1275_5_62()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1472_13_88()
+ {
+    if (jj_3R_qualifiedIdentifier_255_5_37()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_creator_1471_13_87()
+ {
+    if (jj_3R_basicType_921_5_25()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_type_900_9_29()
+ {
+    if (jj_3R_basicType_921_5_25()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_conditionalAndExpression_1087_13_43()
+ {
+    if (jj_scan_token(LAND)) return true;
+    if (jj_3R_equalityExpression_1112_5_42()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_type_898_9_28()
+ {
+    if (jj_3R_referenceType_954_5_26()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_simpleUnaryExpression_1280_9_64()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_basicType_921_5_25()) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_simpleUnaryExpression_1276_9_63()
+ {
+    if (jj_scan_token(LNOT)) return true;
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_type_897_5_23()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_type_898_9_28()) {
+    jj_scanpos = xsp;
+    if (jj_3R_type_900_9_29()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_creator_1469_5_79()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_creator_1471_13_87()) {
+    jj_scanpos = xsp;
+    if (jj_3R_creator_1472_13_88()) return true;
+    }
+    xsp = jj_scanpos;
+    if (jj_3R_creator_1479_13_89()) {
+    jj_scanpos = xsp;
+    if (jj_3R_creator_1481_13_90()) {
+    jj_scanpos = xsp;
+    if (jj_3R_creator_1492_13_91()) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_simpleUnaryExpression_1275_5_62()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_simpleUnaryExpression_1276_9_63()) {
+    jj_scanpos = xsp;
+    if (jj_3R_simpleUnaryExpression_1280_9_64()) {
+    jj_scanpos = xsp;
+    if (jj_3R_simpleUnaryExpression_1287_9_65()) {
+    jj_scanpos = xsp;
+    if (jj_3R_simpleUnaryExpression_1294_9_66()) return true;
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_conditionalAndExpression_1083_5_39()
+ {
+    if (jj_3R_equalityExpression_1112_5_42()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_conditionalAndExpression_1087_13_43()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_arguments_871_17_108()
+ {
+    if (jj_scan_token(COMMA)) return true;
+    if (jj_3R_expression_1028_5_27()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_parExpression_690_5_78()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_expression_1028_5_27()) return true;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_null_471_29_22()
+ {
+    if (jj_3R_type_897_5_23()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_arguments_868_13_104()
+ {
+    if (jj_3R_expression_1028_5_27()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_arguments_871_17_108()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_assignmentExpression_1058_13_45()
+ {
+    if (jj_scan_token(PLUS_ASSIGN)) return true;
+    if (jj_3R_assignmentExpression_1051_5_35()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_assignmentExpression_1055_13_44()
+ {
+    if (jj_scan_token(ASSIGN)) return true;
+    if (jj_3R_assignmentExpression_1051_5_35()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_assignmentExpression_1055_13_40()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_assignmentExpression_1055_13_44()) {
+    jj_scanpos = xsp;
+    if (jj_3R_assignmentExpression_1058_13_45()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_unaryExpression_1249_9_61()
+ {
+    if (jj_3R_simpleUnaryExpression_1275_5_62()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1435_13_83()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1438_9_76()
+ {
+    if (jj_3R_literal_1563_5_84()) return true;
+    return false;
+  }
+
+  private boolean jj_3_3()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(31)) {
+    jj_scanpos = xsp;
+    if (jj_3R_null_471_29_22()) return true;
+    }
+    if (jj_scan_token(IDENTIFIER)) return true;
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_unaryExpression_1245_9_60()
+ {
+    if (jj_scan_token(MINUS)) return true;
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_arguments_865_5_92()
+ {
+    if (jj_scan_token(LPAREN)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_arguments_868_13_104()) jj_scanpos = xsp;
+    if (jj_scan_token(RPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_unaryExpression_1241_9_59()
+ {
+    if (jj_scan_token(INC)) return true;
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_assignmentExpression_1051_5_35()
+ {
+    if (jj_3R_conditionalAndExpression_1083_5_39()) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_assignmentExpression_1055_13_40()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1419_17_93()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3_2()
+ {
+    if (jj_scan_token(IDENTIFIER)) return true;
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_unaryExpression_1240_5_55()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_unaryExpression_1241_9_59()) {
+    jj_scanpos = xsp;
+    if (jj_3R_unaryExpression_1245_9_60()) {
+    jj_scanpos = xsp;
+    if (jj_3R_unaryExpression_1249_9_61()) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_primary_1425_9_75()
+ {
+    if (jj_3R_qualifiedIdentifier_255_5_37()) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_primary_1435_13_83()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3_1()
+ {
+    if (jj_scan_token(DOT)) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_arrayInitializer_838_17_111()
+ {
+    if (jj_scan_token(COMMA)) return true;
+    if (jj_3R_variableInitializer_805_5_110()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1412_13_82()
+ {
+    if (jj_scan_token(DOT)) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_primary_1419_17_93()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1410_13_81()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_qualifiedIdentifier_263_13_41()
+ {
+    if (jj_scan_token(DOT)) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_arrayInitializer_835_13_109()
+ {
+    if (jj_3R_variableInitializer_805_5_110()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_arrayInitializer_838_17_111()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_multiplicativeExpression_1213_13_56()
+ {
+    if (jj_scan_token(STAR)) return true;
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1404_13_80()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1407_9_74()
+ {
+    if (jj_scan_token(SUPER)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_primary_1410_13_81()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1412_13_82()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_expression_1028_5_27()
+ {
+    if (jj_3R_assignmentExpression_1051_5_35()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_arrayInitializer_831_5_105()
+ {
+    if (jj_scan_token(LCURLY)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_arrayInitializer_835_13_109()) jj_scanpos = xsp;
+    if (jj_scan_token(RCURLY)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1398_9_73()
+ {
+    if (jj_scan_token(THIS)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_primary_1404_13_80()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3R_qualifiedIdentifier_255_5_37()
+ {
+    if (jj_scan_token(IDENTIFIER)) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_qualifiedIdentifier_263_13_41()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_multiplicativeExpression_1209_5_50()
+ {
+    if (jj_3R_unaryExpression_1240_5_55()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_multiplicativeExpression_1213_13_56()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_primary_1396_9_72()
+ {
+    if (jj_scan_token(NEW)) return true;
+    if (jj_3R_creator_1469_5_79()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1395_9_71()
+ {
+    if (jj_3R_parExpression_690_5_78()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_primary_1394_5_68()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_primary_1395_9_71()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1396_9_72()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1398_9_73()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1407_9_74()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1425_9_75()) {
+    jj_scanpos = xsp;
+    if (jj_3R_primary_1438_9_76()) return true;
+    }
+    }
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_literal_1574_9_99()
+ {
+    if (jj_scan_token(TRUE)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_literal_1572_9_98()
+ {
+    if (jj_scan_token(STRING_LITERAL)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_variableInitializer_807_9_113()
+ {
+    if (jj_3R_expression_1028_5_27()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_variableInitializer_806_9_112()
+ {
+    if (jj_3R_arrayInitializer_831_5_105()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_literal_1570_9_97()
+ {
+    if (jj_scan_token(NULL)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_additiveExpression_1184_13_58()
+ {
+    if (jj_scan_token(PLUS)) return true;
+    if (jj_3R_multiplicativeExpression_1209_5_50()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_literal_1568_9_96()
+ {
+    if (jj_scan_token(INT_LITERAL)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_additiveExpression_1181_13_51()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_additiveExpression_1181_13_57()) {
+    jj_scanpos = xsp;
+    if (jj_3R_additiveExpression_1184_13_58()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_additiveExpression_1181_13_57()
+ {
+    if (jj_scan_token(MINUS)) return true;
+    if (jj_3R_multiplicativeExpression_1209_5_50()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_literal_1566_9_95()
+ {
+    if (jj_scan_token(FALSE)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_variableInitializer_805_5_110()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_variableInitializer_806_9_112()) {
+    jj_scanpos = xsp;
+    if (jj_3R_variableInitializer_807_9_113()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_literal_1564_9_94()
+ {
+    if (jj_scan_token(CHAR_LITERAL)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_literal_1563_5_84()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_literal_1564_9_94()) {
+    jj_scanpos = xsp;
+    if (jj_3R_literal_1566_9_95()) {
+    jj_scanpos = xsp;
+    if (jj_3R_literal_1568_9_96()) {
+    jj_scanpos = xsp;
+    if (jj_3R_literal_1570_9_97()) {
+    jj_scanpos = xsp;
+    if (jj_3R_literal_1572_9_98()) {
+    jj_scanpos = xsp;
+    if (jj_3R_literal_1574_9_99()) return true;
+    }
+    }
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_additiveExpression_1177_5_48()
+ {
+    if (jj_3R_multiplicativeExpression_1209_5_50()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_additiveExpression_1181_13_51()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3_5()
+ {
+    if (jj_scan_token(ELSE)) return true;
+    return false;
+  }
+
+  private boolean jj_3_12()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_selector_1357_13_100()
+ {
+    if (jj_3R_arguments_865_5_92()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_selector_1360_9_86()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_newArrayDeclarator_1539_13_107()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_selector_1352_9_85()
+ {
+    if (jj_scan_token(DOT)) return true;
+    if (jj_3R_qualifiedIdentifier_255_5_37()) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_selector_1357_13_100()) jj_scanpos = xsp;
+    return false;
+  }
+
+  private boolean jj_3_11()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_3R_expression_1028_5_27()) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_referenceType_964_13_38()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_relationalExpression_1152_13_54()
+ {
+    if (jj_scan_token(INSTANCEOF)) return true;
+    if (jj_3R_referenceType_954_5_26()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_selector_1351_5_77()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_selector_1352_9_85()) {
+    jj_scanpos = xsp;
+    if (jj_3R_selector_1360_9_86()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_referenceType_959_13_36()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_referenceType_962_9_34()
+ {
+    if (jj_3R_qualifiedIdentifier_255_5_37()) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_referenceType_964_13_38()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_relationalExpression_1149_13_53()
+ {
+    if (jj_scan_token(LE)) return true;
+    if (jj_3R_additiveExpression_1177_5_48()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_newArrayDeclarator_1529_13_106()
+ {
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_3R_expression_1028_5_27()) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_relationalExpression_1146_13_49()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_relationalExpression_1146_13_52()) {
+    jj_scanpos = xsp;
+    if (jj_3R_relationalExpression_1149_13_53()) {
+    jj_scanpos = xsp;
+    if (jj_3R_relationalExpression_1152_13_54()) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_relationalExpression_1146_13_52()
+ {
+    if (jj_scan_token(GT)) return true;
+    if (jj_3R_additiveExpression_1177_5_48()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_referenceType_955_9_33()
+ {
+    if (jj_3R_basicType_921_5_25()) return true;
+    if (jj_scan_token(LBRACK)) return true;
+    if (jj_scan_token(RBRACK)) return true;
+    Token xsp;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_referenceType_959_13_36()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_referenceType_954_5_26()
+ {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_referenceType_955_9_33()) {
+    jj_scanpos = xsp;
+    if (jj_3R_referenceType_962_9_34()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_relationalExpression_1143_5_46()
+ {
+    if (jj_3R_additiveExpression_1177_5_48()) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_relationalExpression_1146_13_49()) jj_scanpos = xsp;
+    return false;
+  }
+
+  /** Generated Token Manager. */
+  public JavaCCParserTokenManager token_source;
+  SimpleCharStream jj_input_stream;
+  /** Current token. */
+  public Token token;
+  /** Next token. */
+  public Token jj_nt;
+  private int jj_ntk;
+  private Token jj_scanpos, jj_lastpos;
+  private int jj_la;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[54];
+  static private int[] jj_la1_0;
+  static private int[] jj_la1_1;
+  static {
+	   jj_la1_init_0();
+	   jj_la1_init_1();
+	}
+	private static void jj_la1_init_0() {
+	   jj_la1_0 = new int[] {0x400000,0x20000,0xb801200,0xb800200,0xb800200,0x4000,0x8b880e00,0x80080c00,0x0,0x80c00,0x74398c00,0x74318000,0x70308000,0x74318000,0x0,0x80c00,0x0,0x0,0x70308000,0x0,0x70308000,0x0,0x70308000,0x80c00,0x80c00,0x0,0x0,0x80c00,0x0,0x0,0x0,0x0,0x40000,0x40000,0x0,0x0,0x0,0x70308000,0x0,0x70308000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x70308000,0x80c00,0x0,0x0,0x0,0x40208000,};
+	}
+	private static void jj_la1_init_1() {
+	   jj_la1_1 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x400000,0x400000,0x210,0x400000,0xe464231,0xe464231,0xe464020,0xe464231,0x2,0x400000,0x2,0x400,0xe464030,0x2,0xe464030,0x2,0xe464020,0x0,0x0,0x8,0x8,0x400000,0x100400,0x100400,0x8000,0x1000,0x12000,0x12000,0xc0000,0xc0000,0x200000,0xe464020,0x20000,0xe400020,0xc,0x800,0x20,0xc,0x20,0x20,0x24,0x20,0xe400020,0x400000,0x10,0x20,0x8,0xe000000,};
+	}
+  final private JJCalls[] jj_2_rtns = new JJCalls[12];
+  private boolean jj_rescan = false;
+  private int jj_gc = 0;
+
+  /** Constructor with InputStream. */
+  public JavaCCParser(java.io.InputStream stream) {
+	  this(stream, null);
+  }
+  /** Constructor with InputStream and supplied encoding */
+  public JavaCCParser(java.io.InputStream stream, String encoding) {
+	 try { jj_input_stream = new SimpleCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
+	 token_source = new JavaCCParserTokenManager(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(java.io.InputStream stream) {
+	  ReInit(stream, null);
+  }
+  /** Reinitialise. */
+  public void ReInit(java.io.InputStream stream, String encoding) {
+	 try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
+	 token_source.ReInit(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Constructor. */
+  public JavaCCParser(java.io.Reader stream) {
+	 jj_input_stream = new SimpleCharStream(stream, 1, 1);
+	 token_source = new JavaCCParserTokenManager(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(java.io.Reader stream) {
+	if (jj_input_stream == null) {
+	   jj_input_stream = new SimpleCharStream(stream, 1, 1);
+	} else {
+	   jj_input_stream.ReInit(stream, 1, 1);
+	}
+	if (token_source == null) {
+ token_source = new JavaCCParserTokenManager(jj_input_stream);
+	}
+
+	 token_source.ReInit(jj_input_stream);
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Constructor with generated Token Manager. */
+  public JavaCCParser(JavaCCParserTokenManager tm) {
+	 token_source = tm;
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  /** Reinitialise. */
+  public void ReInit(JavaCCParserTokenManager tm) {
+	 token_source = tm;
+	 token = new Token();
+	 jj_ntk = -1;
+	 jj_gen = 0;
+	 for (int i = 0; i < 54; i++) jj_la1[i] = -1;
+	 for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+  }
+
+  private Token jj_consume_token(int kind) throws ParseException {
+	 Token oldToken;
+	 if ((oldToken = token).next != null) token = token.next;
+	 else token = token.next = token_source.getNextToken();
+	 jj_ntk = -1;
+	 if (token.kind == kind) {
+	   jj_gen++;
+	   if (++jj_gc > 100) {
+		 jj_gc = 0;
+		 for (int i = 0; i < jj_2_rtns.length; i++) {
+		   JJCalls c = jj_2_rtns[i];
+		   while (c != null) {
+			 if (c.gen < jj_gen) c.first = null;
+			 c = c.next;
+		   }
+		 }
+	   }
+	   return token;
+	 }
+	 token = oldToken;
+	 jj_kind = kind;
+	 throw generateParseException();
+  }
+
+  @SuppressWarnings("serial")
+  static private final class LookaheadSuccess extends java.lang.Error {
+    @Override
+    public Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+  static private final LookaheadSuccess jj_ls = new LookaheadSuccess();
+  private boolean jj_scan_token(int kind) {
+	 if (jj_scanpos == jj_lastpos) {
+	   jj_la--;
+	   if (jj_scanpos.next == null) {
+		 jj_lastpos = jj_scanpos = jj_scanpos.next = token_source.getNextToken();
+	   } else {
+		 jj_lastpos = jj_scanpos = jj_scanpos.next;
+	   }
+	 } else {
+	   jj_scanpos = jj_scanpos.next;
+	 }
+	 if (jj_rescan) {
+	   int i = 0; Token tok = token;
+	   while (tok != null && tok != jj_scanpos) { i++; tok = tok.next; }
+	   if (tok != null) jj_add_error_token(kind, i);
+	 }
+	 if (jj_scanpos.kind != kind) return true;
+	 if (jj_la == 0 && jj_scanpos == jj_lastpos) throw jj_ls;
+	 return false;
+  }
+
+
+/** Get the next Token. */
+  final public Token getNextToken() {
+	 if (token.next != null) token = token.next;
+	 else token = token.next = token_source.getNextToken();
+	 jj_ntk = -1;
+	 jj_gen++;
+	 return token;
+  }
+
+/** Get the specific Token. */
+  final public Token getToken(int index) {
+	 Token t = token;
+	 for (int i = 0; i < index; i++) {
+	   if (t.next != null) t = t.next;
+	   else t = t.next = token_source.getNextToken();
+	 }
+	 return t;
+  }
+
+  private int jj_ntk_f() {
+	 if ((jj_nt=token.next) == null)
+	   return (jj_ntk = (token.next=token_source.getNextToken()).kind);
+	 else
+	   return (jj_ntk = jj_nt.kind);
+  }
+
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
+  private int[] jj_lasttokens = new int[100];
+  private int jj_endpos;
+
+  private void jj_add_error_token(int kind, int pos) {
+	 if (pos >= 100) {
+		return;
+	 }
+
+	 if (pos == jj_endpos + 1) {
+	   jj_lasttokens[jj_endpos++] = kind;
+	 } else if (jj_endpos != 0) {
+	   jj_expentry = new int[jj_endpos];
+
+	   for (int i = 0; i < jj_endpos; i++) {
+		 jj_expentry[i] = jj_lasttokens[i];
+	   }
+
+	   for (int[] oldentry : jj_expentries) {
+		 if (oldentry.length == jj_expentry.length) {
+		   boolean isMatched = true;
+
+		   for (int i = 0; i < jj_expentry.length; i++) {
+			 if (oldentry[i] != jj_expentry[i]) {
+			   isMatched = false;
+			   break;
+			 }
+
+		   }
+		   if (isMatched) {
+			 jj_expentries.add(jj_expentry);
+			 break;
+		   }
+		 }
+	   }
+
+	   if (pos != 0) {
+		 jj_lasttokens[(jj_endpos = pos) - 1] = kind;
+	   }
+	 }
+  }
+
+  /** Generate ParseException. */
+  public ParseException generateParseException() {
+	 jj_expentries.clear();
+	 boolean[] la1tokens = new boolean[63];
+	 if (jj_kind >= 0) {
+	   la1tokens[jj_kind] = true;
+	   jj_kind = -1;
+	 }
+	 for (int i = 0; i < 54; i++) {
+	   if (jj_la1[i] == jj_gen) {
+		 for (int j = 0; j < 32; j++) {
+		   if ((jj_la1_0[i] & (1<<j)) != 0) {
+			 la1tokens[j] = true;
+		   }
+		   if ((jj_la1_1[i] & (1<<j)) != 0) {
+			 la1tokens[32+j] = true;
+		   }
+		 }
+	   }
+	 }
+	 for (int i = 0; i < 63; i++) {
+	   if (la1tokens[i]) {
+		 jj_expentry = new int[1];
+		 jj_expentry[0] = i;
+		 jj_expentries.add(jj_expentry);
+	   }
+	 }
+	 jj_endpos = 0;
+	 jj_rescan_token();
+	 jj_add_error_token(0, 0);
+	 int[][] exptokseq = new int[jj_expentries.size()][];
+	 for (int i = 0; i < jj_expentries.size(); i++) {
+	   exptokseq[i] = jj_expentries.get(i);
+	 }
+	 return new ParseException(token, exptokseq, tokenImage);
+  }
+
+  private boolean trace_enabled;
+
+/** Trace enabled. */
+  final public boolean trace_enabled() {
+	 return trace_enabled;
+  }
+
+  /** Enable tracing. */
+  final public void enable_tracing() {
+  }
+
+  /** Disable tracing. */
+  final public void disable_tracing() {
+  }
+
+  private void jj_rescan_token() {
+	 jj_rescan = true;
+	 for (int i = 0; i < 12; i++) {
+	   try {
+		 JJCalls p = jj_2_rtns[i];
+
+		 do {
+		   if (p.gen > jj_gen) {
+			 jj_la = p.arg; jj_lastpos = jj_scanpos = p.first;
+			 switch (i) {
+			   case 0: jj_3_1(); break;
+			   case 1: jj_3_2(); break;
+			   case 2: jj_3_3(); break;
+			   case 3: jj_3_4(); break;
+			   case 4: jj_3_5(); break;
+			   case 5: jj_3_6(); break;
+			   case 6: jj_3_7(); break;
+			   case 7: jj_3_8(); break;
+			   case 8: jj_3_9(); break;
+			   case 9: jj_3_10(); break;
+			   case 10: jj_3_11(); break;
+			   case 11: jj_3_12(); break;
+			 }
+		   }
+		   p = p.next;
+		 } while (p != null);
+
+		 } catch(LookaheadSuccess ls) { }
+	 }
+	 jj_rescan = false;
+  }
+
+  private void jj_save(int index, int xla) {
+	 JJCalls p = jj_2_rtns[index];
+	 while (p.gen > jj_gen) {
+	   if (p.next == null) { p = p.next = new JJCalls(); break; }
+	   p = p.next;
+	 }
+
+	 p.gen = jj_gen + xla - jj_la; 
+	 p.first = token;
+	 p.arg = xla;
+  }
+
+  static final class JJCalls {
+	 int gen;
+	 Token first;
+	 int arg;
+	 JJCalls next;
+  }
+
+}
@@ -1,28 +1,60 @@
 package jminusminus;
 
 import java.io.FileNotFoundException;
-import java.util.Stack;
-import java.util.Vector;
+import java.io.Reader;
+import java.util.Arrays;
 
 /**
  * A lexical analyzer for j-- that interfaces with the hand-written parser (Parser). It provides a backtracking
  * mechanism, and makes use of the underlying hand-written scanner (Scanner).
+ * <p>
+ * The tokens scanned are kept in an array, along with the index of the current token in it. Recording a position
+ * pushes that index on a stack of marks, and returning to the position pops it, so looking ahead (however deeply
+ * nested) neither allocates nor copies tokens. When no position is recorded and no tokens are buffered ahead of the
+ * current one, the array is emptied (but for the current token), so it holds only the tokens of the longest
+ * lookahead.
+ * <p>
+ * Alternatively, a LookaheadScanner can read the tokens from a compact buffer (TokenBuffer) of all the tokens in the
+ * source, in which case positions are indices in that buffer, and a TokenInfo object is materialized only for the
+ * current (and previous) token. Such a scanner can skip a block without materializing its tokens, and another one can
+ * later be started at the block for parsing it (see JLazyBlock).
  */
 class LookaheadScanner {
-    // The underlying hand-written scanner.
+    // Number of tokens materialized from the buffer that are remembered.
+    private static final int RECENT_TOKENS = 64;
+
+    // The underlying hand-written scanner, or null if the tokens are read from a buffer.
     private final Scanner scanner;
 
-    // Backtracking queue.
-    private Vector<TokenInfo> backtrackingQueue;
+    // Buffer from which the tokens are read, or null if they are scanned on demand.
+    private final TokenBuffer buffer;
+
+    // Tokens most recently materialized from the buffer, each at (its index in the buffer) % RECENT_TOKENS, so that
+    // returning to a recorded position does not materialize the tokens again.
+    private final TokenInfo[] recentTokens;
+
+    // Indices in the buffer of the tokens in recentTokens.
+    private final int[] recentIndices;
+
+    // Tokens scanned; tokens[position] is the current token, and tokens[position - 1] (if position > 0) the previous
+    // one. Not used if the tokens are read from a buffer.
+    private TokenInfo[] tokens;
+
+    // Number of tokens in the tokens array.
+    private int count;
 
-    // Token queue.
-    private Vector<TokenInfo> nextQueue;
+    // Index of the current token in the tokens array, or (if the tokens are read from a buffer) one more than its
+    // index in the buffer.
+    private int position;
 
-    // Stack of token queues for nested lookahead.
-    private final Stack<Vector<TokenInfo>> queueStack;
+    // Number of tokens discarded from the front of the tokens array.
+    private int discarded;
 
-    // Whether we are looking ahead.
-    private boolean isLookingAhead;
+    // Stack of recorded positions, for nested lookahead.
+    private int[] marks;
+
+    // Number of recorded positions.
+    private int markCount;
 
     // Previous token.
     private TokenInfo previousToken;
@@ -30,6 +62,9 @@ class LookaheadScanner {
     // Current token.
     private TokenInfo token;
 
+    // Measures the scanning of tokens (for the -timings report), or null.
+    private Timings.Accumulator scanTimes;
+
     /**
      * Constructs a LookaheadScanner.
      *
@@ -37,54 +72,162 @@ class LookaheadScanner {
      * @throws FileNotFoundException when the named file cannot be found.
      */
     public LookaheadScanner(String fileName) throws FileNotFoundException {
-        scanner = new Scanner(fileName);
-        backtrackingQueue = new Vector<>();
-        nextQueue = new Vector<>();
-        queueStack = new Stack<>();
-        isLookingAhead = false;
+        this(new Scanner(fileName));
+    }
+
+    /**
+     * Constructs a LookaheadScanner that interns the identifiers in the specified table.
+     *
+     * @param fileName the name of the file containing the source.
+     * @param names    the table in which the identifiers are interned.
+     * @throws FileNotFoundException when the named file cannot be found.
+     */
+    public LookaheadScanner(String fileName, Names names) throws FileNotFoundException {
+        this(new Scanner(fileName, names));
+    }
+
+    /**
+     * Constructs a LookaheadScanner that reads the source from the specified reader, and interns the identifiers in
+     * the specified table.
+     *
+     * @param fileName the name of the source file (used in error messages).
+     * @param reader   the reader from which the source is read.
+     * @param names    the table in which the identifiers are interned.
+     */
+    public LookaheadScanner(String fileName, Reader reader, Names names) {
+        this(new Scanner(fileName, reader, names));
+    }
+
+    /**
+     * Constructs a LookaheadScanner that reads the tokens from the specified buffer.
+     *
+     * @param buffer the buffer holding the tokens.
+     */
+    public LookaheadScanner(TokenBuffer buffer) {
+        this(null, buffer);
+    }
+
+    /**
+     * Constructs a LookaheadScanner that reads the tokens from the specified buffer, starting at the token with the
+     * specified index (as returned by tokenIndex()): that token is the current one after the first next().
+     *
+     * @param buffer     the buffer holding the tokens.
+     * @param tokenIndex the index of the first token to read.
+     */
+    public LookaheadScanner(TokenBuffer buffer, int tokenIndex) {
+        this(null, buffer);
+        position = tokenIndex - 1;
+    }
+
+    /**
+     * Constructs a LookaheadScanner given the underlying scanner.
+     *
+     * @param scanner the underlying scanner.
+     */
+    public LookaheadScanner(Scanner scanner) {
+        this(scanner, null);
+    }
+
+    // Constructs a LookaheadScanner given the underlying scanner or the buffer from which the tokens are read.
+    private LookaheadScanner(Scanner scanner, TokenBuffer buffer) {
+        this.scanner = scanner;
+        this.buffer = buffer;
+        tokens = buffer == null ? new TokenInfo[64] : null;
+        recentTokens = buffer == null ? null : new TokenInfo[RECENT_TOKENS];
+        recentIndices = buffer == null ? null : new int[RECENT_TOKENS];
+        count = 1;
+        position = 0;
+        discarded = 0;
+        marks = new int[16];
+        markCount = 0;
     }
 
     /**
      * Scans to the next token in the input.
      */
     public void next() {
-        previousToken = token;
-        if (backtrackingQueue.isEmpty()) {
-            token = scanner.getNextToken();
-        } else {
-            token = backtrackingQueue.remove(0);
-        }
-        if (isLookingAhead) {
-            nextQueue.add(token);
+        if (buffer == null && position + 1 == count) {
+            if (markCount == 0) {
+                tokens[0] = token;
+                count = 1;
+                discarded += position;
+                position = 0;
+            }
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, count * 2);
+            }
+            if (scanTimes != null) {
+                scanTimes.start();
+                tokens[count++] = scanner.getNextToken();
+                scanTimes.stop();
+            } else {
+                tokens[count++] = scanner.getNextToken();
+            }
         }
+        previousToken = token;
+        token = tokenAt(++position);
+    }
+
+    /**
+     * Skips the block that starts at the current token (a LCURLY), up to and including its matching RCURLY, or up to
+     * EOF if it is unmatched, without materializing the tokens in between. The scanner must read the tokens from a
+     * buffer, and no position may be recorded.
+     */
+    public void skipBlock() {
+        int index = position - 1;
+        int last = buffer.size() - 1;
+        int depth = 0;
+        do {
+            TokenKind kind = buffer.kind(index++);
+            if (kind == TokenKind.LCURLY) {
+                depth++;
+            } else if (kind == TokenKind.RCURLY) {
+                depth--;
+            }
+        } while (depth > 0 && index < last);
+        position = index + 1;
+        previousToken = tokenAt(position - 1);
+        token = tokenAt(position);
     }
 
     /**
      * Records the current position in the input, so that we can start looking ahead in the input (and later return
-     * to this position) --- the current and subsequent tokens are queued until returnToPosition() is invoked.
+     * to this position) --- the current and subsequent tokens are kept until returnToPosition() is invoked.
      */
     public void recordPosition() {
-        isLookingAhead = true;
-        queueStack.push(nextQueue);
-        nextQueue = new Vector<>();
-        nextQueue.add(previousToken);
-        nextQueue.add(token);
+        if (markCount == marks.length) {
+            marks = Arrays.copyOf(marks, markCount * 2);
+        }
+        marks[markCount++] = position;
     }
 
     /**
      * Returns to the previously recorded position in the input stream of tokens.
      */
     public void returnToPosition() {
-        while (!backtrackingQueue.isEmpty()) {
-            nextQueue.add(backtrackingQueue.remove(0));
-        }
-        backtrackingQueue = nextQueue;
-        nextQueue = queueStack.pop();
-        isLookingAhead = !(queueStack.empty());
+        position = marks[--markCount];
 
         // Restore previous and current tokens.
-        previousToken = backtrackingQueue.remove(0);
-        token = backtrackingQueue.remove(0);
+        previousToken = position > 0 ? tokenAt(position - 1) : null;
+        token = tokenAt(position);
+    }
+
+    /**
+     * Measures the scanning of tokens from now on using the specified accumulator.
+     *
+     * @param scanTimes the accumulator.
+     */
+    public void measureScanning(Timings.Accumulator scanTimes) {
+        this.scanTimes = scanTimes;
+    }
+
+    /**
+     * Returns the index of the current token in the input stream of tokens (1 for the first token).
+     *
+     * @return the index of the current token in the input stream of tokens.
+     */
+    public int tokenIndex() {
+        return discarded + position;
     }
 
     /**
@@ -105,13 +248,22 @@ class LookaheadScanner {
         return previousToken;
     }
 
+    /**
+     * Returns the buffer from which the tokens are read, or null if they are scanned on demand.
+     *
+     * @return the buffer from which the tokens are read, or null.
+     */
+    public TokenBuffer buffer() {
+        return buffer;
+    }
+
     /**
      * Returns true if an error has occurred, and false otherwise.
      *
      * @return true if an error has occurred, and false otherwise.
      */
     public boolean errorHasOccured() {
-        return scanner.errorHasOccurred();
+        return buffer == null ? scanner.errorHasOccurred() : buffer.errorHasOccurred();
     }
 
     /**
@@ -120,6 +272,23 @@ class LookaheadScanner {
      * @return the name of the source file.
      */
     public String fileName() {
-        return scanner.fileName();
+        return buffer == null ? scanner.fileName() : buffer.fileName();
+    }
+
+    // Returns the token at the specified position. Positions past the end of a buffer denote its last token (EOF).
+    private TokenInfo tokenAt(int position) {
+        if (buffer == null) {
+            return tokens[position];
+        }
+        if (position == 0) {
+            return null;
+        }
+        int index = Math.min(position, buffer.size()) - 1;
+        int i = index % RECENT_TOKENS;
+        if (recentTokens[i] == null || recentIndices[i] != index) {
+            recentTokens[i] = buffer.token(index);
+            recentIndices[i] = index;
+        }
+        return recentTokens[i];
     }
 }
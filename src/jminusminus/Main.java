@@ -1,18 +1,29 @@
 package jminusminus;
 
+import java.io.File;
 import java.io.FileNotFoundException;
-
-import static jminusminus.TokenKind.EOF;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Driver class for j-- compiler using hand-written front-end. This is the main entry point for the compiler. The
  * compiler proceeds as follows:
  * <ol>
- *   <li>It reads arguments that affects its behavior.</li>
+ *   <li>It reads arguments that affects its behavior, including the source files (and directories of source files)
+ *   to compile.</li>
  *
- *   <li>It builds a scanner.</li>
+ *   <li>For each source file, it builds a scanner. With the -compact option, the scanner tokenizes the whole file up
+ *   front, into a compact token buffer. With the -lazy option (which implies -compact), the parser skips method and
+ *   constructor bodies, and parses each only when it is analyzed.</li>
  *
- *   <li>It builds a parser (using the scanner) and parses the input for producing an abstact syntax tree (AST).</li>
+ *   <li>It builds a parser (using the scanner) and parses the input for producing an abstact syntax tree (AST). The
+ *   ASTs for all the source files are compiled together, as a batch, by the remaining steps. With the -j option, the
+ *   source files are parsed, analyzed, and code generated in parallel. With the -incremental option, only the
+ *   source files that are out of date with respect to the classes in the output directory are analyzed and code
+ *   generated.</li>
  *
  *   <li>It sends the preAnalyze() message to that AST, which recursively descends the tree so far as the member
  *   headers for declaring types and members in the symbol table (represented as a string of contexts).</li>
@@ -40,103 +51,264 @@ public class Main {
      */
     public static void main(String[] args) {
         String caller = "java jminusminus.Main";
-        String sourceFile = "";
+        ArrayList<String> sourceFiles = new ArrayList<>();
         String debugOption = "";
         String outputDir = ".";
-        for (int i = 0; i < args.length; i++) {
+        int parallelism = 1;
+        boolean isIncremental = false;
+        boolean isCompact = false;
+        boolean isLazy = false;
+        String timingsFile = null;
+        String[] programArgs = null;
+        for (int i = 0; i < args.length && programArgs == null; i++) {
             if (args[i].equals("j--")) {
                 caller = "j--";
-            } else if (args[i].endsWith(".java")) {
-                sourceFile = args[i];
+            } else if (args[i].endsWith(".java") || new File(args[i]).isDirectory()) {
+                sourceFiles.addAll(CompilationBatch.sourceFiles(args[i]));
             } else if (args[i].equals("-t") || args[i].equals("-p") || args[i].equals("-pa") || args[i].equals("-a")) {
                 debugOption = args[i];
             } else if (args[i].endsWith("-d") && (i + 1) < args.length) {
                 outputDir = args[++i];
+            } else if (args[i].equals("-j") && (i + 1) < args.length && args[i + 1].matches("[1-9][0-9]*")) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-incremental")) {
+                isIncremental = true;
+            } else if (args[i].equals("-compact")) {
+                isCompact = true;
+            } else if (args[i].equals("-lazy")) {
+                isCompact = true;
+                isLazy = true;
+            } else if (args[i].equals("-timings") && (i + 1) < args.length) {
+                timingsFile = args[++i];
+            } else if (args[i].equals("-run")) {
+                programArgs = Arrays.copyOfRange(args, i + 1, args.length);
             } else {
                 printUsage(caller);
                 return;
             }
         }
-        if (sourceFile.isEmpty()) {
+        if (sourceFiles.isEmpty()) {
             printUsage(caller);
             return;
         }
 
-        LookaheadScanner scanner;
-        try {
-            scanner = new LookaheadScanner(sourceFile);
-        } catch (FileNotFoundException e) {
-            System.err.println("Error: file " + sourceFile + " not found.");
+        if (debugOption.equals("-t") || debugOption.equals("-p")) {
+            for (String sourceFile : sourceFiles) {
+                Scanner scanner;
+                try {
+                    scanner = new Scanner(sourceFile);
+                } catch (FileNotFoundException e) {
+                    System.err.println("Error: file " + sourceFile + " not found.");
+                    return;
+                }
+
+                if (debugOption.equals("-t")) {
+                    // Just tokenize input and print the tokens to STDOUT.
+                    TokenBuffer tokens = new TokenBuffer(scanner);
+                    for (int i = 0; i < tokens.size(); i++) {
+                        System.out.printf("%d\t : %s = %s\n", tokens.line(i), tokens.kind(i).tokenRep(),
+                                tokens.image(i));
+                    }
+                } else {
+                    // Just parse input and print AST to STDOUT.
+                    Parser parser = new Parser(isCompact ? new LookaheadScanner(new TokenBuffer(scanner)) :
+                            new LookaheadScanner(scanner), isLazy);
+                    JCompilationUnit ast = parser.compilationUnit();
+                    JSONElement json = new JSONElement();
+                    ast.toJSON(json);
+                    System.out.println(json);
+                }
+            }
             return;
         }
 
-        if (debugOption.equals("-t")) {
-            // Just tokenize input and print the tokens to STDOUT.
-            TokenInfo token;
-            do {
-                scanner.next();
-                token = scanner.token();
-                System.out.printf("%d\t : %s = %s\n", token.line(), token.tokenRep(), token.image());
-            } while (token.kind() != EOF);
-            return;
+        Timings timings = timingsFile == null ? null : new Timings();
+        JAST.countNodes(timings != null);
+        Map<String, byte[]> classes = programArgs == null ? null : new ConcurrentHashMap<>();
+        CompilationBatch batch = new CompilationBatch(parallelism);
+        boolean isRunFailed = false;
+        try {
+            boolean isCompiled;
+            try {
+                isCompiled = compile(batch, sourceFiles, debugOption, outputDir, isIncremental, isCompact, isLazy,
+                        timings, classes);
+            } finally {
+                JAST.countNodes(false);
+                if (timings != null) {
+                    timings.write(timingsFile);
+                }
+            }
+            isRunFailed = isCompiled && classes != null && !run(batch, classes, programArgs);
+        } finally {
+            // Shuts down the batch's pool (if it is parallel), which would otherwise outlive a compile server request.
+            batch.dispose();
+        }
+        if (isRunFailed) {
+            // As the java command does when the program cannot be run, or main() throws an exception.
+            System.exit(1);
         }
+    }
 
-        Parser parser = new Parser(scanner);
-        JCompilationUnit ast = parser.compilationUnit();
-        if (debugOption.equals("-p")) {
-            // Just parse input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
-            return;
+    // Compiles the specified source files as the specified (empty) batch, recording the time spent in each phase in
+    // the specified report (if it is not null). The classes are written to the specified map if it is not null, and
+    // to the output directory otherwise. Returns true if code was generated for the batch without errors, and false
+    // otherwise.
+    private static boolean compile(CompilationBatch batch, ArrayList<String> sourceFiles, String debugOption,
+                                   String outputDir, boolean isIncremental, boolean isCompact, boolean isLazy,
+                                   Timings timings, Map<String, byte[]> classes) {
+        if (isIncremental && classes == null) {
+            batch.setIncremental(outputDir);
         }
-        if (parser.errorHasOccurred()) {
-            return;
+        batch.setTimings(timings);
+        if (!batch.parse(sourceFiles, sourceFile -> parse(sourceFile, batch.names(), isCompact, isLazy, timings))) {
+            return false;
         }
 
-        ast.preAnalyze();
+        batch.preAnalyze();
         if (debugOption.equals("-pa")) {
             // Just pre-analyze input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
-            return;
+            batch.printJSON();
+            return false;
         }
-        if (JAST.compilationUnit.errorHasOccurred()) {
-            return;
+        if (batch.errorHasOccurred()) {
+            return false;
         }
 
-        ast.analyze(null);
+        batch.analyze();
         if (debugOption.equals("-a")) {
             // Just analyze input and print AST to STDOUT.
-            JSONElement json = new JSONElement();
-            ast.toJSON(json);
-            System.out.println(json);
-            return;
+            batch.printJSON();
+            return false;
         }
-        if (JAST.compilationUnit.errorHasOccurred()) {
-            return;
+        if (batch.errorHasOccurred()) {
+            return false;
         }
 
         // Generate JVM code.
-        CLEmitter jvmCode = new CLEmitter(true);
-        jvmCode.destinationDir(outputDir);
-        ast.codegen(jvmCode);
-        if (jvmCode.errorHasOccurred()) {
+        if (classes == null) {
+            batch.codegen(outputDir);
+        } else {
+            batch.codegen(classes);
+        }
+        if (batch.errorHasOccurred()) {
             System.err.println("Error: compilation failed!");
+            return false;
+        }
+        return true;
+    }
+
+    // Loads the specified classes (generated for the specified batch) from memory, and invokes the main() method of
+    // the first type (in the order of the source files) that declares one, with the specified arguments. Returns true
+    // if main() returned normally, and false if there is no main() method to invoke or it threw an exception.
+    private static boolean run(CompilationBatch batch, Map<String, byte[]> classes, String[] args) {
+        ByteClassLoader classLoader = new ByteClassLoader();
+        for (String name : classes.keySet()) {
+            classLoader.addClassBytes(name, classes.get(name));
+        }
+        for (JCompilationUnit compilationUnit : batch.compilationUnits()) {
+            for (Type type : compilationUnit.declaredTypes()) {
+                // The partial class for the type tells whether the type declares a main() method.
+                Method main = type.methodFor("main", new Type[] {Type.typeForDescriptor("[Ljava/lang/String;")});
+                if (main == null || !main.isPublic() || !main.isStatic() || main.returnType() != Type.VOID) {
+                    continue;
+                }
+                ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+                try {
+                    Class<?> mainClass = classLoader.loadClass(type.classRep().name(), true);
+                    Thread.currentThread().setContextClassLoader(classLoader);
+                    mainClass.getMethod("main", String[].class).invoke(null, (Object) args);
+                    return true;
+                } catch (InvocationTargetException e) {
+                    printStackTrace(e.getCause());
+                } catch (ReflectiveOperationException e) {
+                    System.err.println("Error: cannot run " + type + ": " + e);
+                } finally {
+                    Thread.currentThread().setContextClassLoader(contextClassLoader);
+                }
+                return false;
+            }
+        }
+        System.err.println("Error: no type declares a main() method.");
+        return false;
+    }
+
+    // Prints the specified exception, thrown by a program run with -run, as the JVM would have, leaving out the
+    // frames for the reflective call to main() made by run().
+    private static void printStackTrace(Throwable exception) {
+        StackTraceElement[] frames = exception.getStackTrace();
+        int n = 0;
+        while (n < frames.length && !(frames[n].getClassName().equals("java.lang.reflect.Method")
+                && frames[n].getMethodName().equals("invoke"))) {
+            n++;
+        }
+        while (n > 0 && frames[n - 1].getClassName().startsWith("jdk.internal.reflect.")) {
+            n--;
+        }
+        exception.setStackTrace(Arrays.copyOf(frames, n));
+        System.err.print("Exception in thread \"" + Thread.currentThread().getName() + "\" ");
+        exception.printStackTrace();
+    }
+
+    // Parses the specified source file, interning its identifiers in the specified table, and returns its AST, or null
+    // if the file cannot be read or has syntax errors. The file is tokenized in full into a compact token buffer
+    // before it is parsed if isCompact is true, and its method bodies are parsed on demand if isLazy is true. Records
+    // the time spent scanning and parsing the file in the specified report (if it is not null).
+    private static JCompilationUnit parse(String sourceFile, Names names, boolean isCompact, boolean isLazy,
+                                          Timings timings) {
+        long[] start = timings == null ? null : Timings.start();
+        int nodes = JAST.nodeCount();
+        Scanner scanner;
+        try {
+            scanner = new Scanner(sourceFile, names);
+        } catch (FileNotFoundException e) {
+            System.err.println("Error: file " + sourceFile + " not found.");
+            return null;
+        }
+        Timings.Accumulator scanTimes = timings == null ? null : new Timings.Accumulator();
+        TokenBuffer tokens = null;
+        LookaheadScanner lookaheadScanner;
+        if (isCompact) {
+            if (scanTimes != null) {
+                scanTimes.start();
+            }
+            tokens = new TokenBuffer(scanner);
+            if (scanTimes != null) {
+                scanTimes.stop();
+            }
+            lookaheadScanner = new LookaheadScanner(tokens);
+        } else {
+            lookaheadScanner = new LookaheadScanner(scanner);
+            lookaheadScanner.measureScanning(scanTimes);
+        }
+        Parser parser = new Parser(lookaheadScanner, isLazy);
+        JCompilationUnit ast = parser.compilationUnit();
+        if (timings != null) {
+            timings.recordParse(sourceFile, start, tokens != null ? tokens.size() : scanTimes.count(),
+                    JAST.nodeCount() - nodes);
+            timings.recordScan(sourceFile, scanTimes);
         }
+        return parser.errorHasOccurred() ? null : ast;
     }
 
     // Prints command usage to STDOUT.
     private static void printUsage(String caller) {
         String usage = "Usage: " + caller
-                + " <options> <source file>\n"
+                + " <options> <source files and/or directories>\n"
                 + "Where possible options include:\n"
                 + "  -t  Tokenize input and print tokens to STDOUT\n"
                 + "  -p  Parse input and print AST to STDOUT\n"
                 + "  -pa Pre-analyze input and print AST to STDOUT\n"
                 + "  -a  Analyze input and print AST to STDOUT\n"
-                + "  -d  <dir> Specify where to place output (.class) files; default = .";
+                + "  -d  <dir> Specify where to place output (.class) files; default = .\n"
+                + "  -j  <n> Compile using n threads; default = 1\n"
+                + "  -compact Tokenize each source file in full into a compact token buffer before parsing it\n"
+                + "  -lazy Parse method bodies only when they are analyzed (implies -compact)\n"
+                + "  -incremental Recompile only the source files that have changed, or that depend on types whose\n"
+                + "               signatures have changed, since the last compilation into the output directory\n"
+                + "  -timings <file> Report the time and memory spent in each phase, per file and class, to file (as\n"
+                + "                  CSV if its name ends with .csv, and as JSON otherwise)\n"
+                + "  -run <args> Compile in memory (writing no files), then run the main() method of the first type\n"
+                + "              that declares one with args; must be the last option";
         System.out.println(usage);
     }
 }
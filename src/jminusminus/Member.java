@@ -1,5 +1,7 @@
 package jminusminus;
 
+import java.lang.reflect.Modifier;
+
 /**
  * This abstract base class provides a wrapper for class members (ie, fields, methods, and constructors).
  */
@@ -10,7 +12,7 @@ abstract class Member {
      * @return this member's (simple) name.
      */
     public String name() {
-        return member().getName();
+        return member().name();
     }
 
     /**
@@ -19,7 +21,7 @@ abstract class Member {
      * @return the type in which this member was declared.
      */
     public Type declaringType() {
-        return Type.typeFor(member().getDeclaringClass());
+        return Type.typeForDescriptor("L" + member().declaringName().replace('.', '/') + ";");
     }
 
     /**
@@ -28,7 +30,7 @@ abstract class Member {
      * @return true if this member is static, and false otherwise.
      */
     public boolean isStatic() {
-        return java.lang.reflect.Modifier.isStatic(member().getModifiers());
+        return Modifier.isStatic(member().modifiers());
     }
 
     /**
@@ -37,7 +39,7 @@ abstract class Member {
      * @return true if this member is public, and false otherwise.
      */
     public boolean isPublic() {
-        return java.lang.reflect.Modifier.isPublic(member().getModifiers());
+        return Modifier.isPublic(member().modifiers());
     }
 
     /**
@@ -46,7 +48,7 @@ abstract class Member {
      * @return true if this member is protected, and false otherwise.
      */
     public boolean isProtected() {
-        return java.lang.reflect.Modifier.isProtected(member().getModifiers());
+        return Modifier.isProtected(member().modifiers());
     }
 
     /**
@@ -55,7 +57,7 @@ abstract class Member {
      * @return true if this member is private, and false otherwise.
      */
     public boolean isPrivate() {
-        return java.lang.reflect.Modifier.isPrivate(member().getModifiers());
+        return Modifier.isPrivate(member().modifiers());
     }
 
     /**
@@ -64,7 +66,7 @@ abstract class Member {
      * @return true if this member is abstract, and false otherwise.
      */
     public boolean isAbstract() {
-        return java.lang.reflect.Modifier.isAbstract(member().getModifiers());
+        return Modifier.isAbstract(member().modifiers());
     }
 
     /**
@@ -73,7 +75,7 @@ abstract class Member {
      * @return true if this member is final, and false otherwise.
      */
     public boolean isFinal() {
-        return java.lang.reflect.Modifier.isFinal(member().getModifiers());
+        return Modifier.isFinal(member().modifiers());
     }
 
     /**
@@ -81,14 +83,16 @@ abstract class Member {
      *
      * @return the JVM descriptor for this member.
      */
-    public abstract String toDescriptor();
+    public String toDescriptor() {
+        return member().descriptor();
+    }
 
     /**
      * Returns this member's internal representation.
      *
      * @return this member's internal representation.
      */
-    protected abstract java.lang.reflect.Member member();
+    protected abstract MemberSymbol member();
 }
 
 /**
@@ -96,33 +100,21 @@ abstract class Member {
  */
 class Constructor extends Member {
     // Internal representation of this constructor.
-    private final java.lang.reflect.Constructor constructor;
+    private final MemberSymbol constructor;
 
     /**
      * Constructs a constructor given its internal representation.
      *
      * @param constructor internal representation.
      */
-    public Constructor(java.lang.reflect.Constructor constructor) {
+    public Constructor(MemberSymbol constructor) {
         this.constructor = constructor;
     }
 
     /**
      * {@inheritDoc}
      */
-    public String toDescriptor() {
-        String descriptor = "(";
-        for (Class paramType : constructor.getParameterTypes()) {
-            descriptor += Type.typeFor(paramType).toDescriptor();
-        }
-        descriptor += ")V";
-        return descriptor;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    protected java.lang.reflect.Member member() {
+    protected MemberSymbol member() {
         return constructor;
     }
 }
@@ -132,14 +124,14 @@ class Constructor extends Member {
  */
 class Field extends Member {
     // Internal representation of this field.
-    private final java.lang.reflect.Field field;
+    private final MemberSymbol field;
 
     /**
      * Constructs a field given its internal representation.
      *
      * @param field internal representation.
      */
-    public Field(java.lang.reflect.Field field) {
+    public Field(MemberSymbol field) {
         this.field = field;
     }
 
@@ -149,20 +141,13 @@ class Field extends Member {
      * @return this field's type.
      */
     public Type type() {
-        return Type.typeFor(field.getType());
+        return Type.typeForDescriptor(field.descriptor());
     }
 
     /**
      * {@inheritDoc}
      */
-    public String toDescriptor() {
-        return type().toDescriptor();
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    protected java.lang.reflect.Member member() {
+    protected MemberSymbol member() {
         return field;
     }
 }
@@ -172,14 +157,14 @@ class Field extends Member {
  */
 class Method extends Member {
     // Internal representation of this method.
-    private final java.lang.reflect.Method method;
+    private final MemberSymbol method;
 
     /**
      * Constructs a method given its internal representation.
      *
      * @param method the internal representation.
      */
-    public Method(java.lang.reflect.Method method) {
+    public Method(MemberSymbol method) {
         this.method = method;
     }
 
@@ -189,25 +174,13 @@ class Method extends Member {
      * @return this method's return type.
      */
     public Type returnType() {
-        return Type.typeFor(method.getReturnType());
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    public String toDescriptor() {
-        String descriptor = "(";
-        for (Class paramType : method.getParameterTypes()) {
-            descriptor += Type.typeFor(paramType).toDescriptor();
-        }
-        descriptor += ")" + Type.typeFor(method.getReturnType()).toDescriptor();
-        return descriptor;
+        return Type.typeForDescriptor(method.returnDescriptor());
     }
 
     /**
      * {@inheritDoc}
      */
-    protected java.lang.reflect.Member member() {
+    protected MemberSymbol member() {
         return method;
     }
 }
@@ -0,0 +1,35 @@
+package jminusminus;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of the identifiers that occur in the sources of a compilation, which interns them so that all the
+ * occurrences of a name (in all the sources) share a single String; the names can thus be compared by identity. The
+ * table is thread-safe, so it may be shared by scanners running in parallel.
+ * <p>
+ * Each scanner keeps a cache of the names that it has already interned, so a name is looked up in (and allocated
+ * for) the shared table only the first time that it occurs in a source.
+ */
+class Names {
+    // Maps each name to its interned String.
+    private final ConcurrentHashMap<String, String> names;
+
+    /**
+     * Constructs an empty Names table.
+     */
+    public Names() {
+        names = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the interned String for the specified name, which is the specified String itself if the name has not
+     * been interned before.
+     *
+     * @param name the name.
+     * @return the interned String for the name.
+     */
+    public String intern(String name) {
+        String interned = names.putIfAbsent(name, name);
+        return interned == null ? name : interned;
+    }
+}
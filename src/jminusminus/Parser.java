@@ -1,32 +1,73 @@
 package jminusminus;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 
 import static jminusminus.TokenKind.*;
 
 /**
  * A recursive descent parser that, given a lexical analyzer (a LookaheadScanner), parses a j-- compilation unit
  * (program file), taking tokens from the LookaheadScanner, and produces an abstract syntax tree (AST) for it.
+ * <p>
+ * After a syntax error, the parser recovers in panic mode at the level of the block statement, member declaration,
+ * or type declaration in which the error occurred: it skips to the end of that construct (a SEMI or a nested block),
+ * or to the start of the next one, and goes on parsing (and reporting errors) from there. A single pass thus reports
+ * all the independent syntax errors in the unit (up to MAX_ERRORS of them), and the AST built for it holds all the
+ * constructs parsed without errors.
  */
 class Parser {
+    // Precedences of the operators in expressions (see expression()), from the loosest to the tightest binding; 0
+    // stands for an opening parenthesis, or for a token that is not a binary operator.
+    private static final int ASSIGNMENT = 1, CONDITIONAL_AND = 2, EQUALITY = 3, RELATIONAL = 4, ADDITIVE = 5,
+            MULTIPLICATIVE = 6, UNARY = 7;
+
+    // Maximum number of syntax errors reported for a compilation unit.
+    private static final int MAX_ERRORS = 100;
+
+    // Tokens that can start a block statement, a member declaration, and a type declaration, at which the parser
+    // resumes after a syntax error (see recover()).
+    private static final EnumSet<TokenKind> STATEMENT_STARTS = EnumSet.of(IF, WHILE, RETURN, BOOLEAN, CHAR, INT),
+            MEMBER_STARTS = EnumSet.of(ABSTRACT, PRIVATE, PROTECTED, PUBLIC, STATIC, VOID, BOOLEAN, CHAR, INT),
+            TYPE_STARTS = EnumSet.of(ABSTRACT, PRIVATE, PROTECTED, PUBLIC, STATIC, CLASS);
+
     // The lexical analyzer with which tokens are scanned.
     private final LookaheadScanner scanner;
 
+    // Whether method bodies are skipped, to be parsed on demand (see JLazyBlock).
+    private final boolean isLazy;
+
     // Whether a parser error has been found.
     private boolean isInError;
 
     // Whether we have recovered from a parser error.
     private boolean isRecovered;
 
+    // Number of parser errors found, counting those found earlier in the same compilation unit (see
+    // setPriorErrorCount()).
+    private int errorCount;
+
     /**
      * Constructs a parser from the given lexical analyzer.
      *
      * @param scanner the lexical analyzer with which tokens are scanned.
      */
     public Parser(LookaheadScanner scanner) {
+        this(scanner, false);
+    }
+
+    /**
+     * Constructs a parser from the given lexical analyzer that, if isLazy is true and the analyzer reads the tokens
+     * from a buffer, skips method and constructor bodies, which are parsed on demand (see JLazyBlock).
+     *
+     * @param scanner the lexical analyzer with which tokens are scanned.
+     * @param isLazy  whether method and constructor bodies are parsed on demand.
+     */
+    public Parser(LookaheadScanner scanner, boolean isLazy) {
         this.scanner = scanner;
+        this.isLazy = isLazy && scanner.buffer() != null;
         isInError = false;
         isRecovered = true;
+        errorCount = 0;
 
         // Prime the pump.
         scanner.next();
@@ -41,6 +82,41 @@ class Parser {
         return isInError;
     }
 
+    /**
+     * Returns the number of parser errors found up to now in the compilation unit, including those found before this
+     * parser was constructed (see setPriorErrorCount()).
+     *
+     * @return the number of parser errors found up to now in the compilation unit.
+     */
+    public int errorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Sets the number of syntax errors already found in the compilation unit (by the parsers of its other method
+     * bodies, see JLazyBlock), so that no more than MAX_ERRORS errors are reported for the unit as a whole.
+     *
+     * @param errorCount the number of syntax errors already found in the compilation unit.
+     */
+    public void setPriorErrorCount(int errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    /**
+     * Reports how many of the specified number of syntax errors found in a compilation unit were not reported, if
+     * there are more than MAX_ERRORS of them.
+     *
+     * @param fileName   name of the source file of the compilation unit.
+     * @param line       line at which to report.
+     * @param errorCount the number of syntax errors found in the compilation unit.
+     */
+    public static void reportUnreportedErrors(String fileName, int line, int errorCount) {
+        if (errorCount > MAX_ERRORS) {
+            Diagnostic.report(fileName, line, String.format("%d more syntax errors not reported",
+                    errorCount - MAX_ERRORS));
+        }
+    }
+
     /**
      * Parses a compilation unit (a program file) and returns an AST for it.
      *
@@ -68,10 +144,15 @@ class Parser {
         }
         ArrayList<JAST> typeDeclarations = new ArrayList<>();
         while (!see(EOF)) {
+            int start = scanner.tokenIndex();
             JAST typeDeclaration = typeDeclaration();
             typeDeclarations.add(typeDeclaration);
+            if (!isRecovered) {
+                recover(start, false, TYPE_STARTS);
+            }
         }
         mustBe(EOF);
+        reportUnreportedErrors(fileName, scanner.token().line(), errorCount);
         return new JCompilationUnit(fileName, line, packageName, imports, typeDeclarations);
     }
 
@@ -216,8 +297,12 @@ class Parser {
         ArrayList<JMember> members = new ArrayList<>();
         mustBe(LCURLY);
         while (!see(RCURLY) && !see(EOF)) {
+            int start = scanner.tokenIndex();
             ArrayList<String> mods = modifiers();
             members.add(memberDecl(mods));
+            if (!isRecovered) {
+                recover(start, true, MEMBER_STARTS);
+            }
         }
         mustBe(RCURLY);
         return members;
@@ -243,7 +328,7 @@ class Parser {
             mustBe(IDENTIFIER);
             String name = scanner.previousToken().image();
             ArrayList<JFormalParameter> params = formalParameters();
-            JBlock body = block();
+            JBlock body = methodBody();
             memberDecl = new JConstructorDeclaration(line, mods, name, params, null, body);
         } else {
             Type type;
@@ -253,7 +338,7 @@ class Parser {
                 mustBe(IDENTIFIER);
                 String name = scanner.previousToken().image();
                 ArrayList<JFormalParameter> params = formalParameters();
-                JBlock body = have(SEMI) ? null : block();
+                JBlock body = have(SEMI) ? null : methodBody();
                 memberDecl = new JMethodDeclaration(line, mods, name, type, params, null, body);
             } else {
                 type = type();
@@ -262,7 +347,7 @@ class Parser {
                     mustBe(IDENTIFIER);
                     String name = scanner.previousToken().image();
                     ArrayList<JFormalParameter> params = formalParameters();
-                    JBlock body = have(SEMI) ? null : block();
+                    JBlock body = have(SEMI) ? null : methodBody();
                     memberDecl = new JMethodDeclaration(line, mods, name, type, params, null, body);
                 } else {
                     // A field.
@@ -283,17 +368,33 @@ class Parser {
      *
      * @return an AST for a block.
      */
-    private JBlock block() {
+    public JBlock block() {
         int line = scanner.token().line();
         ArrayList<JStatement> statements = new ArrayList<>();
         mustBe(LCURLY);
         while (!see(RCURLY) && !see(EOF)) {
+            int start = scanner.tokenIndex();
             statements.add(blockStatement());
+            if (!isRecovered) {
+                recover(start, true, STATEMENT_STARTS);
+            }
         }
         mustBe(RCURLY);
         return new JBlock(line, statements);
     }
 
+    // Parses a method (or constructor) body and returns an AST for it; if bodies are parsed on demand, skips the body
+    // instead, and returns an AST that parses it when needed.
+    private JBlock methodBody() {
+        if (!isLazy || !see(LCURLY)) {
+            return block();
+        }
+        JBlock body = new JLazyBlock(scanner.token().line(), scanner.buffer(), scanner.tokenIndex());
+        scanner.skipBlock();
+        isRecovered = true;
+        return body;
+    }
+
     /**
      * Parses a block statement and returns an AST for it.
      *
@@ -630,215 +731,126 @@ class Parser {
      *
      * <pre>
      *   expression ::= assignmentExpression
-     * </pre>
      *
-     * @return an AST for an expression.
-     */
-    private JExpression expression() {
-        return assignmentExpression();
-    }
-
-    /**
-     * Parses an assignment expression and returns an AST for it.
-     *
-     * <pre>
      *   assignmentExpression ::= conditionalAndExpression [ ( ASSIGN | PLUS_ASSIGN ) assignmentExpression ]
-     * </pre>
      *
-     * @return an AST for an assignment expression.
-     */
-    private JExpression assignmentExpression() {
-        int line = scanner.token().line();
-        JExpression lhs = conditionalAndExpression();
-        if (have(ASSIGN)) {
-            return new JAssignOp(line, lhs, assignmentExpression());
-        } else if (have(PLUS_ASSIGN)) {
-            return new JPlusAssignOp(line, lhs, assignmentExpression());
-        } else {
-            return lhs;
-        }
-    }
-
-    /**
-     * Parses a conditional-and expression and returns an AST for it.
-     *
-     * <pre>
      *   conditionalAndExpression ::= equalityExpression { LAND equalityExpression }
-     * </pre>
      *
-     * @return an AST for a conditional-and expression.
-     */
-    private JExpression conditionalAndExpression() {
-        int line = scanner.token().line();
-        boolean more = true;
-        JExpression lhs = equalityExpression();
-        while (more) {
-            if (have(LAND)) {
-                lhs = new JLogicalAndOp(line, lhs, equalityExpression());
-            } else {
-                more = false;
-            }
-        }
-        return lhs;
-    }
-
-    /**
-     * Parses an equality expression and returns an AST for it.
-     *
-     * <pre>
      *   equalityExpression ::= relationalExpression { EQUAL relationalExpression }
-     * </pre>
-     *
-     * @return an AST for an equality expression.
-     */
-    private JExpression equalityExpression() {
-        int line = scanner.token().line();
-        boolean more = true;
-        JExpression lhs = relationalExpression();
-        while (more) {
-            if (have(EQUAL)) {
-                lhs = new JEqualOp(line, lhs, relationalExpression());
-            } else {
-                more = false;
-            }
-        }
-        return lhs;
-    }
-
-    /**
-     * Parses a relational expression and returns an AST for it.
      *
-     * <pre>
      *   relationalExpression ::= additiveExpression [ ( GT | LE ) additiveExpression
      *                                               | INSTANCEOF referenceType ]
-     * </pre>
      *
-     * @return an AST for a relational expression.
-     */
-    private JExpression relationalExpression() {
-        int line = scanner.token().line();
-        JExpression lhs = additiveExpression();
-        if (have(GT)) {
-            return new JGreaterThanOp(line, lhs, additiveExpression());
-        } else if (have(LE)) {
-            return new JLessEqualOp(line, lhs, additiveExpression());
-        } else if (have(INSTANCEOF)) {
-            return new JInstanceOfOp(line, lhs, referenceType());
-        } else {
-            return lhs;
-        }
-    }
-
-    /**
-     * Parses an additive expression and returns an AST for it.
-     *
-     * <pre>
-     *   additiveExpression ::= multiplicativeExpression { MINUS multiplicativeExpression }
-     * </pre>
+     *   additiveExpression ::= multiplicativeExpression { ( MINUS | PLUS ) multiplicativeExpression }
      *
-     * @return an AST for an additive expression.
-     */
-    private JExpression additiveExpression() {
-        int line = scanner.token().line();
-        boolean more = true;
-        JExpression lhs = multiplicativeExpression();
-        while (more) {
-            if (have(MINUS)) {
-                lhs = new JSubtractOp(line, lhs, multiplicativeExpression());
-            } else if (have(PLUS)) {
-                lhs = new JPlusOp(line, lhs, multiplicativeExpression());
-            } else {
-                more = false;
-            }
-        }
-        return lhs;
-    }
-
-    /**
-     * Parses a multiplicative expression and returns an AST for it.
-     *
-     * <pre>
      *   multiplicativeExpression ::= unaryExpression { STAR unaryExpression }
-     * </pre>
-     *
-     * @return an AST for a multiplicative expression.
-     */
-    private JExpression multiplicativeExpression() {
-        int line = scanner.token().line();
-        boolean more = true;
-        JExpression lhs = unaryExpression();
-        while (more) {
-            if (have(STAR)) {
-                lhs = new JMultiplyOp(line, lhs, unaryExpression());
-            } else {
-                more = false;
-            }
-        }
-        return lhs;
-    }
-
-    /**
-     * Parses an unary expression and returns an AST for it.
      *
-     * <pre>
      *   unaryExpression ::= INC unaryExpression
      *                     | MINUS unaryExpression
      *                     | simpleUnaryExpression
-     * </pre>
      *
-     * @return an AST for an unary expression.
-     */
-    private JExpression unaryExpression() {
-        int line = scanner.token().line();
-        if (have(INC)) {
-            return new JPreIncrementOp(line, unaryExpression());
-        } else if (have(MINUS)) {
-            return new JNegateOp(line, unaryExpression());
-        } else {
-            return simpleUnaryExpression();
-        }
-    }
-
-    /**
-     * Parses a simple unary expression and returns an AST for it.
-     *
-     * <pre>
      *   simpleUnaryExpression ::= LNOT unaryExpression
      *                           | LPAREN basicType RPAREN unaryExpression
      *                           | LPAREN referenceType RPAREN simpleUnaryExpression
      *                           | postfixExpression
+     *
+     *   postfixExpression ::= ( parExpression | primary ) { selector } { DEC }
      * </pre>
+     * <p>
+     * Rather than by recursive descent, the rules above are parsed by operator precedence, with explicit stacks of
+     * pending operators (and opening parentheses) and of operands, so that deeply nested parenthesized and unary
+     * expressions do not overflow the stack. The ASTs built, and the errors reported, are those of the recursive
+     * descent: in particular, an operator that the grammar does not allow where it occurs (eg, a second GT in
+     * a &gt; b &gt; c) ends the innermost enclosing parenthesized expression (or the expression itself).
      *
-     * @return an AST for a simple unary expression.
+     * @return an AST for an expression.
      */
-    private JExpression simpleUnaryExpression() {
-        int line = scanner.token().line();
-        if (have(LNOT)) {
-            return new JLogicalNotOp(line, unaryExpression());
-        } else if (seeCast()) {
-            mustBe(LPAREN);
-            boolean isBasicType = seeBasicType();
-            Type type = type();
+    private JExpression expression() {
+        ArrayList<Operator> operators = new ArrayList<>();
+        ArrayList<Operand> operands = new ArrayList<>();
+        boolean expectsOperand = true;
+        while (true) {
+            if (expectsOperand) {
+                // Prefix operators and opening parentheses, up to the primary of a postfix expression.
+                boolean isSimple = false;
+                while (true) {
+                    int line = scanner.token().line();
+                    if (!isSimple && have(INC)) {
+                        operators.add(new Operator(INC, UNARY, line, null));
+                    } else if (!isSimple && have(MINUS)) {
+                        operators.add(new Operator(MINUS, UNARY, line, null));
+                    } else if (have(LNOT)) {
+                        operators.add(new Operator(LNOT, UNARY, line, null));
+                        isSimple = false;
+                    } else if (seeCast()) {
+                        mustBe(LPAREN);
+                        boolean isBasicType = seeBasicType();
+                        Type type = type();
+                        mustBe(RPAREN);
+                        operators.add(new Operator(LPAREN, UNARY, line, type));
+                        isSimple = !isBasicType;
+                    } else if (see(LPAREN)) {
+                        mustBe(LPAREN);
+                        operators.add(new Operator(LPAREN, 0, line, null));
+                        isSimple = false;
+                    } else {
+                        operands.add(new Operand(postfixExpression(line, primary()), line));
+                        break;
+                    }
+                }
+                expectsOperand = false;
+            }
+
+            // A binary operator, an INSTANCEOF, or the end of a parenthesized expression (or of the expression).
+            int precedence = precedence(scanner.token().kind());
+            while (!operators.isEmpty() && isReducible(operators.get(operators.size() - 1), precedence)) {
+                reduce(operators, operands);
+            }
+            Operator top = operators.isEmpty() ? null : operators.get(operators.size() - 1);
+
+            // Relational operators do not associate, and only a looser binding operator may follow an INSTANCEOF.
+            if (precedence != 0 && !(top != null && top.precedence == RELATIONAL
+                    && (precedence == RELATIONAL || top.kind == INSTANCEOF))) {
+                int line = scanner.token().line();
+                TokenKind kind = scanner.token().kind();
+                scanner.next();
+                if (kind == INSTANCEOF) {
+                    operators.add(new Operator(INSTANCEOF, RELATIONAL, line, referenceType()));
+                } else {
+                    operators.add(new Operator(kind, precedence, line, null));
+                    expectsOperand = true;
+                }
+                continue;
+            }
+
+            // Otherwise, the innermost parenthesized expression (or the expression) ends here.
+            while (top != null && top.precedence != 0) {
+                reduce(operators, operands);
+                top = operators.isEmpty() ? null : operators.get(operators.size() - 1);
+            }
+            Operand operand = operands.remove(operands.size() - 1);
+            if (top == null) {
+                return operand.expr;
+            }
+            operators.remove(operators.size() - 1);
             mustBe(RPAREN);
-            JExpression expr = isBasicType ? unaryExpression() : simpleUnaryExpression();
-            return new JCastOp(line, type, expr);
-        } else {
-            return postfixExpression();
+            operands.add(new Operand(postfixExpression(top.line, operand.expr), top.line));
         }
     }
 
     /**
-     * Parses a postfix expression and returns an AST for it.
+     * Parses the selectors and post-decrements of a postfix expression whose primary (or parenthesized expression)
+     * has been parsed, and returns an AST for the postfix expression.
      *
      * <pre>
-     *   postfixExpression ::= primary { selector } { DEC }
+     *   postfixExpression ::= ( parExpression | primary ) { selector } { DEC }
      * </pre>
      *
+     * @param line        line in which the postfix expression occurs in the source file.
+     * @param primaryExpr the primary (or parenthesized) expression.
      * @return an AST for a postfix expression.
      */
-    private JExpression postfixExpression() {
-        int line = scanner.token().line();
-        JExpression primaryExpr = primary();
+    private JExpression postfixExpression(int line, JExpression primaryExpr) {
         while (see(DOT) || see(LBRACK)) {
             primaryExpr = selector(primaryExpr);
         }
@@ -883,8 +895,7 @@ class Parser {
      * Parses a primary expression and returns an AST for it.
      *
      * <pre>
-     *   primary ::= parExpression
-     *             | NEW creator
+     *   primary ::= NEW creator
      *             | THIS [ arguments ]
      *             | SUPER ( arguments | DOT IDENTIFIER [ arguments ] )
      *             | qualifiedIdentifier [ arguments ]
@@ -895,9 +906,7 @@ class Parser {
      */
     private JExpression primary() {
         int line = scanner.token().line();
-        if (see(LPAREN)) {
-            return parExpression();
-        } else if (have(NEW)) {
+        if (have(NEW)) {
             return creator();
         } else if (have(THIS)) {
             if (see(LPAREN)) {
@@ -1063,7 +1072,9 @@ class Parser {
     // into a "Recovered" state. On failure, what happens next depends on whether or not the parser is currently in a
     // "Recovered" state: if so, it reports the error and goes into an "Unrecovered" state; if not, it repeatedly
     // scans tokens until it finds the one it is looking for (or EOF) and then returns to a "Recovered" state. This
-    // gives us a kind of poor man's syntactic error recovery, a strategy due to David Turner and Ron Morrison.
+    // gives us a kind of poor man's syntactic error recovery, a strategy due to David Turner and Ron Morrison. The
+    // scanning stops short of the end (SEMI or RCURLY) or start (LCURLY) of a block, though, beyond which the
+    // enclosing statement or member recovers instead (see recover()).
     private void mustBe(TokenKind sought) {
         if (scanner.token().kind() == sought) {
             scanner.next();
@@ -1073,7 +1084,7 @@ class Parser {
             reportParserError("%s found where %s sought", scanner.token().image(), sought.image());
         } else {
             // Do not report the (possibly spurious) error, but rather attempt to recover by forcing a match.
-            while (!see(sought) && !see(EOF)) {
+            while (!see(sought) && !see(EOF) && !see(SEMI) && !see(LCURLY) && !see(RCURLY)) {
                 scanner.next();
             }
             if (see(sought)) {
@@ -1083,6 +1094,99 @@ class Parser {
         }
     }
 
+    // Returns the precedence of the specified token as a binary operator (or INSTANCEOF), or 0 if it is not one.
+    private static int precedence(TokenKind kind) {
+        switch (kind) {
+            case ASSIGN:
+            case PLUS_ASSIGN:
+                return ASSIGNMENT;
+            case LAND:
+                return CONDITIONAL_AND;
+            case EQUAL:
+                return EQUALITY;
+            case GT:
+            case LE:
+            case INSTANCEOF:
+                return RELATIONAL;
+            case MINUS:
+            case PLUS:
+                return ADDITIVE;
+            case STAR:
+                return MULTIPLICATIVE;
+            default:
+                return 0;
+        }
+    }
+
+    // Returns true if the specified pending operator must be applied before a binary operator with the specified
+    // precedence (or before the end of the enclosing parenthesized expression, if the precedence is 0), and false
+    // otherwise. Assignments associate to the right, relational operators do not associate, and the other binary
+    // operators associate to the left.
+    private static boolean isReducible(Operator operator, int precedence) {
+        return operator.precedence > precedence || operator.precedence == precedence && precedence != 0
+                && precedence != ASSIGNMENT && precedence != RELATIONAL;
+    }
+
+    // Applies the pending operator on top of the specified stack of operators to the operand(s) on top of the
+    // specified stack of operands, replacing them with the resulting expression. A binary expression occurs in the
+    // line in which its lhs operand starts.
+    private static void reduce(ArrayList<Operator> operators, ArrayList<Operand> operands) {
+        Operator operator = operators.remove(operators.size() - 1);
+        Operand operand = operands.remove(operands.size() - 1);
+        JExpression expr = operand.expr;
+        int line = operator.line;
+        if (operator.precedence == UNARY) {
+            switch (operator.kind) {
+                case INC:
+                    expr = new JPreIncrementOp(line, expr);
+                    break;
+                case MINUS:
+                    expr = new JNegateOp(line, expr);
+                    break;
+                case LNOT:
+                    expr = new JLogicalNotOp(line, expr);
+                    break;
+                default:
+                    expr = new JCastOp(line, operator.type, expr);
+            }
+        } else if (operator.kind == INSTANCEOF) {
+            line = operand.line;
+            expr = new JInstanceOfOp(line, expr, operator.type);
+        } else {
+            Operand lhs = operands.remove(operands.size() - 1);
+            line = lhs.line;
+            switch (operator.kind) {
+                case ASSIGN:
+                    expr = new JAssignOp(line, lhs.expr, expr);
+                    break;
+                case PLUS_ASSIGN:
+                    expr = new JPlusAssignOp(line, lhs.expr, expr);
+                    break;
+                case LAND:
+                    expr = new JLogicalAndOp(line, lhs.expr, expr);
+                    break;
+                case EQUAL:
+                    expr = new JEqualOp(line, lhs.expr, expr);
+                    break;
+                case GT:
+                    expr = new JGreaterThanOp(line, lhs.expr, expr);
+                    break;
+                case LE:
+                    expr = new JLessEqualOp(line, lhs.expr, expr);
+                    break;
+                case MINUS:
+                    expr = new JSubtractOp(line, lhs.expr, expr);
+                    break;
+                case PLUS:
+                    expr = new JPlusOp(line, lhs.expr, expr);
+                    break;
+                default:
+                    expr = new JMultiplyOp(line, lhs.expr, expr);
+            }
+        }
+        operands.add(new Operand(expr, line));
+    }
+
     // Pulls out and returns the ambiguous part of a name.
     private AmbiguousName ambiguousPart(TypeName name) {
         String qualifiedName = name.toString();
@@ -1090,13 +1194,54 @@ class Parser {
         return i == -1 ? null : new AmbiguousName(name.line(), qualifiedName.substring(0, i));
     }
 
-    // Reports a syntax error.
+    // Recovers from a syntax error in a block statement, member declaration, or type declaration that started at the
+    // token with the specified index: skips tokens up to and including the next SEMI or block (skipped whole), or up
+    // to the next token that can start a construct of the same kind (one of starts), or up to the next RCURLY (ending
+    // the enclosing block or class body) if stopAtRCURLY is true. At least one token is skipped if none has been
+    // scanned since the construct started, so that parsing progresses. Errors are reported again afterwards.
+    private void recover(int start, boolean stopAtRCURLY, EnumSet<TokenKind> starts) {
+        boolean hasProgressed = scanner.tokenIndex() != start;
+        while (!see(EOF) && !(stopAtRCURLY && see(RCURLY))) {
+            if (hasProgressed && starts.contains(scanner.token().kind())) {
+                break;
+            } else if (see(LCURLY)) {
+                skipBlock();
+                break;
+            } else if (have(SEMI)) {
+                break;
+            }
+            scanner.next();
+            hasProgressed = true;
+        }
+        isRecovered = true;
+    }
+
+    // Skips the block that starts at the current token (a LCURLY), up to and including its matching RCURLY (or up to
+    // EOF if it is unmatched).
+    private void skipBlock() {
+        if (scanner.buffer() != null) {
+            scanner.skipBlock();
+            return;
+        }
+        int depth = 0;
+        do {
+            if (see(LCURLY)) {
+                depth++;
+            } else if (see(RCURLY)) {
+                depth--;
+            }
+            scanner.next();
+        } while (depth > 0 && !see(EOF));
+    }
+
+    // Reports a syntax error, unless MAX_ERRORS errors have been reported already.
     private void reportParserError(String message, Object... args) {
         isInError = true;
         isRecovered = false;
-        System.err.printf("%s:%d: error: ", scanner.fileName(), scanner.token().line());
-        System.err.printf(message, args);
-        System.err.println();
+        if (++errorCount > MAX_ERRORS) {
+            return;
+        }
+        Diagnostic.report(scanner.fileName(), scanner.token().line(), String.format(message, args));
     }
 
     //////////////////////////////////////////////////
@@ -1215,4 +1360,44 @@ class Parser {
         scanner.returnToPosition();
         return result;
     }
+
+    // A pending operator in an expression being parsed (see expression()): a binary operator or INSTANCEOF waiting
+    // for its rhs operand to be complete, a prefix operator (or cast) waiting for its operand, or an opening
+    // parenthesis (with precedence 0).
+    private static class Operator {
+        // The operator's token: LPAREN for a cast or an opening parenthesis.
+        private final TokenKind kind;
+
+        // The operator's precedence.
+        private final int precedence;
+
+        // Line in which the operator occurs in the source file.
+        private final int line;
+
+        // The type of a cast, or the reference type of an INSTANCEOF; null otherwise.
+        private final Type type;
+
+        // Constructs a pending operator.
+        private Operator(TokenKind kind, int precedence, int line, Type type) {
+            this.kind = kind;
+            this.precedence = precedence;
+            this.line = line;
+            this.type = type;
+        }
+    }
+
+    // An operand in an expression being parsed (see expression()).
+    private static class Operand {
+        // The operand's AST.
+        private final JExpression expr;
+
+        // Line in which the operand starts in the source file.
+        private final int line;
+
+        // Constructs an operand.
+        private Operand(JExpression expr, int line) {
+            this.expr = expr;
+            this.line = line;
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package jminusminus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**
+ * A partial class for a type declared by a compilation unit: the class header and the member headers that
+ * pre-analysis records, from which the symbol for the type (see ClassSymbol) is built. Unlike a partial CLEmitter,
+ * it holds no code and is never turned into a class file, so no bytecode is generated, let alone loaded, before code
+ * generation.
+ */
+class PartialClass {
+    // Binary name of the class.
+    private String name;
+
+    // Access flags of the class.
+    private int accessFlags;
+
+    // Binary name of the superclass.
+    private String superName;
+
+    // Fields of the class, in the order they are added.
+    private final ArrayList<MemberSymbol> fields;
+
+    // Methods of the class, in the order they are added.
+    private final ArrayList<MemberSymbol> methods;
+
+    // Constructors of the class, in the order they are added.
+    private final ArrayList<MemberSymbol> constructors;
+
+    // Names of the fields added so far.
+    private final HashSet<String> fieldNames;
+
+    // Signatures of the methods (and constructors) added so far.
+    private final HashSet<String> methodSignatures;
+
+    /**
+     * Constructs an empty PartialClass.
+     */
+    public PartialClass() {
+        fields = new ArrayList<>();
+        methods = new ArrayList<>();
+        constructors = new ArrayList<>();
+        fieldNames = new HashSet<>();
+        methodSignatures = new HashSet<>();
+    }
+
+    /**
+     * Sets the header of the class.
+     *
+     * @param accessFlags access flags for the class.
+     * @param thisClass   fully qualified name of the class in internal form.
+     * @param superClass  fully qualified name of the parent class in internal form.
+     */
+    public void addClass(ArrayList<String> accessFlags, String thisClass, String superClass) {
+        name = thisClass.replace('/', '.');
+        this.accessFlags = accessFlagsToInt(accessFlags) & ~CLConstants.ACC_SUPER;
+        superName = superClass.replace('/', '.');
+    }
+
+    /**
+     * Returns true if the class has a field with the specified name, and false otherwise.
+     *
+     * @param name field name.
+     * @return true if the class has a field with the specified name, and false otherwise.
+     */
+    public boolean containsFieldName(String name) {
+        return fieldNames.contains(name);
+    }
+
+    /**
+     * Adds the given field name to the set of field names.
+     *
+     * @param name field name.
+     */
+    public void addFieldName(String name) {
+        fieldNames.add(name);
+    }
+
+    /**
+     * Adds a field.
+     *
+     * @param accessFlags access flags for the field.
+     * @param name        name of the field.
+     * @param type        type descriptor of the field.
+     */
+    public void addField(ArrayList<String> accessFlags, String name, String type) {
+        fields.add(new MemberSymbol(this.name, name, accessFlagsToInt(accessFlags), type));
+    }
+
+    /**
+     * Returns true if the class has a method with the specified signature, and false otherwise.
+     *
+     * @param signature method signature.
+     * @return true if the class has a method with the specified signature, and false otherwise.
+     */
+    public boolean containsMethodSignature(String signature) {
+        return methodSignatures.contains(signature);
+    }
+
+    /**
+     * Adds the given method signature to the set of method signatures.
+     *
+     * @param signature method signature.
+     */
+    public void addMethodSignature(String signature) {
+        methodSignatures.add(signature);
+    }
+
+    /**
+     * Adds a method, or a constructor if its name is &lt;init&gt;.
+     *
+     * @param accessFlags access flags for the method.
+     * @param name        name of the method.
+     * @param descriptor  descriptor specifying the return type and the types of the formal parameters.
+     */
+    public void addMethod(ArrayList<String> accessFlags, String name, String descriptor) {
+        MemberSymbol method = new MemberSymbol(this.name, name, accessFlagsToInt(accessFlags), descriptor);
+        (name.equals("<init>") ? constructors : methods).add(method);
+    }
+
+    /**
+     * Returns the symbol for the class.
+     *
+     * @return the symbol for the class.
+     */
+    public ClassSymbol toClassSymbol() {
+        return new ClassSymbol(name, accessFlags, superName, new String[0], fields.toArray(new MemberSymbol[0]),
+                methods.toArray(new MemberSymbol[0]), constructors.toArray(new MemberSymbol[0]), true);
+    }
+
+    // Returns the int value of the specified access flags.
+    private static int accessFlagsToInt(ArrayList<String> accessFlags) {
+        int flags = 0;
+        if (accessFlags != null) {
+            for (String s : accessFlags) {
+                flags |= CLFile.accessFlagToInt(s);
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,275 @@
+package jminusminus;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+/**
+ * A generator of large, valid j-- programs, for testing how the compiler scales. A program consists of a number of
+ * classes C0, C1, ..., each in its own source file, whose size can be set along several axes:
+ * <ul>
+ *   <li>classes: the number of classes.</li>
+ *   <li>methods: the number of (static, int) methods per class; the methods call one another, within and across
+ *   classes.</li>
+ *   <li>statements: the number of statements per method: assignments, if and while statements, string
+ *   concatenations, and calls, in turn.</li>
+ *   <li>depth: the nesting depth of the arithmetic and boolean expressions in the statements.</li>
+ *   <li>locals: the number of int local variables per method.</li>
+ *   <li>strings: the number of distinct string literals per method, concatenated into a String local.</li>
+ *   <li>constants: the number of distinct int constants per method that are too large to be pushed by an
+ *   instruction, and hence add to the constant pool.</li>
+ * </ul>
+ * The programs are generated from a seed, so the same settings always generate the same program. They are meant to be
+ * compiled, not run (the methods may well not terminate).
+ */
+public class ProgramGenerator {
+    // Seed from which the program is generated.
+    private final long seed;
+
+    // Random number generator from which the program is generated.
+    private Random random;
+
+    // The sizes of the program along the axes.
+    private int classes, methods, statements, depth, locals, strings, constants;
+
+    // Index of the next (program-wide) unique constant.
+    private int nextConstant;
+
+    // Number of locals declared so far in the method being generated.
+    private int declaredLocals;
+
+    /**
+     * Constructs a ProgramGenerator for a program of 4 classes with 8 methods of 20 statements each, expressions nested
+     * 4 deep, and 8 locals, 8 string literals, and 8 large constants per method.
+     *
+     * @param seed the seed from which the program is generated.
+     */
+    public ProgramGenerator(long seed) {
+        this.seed = seed;
+        classes = 4;
+        methods = 8;
+        statements = 20;
+        depth = 4;
+        locals = 8;
+        strings = 8;
+        constants = 8;
+    }
+
+    /**
+     * Sets the size of the program along the specified axis (classes, methods, statements, depth, locals, strings, or
+     * constants).
+     *
+     * @param axis the axis.
+     * @param size the size along the axis; at least 1 (or 0 for depth, strings, and constants).
+     * @throws IllegalArgumentException if the axis is not known, or the size is too small.
+     */
+    public void setSize(String axis, int size) {
+        if (size < (axis.equals("depth") || axis.equals("strings") || axis.equals("constants") ? 0 : 1)) {
+            throw new IllegalArgumentException("size " + size + " too small for " + axis);
+        }
+        switch (axis) {
+            case "classes":
+                classes = size;
+                break;
+            case "methods":
+                methods = size;
+                break;
+            case "statements":
+                statements = size;
+                break;
+            case "depth":
+                depth = size;
+                break;
+            case "locals":
+                locals = size;
+                break;
+            case "strings":
+                strings = size;
+                break;
+            case "constants":
+                constants = size;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown axis " + axis);
+        }
+    }
+
+    /**
+     * Returns the size of the program along the specified axis.
+     *
+     * @param axis the axis.
+     * @return the size of the program along the axis.
+     * @throws IllegalArgumentException if the axis is not known.
+     */
+    public int size(String axis) {
+        switch (axis) {
+            case "classes":
+                return classes;
+            case "methods":
+                return methods;
+            case "statements":
+                return statements;
+            case "depth":
+                return depth;
+            case "locals":
+                return locals;
+            case "strings":
+                return strings;
+            case "constants":
+                return constants;
+            default:
+                throw new IllegalArgumentException("unknown axis " + axis);
+        }
+    }
+
+    /**
+     * Generates the program into the specified directory (which is created if need be), one source file per class.
+     *
+     * @param outputDir the directory.
+     * @throws IOException if a source file cannot be written.
+     */
+    public void generate(String outputDir) throws IOException {
+        new File(outputDir).mkdirs();
+        random = new Random(seed);
+        nextConstant = 0;
+        for (int c = 0; c < classes; c++) {
+            File file = new File(outputDir, "C" + c + ".java");
+            try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+                out.print(generateClass(c));
+            }
+        }
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args the command-line arguments.
+     */
+    public static void main(String[] args) {
+        String outputDir = ".";
+        long seed = 0;
+        LinkedHashMap<String, Integer> sizes = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-d") && (i + 1) < args.length) {
+                outputDir = args[++i];
+            } else if (args[i].equals("-seed") && (i + 1) < args.length && args[i + 1].matches("[0-9]+")) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].startsWith("-") && (i + 1) < args.length && args[i + 1].matches("[0-9]+")) {
+                sizes.put(args[i].substring(1), Integer.parseInt(args[++i]));
+            } else {
+                printUsage();
+                return;
+            }
+        }
+        ProgramGenerator generator = new ProgramGenerator(seed);
+        try {
+            for (String axis : sizes.keySet()) {
+                generator.setSize(axis, sizes.get(axis));
+            }
+        } catch (IllegalArgumentException e) {
+            printUsage();
+            return;
+        }
+        try {
+            generator.generate(outputDir);
+        } catch (IOException e) {
+            System.err.println("Error: cannot write to " + outputDir);
+        }
+    }
+
+    // Returns the source of the class with the specified index.
+    private String generateClass(int c) {
+        StringBuilder source = new StringBuilder();
+        source.append(String.format("public class C%d {\n", c));
+        for (int m = 0; m < methods; m++) {
+            if (m > 0) {
+                source.append("\n");
+            }
+            generateMethod(source, c, m);
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    // Appends the source of method m of class c to the specified source.
+    private void generateMethod(StringBuilder source, int c, int m) {
+        source.append(String.format("    public static int m%d(int a, int b) {\n", m));
+        for (declaredLocals = 0; declaredLocals < locals; declaredLocals++) {
+            source.append(String.format("        int v%d = %s;\n", declaredLocals,
+                    declaredLocals == 0 ? "a" : expression(depth)));
+        }
+        source.append("        String s = \"\";\n");
+        for (int k = 0; k < strings; k++) {
+            source.append(String.format("        s = s + \"c%d.m%d.%d\";\n", c, m, k));
+        }
+        for (int k = 0; k < constants; k++) {
+            source.append(String.format("        v%d = v%d + %d;\n", k % locals, k % locals, 100000 + nextConstant++));
+        }
+        for (int k = 0; k < statements; k++) {
+            String v = local();
+            switch (k % 5) {
+                case 0:
+                    source.append(String.format("        %s = %s;\n", v, expression(depth)));
+                    break;
+                case 1:
+                    source.append(String.format("        if (%s) {\n            %s = %s;\n        } else {\n"
+                            + "            %s = %s;\n        }\n", condition(depth), v, expression(depth), v,
+                            expression(depth)));
+                    break;
+                case 2:
+                    source.append(String.format("        while (%s) {\n            %s = %s - 1;\n        }\n",
+                            condition(depth), v, v));
+                    break;
+                case 3:
+                    source.append(String.format("        s = s + %s;\n", expression(depth)));
+                    break;
+                default:
+                    source.append(String.format("        %s = C%d.m%d(%s, %s);\n", v, random.nextInt(classes),
+                            random.nextInt(methods), expression(depth), local()));
+            }
+        }
+        source.append("        return v0 + b;\n");
+        source.append("    }\n");
+    }
+
+    // Returns an int expression of the specified nesting depth.
+    private String expression(int depth) {
+        if (depth == 0) {
+            return random.nextBoolean() ? local() : String.valueOf(random.nextInt(100));
+        }
+        String[] operators = {" + ", " - ", " * "};
+        return "(" + local() + operators[random.nextInt(operators.length)] + expression(depth - 1) + ")";
+    }
+
+    // Returns a boolean expression of the specified nesting depth.
+    private String condition(int depth) {
+        String[] operators = {" > ", " <= ", " == "};
+        String comparison = local() + operators[random.nextInt(operators.length)] + expression(depth / 2);
+        return depth <= 1 ? comparison : comparison + " && " + condition(depth - 1 - depth / 2);
+    }
+
+    // Returns the name of a random local variable declared so far (or parameter).
+    private String local() {
+        int l = random.nextInt(declaredLocals + 1);
+        return l == declaredLocals ? "b" : "v" + l;
+    }
+
+    // Prints command usage to STDOUT.
+    private static void printUsage() {
+        String usage = "Usage: java jminusminus.ProgramGenerator [-seed <n>] <options>\n"
+                + "Where possible options include:\n"
+                + "  -d  <dir> Specify where to place the source files; default = .\n"
+                + "  -classes <n> Number of classes; default = 4\n"
+                + "  -methods <n> Number of methods per class; default = 8\n"
+                + "  -statements <n> Number of statements per method; default = 20\n"
+                + "  -depth <n> Nesting depth of expressions; default = 4\n"
+                + "  -locals <n> Number of locals per method; default = 8\n"
+                + "  -strings <n> Number of string literals per method; default = 8\n"
+                + "  -constants <n> Number of large int constants per method; default = 8";
+        System.out.println(usage);
+    }
+}
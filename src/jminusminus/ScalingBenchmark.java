@@ -0,0 +1,194 @@
+package jminusminus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A benchmark of how the compiler scales with the size of the programs it compiles. For each axis along which
+ * ProgramGenerator sizes programs, it proceeds as follows:
+ * <ol>
+ *   <li>It generates programs whose size along the axis is the default size (see ProgramGenerator) times each of a
+ *   list of factors, the size along the other axes being the default.</li>
+ *
+ *   <li>It compiles each program with Main (with the -timings option), in a JVM of its own so that the compilations do
+ *   not affect one another, a number of times, and keeps the best wall time of each phase.</li>
+ *
+ *   <li>It reports the time of each phase for each size, and the exponent k such that the time grows as tokens^k
+ *   from the smallest to the largest program; a phase whose exponent is above a threshold (and that takes long enough
+ *   to be measured reliably) is flagged as growing super-linearly.</li>
+ * </ol>
+ */
+public class ScalingBenchmark {
+    // The axes along which the programs are sized.
+    private static final String[] AXES = {"classes", "methods", "statements", "depth", "locals", "strings",
+            "constants"};
+
+    // The phases reported (see Timings), in order.
+    private static final String[] PHASES = {"parse", "scan", "imports", "declare", "preAnalyze", "load", "analyze",
+            "codegen", "write"};
+
+    // Time (in nanoseconds) below which a phase is not flagged, since its growth cannot be measured reliably.
+    private static final long MIN_FLAGGED_TIME = 20000000;
+
+    /**
+     * Constructs a ScalingBenchmark object.
+     */
+    public ScalingBenchmark() {
+        // Nothing here.
+    }
+
+    /**
+     * Entry point.
+     *
+     * @param args the command-line arguments.
+     */
+    public static void main(String[] args) {
+        ArrayList<String> axes = new ArrayList<>();
+        int[] factors = {1, 4, 16};
+        int runs = 3;
+        double threshold = 1.3;
+        String workDir = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-axis") && (i + 1) < args.length && Arrays.asList(AXES).contains(args[i + 1])) {
+                axes.add(args[++i]);
+            } else if (args[i].equals("-factors") && (i + 1) < args.length
+                    && args[i + 1].matches("[1-9][0-9]*(,[1-9][0-9]*)+")) {
+                factors = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (args[i].equals("-runs") && (i + 1) < args.length && args[i + 1].matches("[1-9][0-9]*")) {
+                runs = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-threshold") && (i + 1) < args.length
+                    && args[i + 1].matches("[0-9]+(\\.[0-9]+)?")) {
+                threshold = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("-d") && (i + 1) < args.length) {
+                workDir = args[++i];
+            } else {
+                printUsage();
+                return;
+            }
+        }
+        if (axes.isEmpty()) {
+            axes.addAll(Arrays.asList(AXES));
+        }
+        try {
+            if (workDir == null) {
+                workDir = Files.createTempDirectory("j--scaling").toString();
+            }
+            boolean isSuperLinear = false;
+            for (String axis : axes) {
+                isSuperLinear |= benchmark(axis, factors, runs, threshold, workDir);
+            }
+            System.out.println(isSuperLinear ? "Super-linear growth found." : "No super-linear growth found.");
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    // Benchmarks the compilation of programs sized by the specified factors along the specified axis (in the specified
+    // working directory), compiling each the specified number of times, and reports the results. Returns true if a
+    // phase grows with an exponent above the specified threshold, and false otherwise.
+    private static boolean benchmark(String axis, int[] factors, int runs, double threshold, String workDir)
+            throws IOException, InterruptedException {
+        long[] tokens = new long[factors.length];
+        long[][] times = new long[PHASES.length][factors.length];
+        int[] sizes = new int[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            ProgramGenerator generator = new ProgramGenerator(0);
+            sizes[i] = Math.max(generator.size(axis), 1) * factors[i];
+            generator.setSize(axis, sizes[i]);
+            String dir = workDir + File.separator + axis + sizes[i];
+            String sourceDir = dir + File.separator + "src";
+            generator.generate(sourceDir);
+            for (long[] phaseTimes : times) {
+                phaseTimes[i] = Long.MAX_VALUE;
+            }
+            for (int run = 0; run < runs; run++) {
+                String timingsFile = dir + File.separator + "timings.csv";
+                if (!compile(sourceDir, dir + File.separator + "classes", timingsFile)) {
+                    throw new IOException("cannot compile " + sourceDir);
+                }
+                long[] phaseTimes = new long[PHASES.length];
+                tokens[i] = readTimings(timingsFile, phaseTimes);
+                for (int p = 0; p < PHASES.length; p++) {
+                    times[p][i] = Math.min(times[p][i], phaseTimes[p]);
+                }
+            }
+        }
+
+        boolean isSuperLinear = false;
+        System.out.println(axis);
+        System.out.printf("    %-12s", "size");
+        for (int size : sizes) {
+            System.out.printf(" %10d", size);
+        }
+        System.out.printf("\n    %-12s", "tokens");
+        for (long count : tokens) {
+            System.out.printf(" %10d", count);
+        }
+        System.out.printf(" %9s\n", "exponent");
+        for (int p = 0; p < PHASES.length; p++) {
+            System.out.printf("    %-12s", PHASES[p]);
+            for (long time : times[p]) {
+                System.out.printf(" %8.1fms", time / 1e6);
+            }
+            int last = factors.length - 1;
+            double exponent = Math.log((double) Math.max(times[p][last], 1) / Math.max(times[p][0], 1))
+                    / Math.log((double) tokens[last] / tokens[0]);
+            boolean isFlagged = exponent > threshold && times[p][last] >= MIN_FLAGGED_TIME;
+            System.out.printf(" %9.2f%s\n", exponent, isFlagged ? "  SUPER-LINEAR" : "");
+            isSuperLinear |= isFlagged;
+        }
+        return isSuperLinear;
+    }
+
+    // Compiles the source files in the specified directory with Main, in a new JVM, writing the classes to the
+    // specified output directory and the timings report to the specified file. Returns true if the compilation
+    // succeeded, and false otherwise.
+    private static boolean compile(String sourceDir, String outputDir, String timingsFile)
+            throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "jminusminus.Main", "-d", outputDir, "-timings", timingsFile, sourceDir);
+        builder.inheritIO();
+        Files.deleteIfExists(Path.of(timingsFile));
+        return builder.start().waitFor() == 0 && new File(timingsFile).exists();
+    }
+
+    // Reads the specified timings report (in CSV), adding up the wall time of each phase into the specified array
+    // (indexed as PHASES), and returns the number of tokens compiled.
+    private static long readTimings(String timingsFile, long[] phaseTimes) throws IOException {
+        List<String> lines = Files.readAllLines(Path.of(timingsFile));
+        long tokens = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            // phase,file,class,wallNanos,cpuNanos,allocatedBytes,lines,tokens,nodes (the generated names need no
+            // quoting).
+            String[] fields = line.split(",", -1);
+            int p = Arrays.asList(PHASES).indexOf(fields[0]);
+            if (p >= 0) {
+                phaseTimes[p] += Long.parseLong(fields[3]);
+            }
+            if (fields[0].equals("parse")) {
+                tokens += Long.parseLong(fields[7]);
+            }
+        }
+        return tokens;
+    }
+
+    // Prints command usage to STDOUT.
+    private static void printUsage() {
+        String usage = "Usage: java jminusminus.ScalingBenchmark <options>\n"
+                + "Where possible options include:\n"
+                + "  -axis <axis> Scale programs along axis (classes, methods, statements, depth, locals, strings, or\n"
+                + "               constants); may be repeated; default = all axes\n"
+                + "  -factors <n,n,...> Factors by which to scale the default size along each axis; default = 1,4,16\n"
+                + "  -runs <n> Number of compilations of each program, of which the best is kept; default = 3\n"
+                + "  -threshold <x> Exponent above which the growth of a phase is flagged; default = 1.3\n"
+                + "  -d <dir> Working directory for the programs, classes, and reports; default = a new temporary\n"
+                + "           directory";
+        System.out.println(usage);
+    }
+}
@@ -1,10 +1,13 @@
 package jminusminus;
 
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.util.Hashtable;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import static jminusminus.TokenKind.*;
 
@@ -17,8 +20,21 @@ class Scanner {
      */
     public final static char EOFCH = CharReader.EOFCH;
 
-    // Keywords in j--.
-    private final Hashtable<String, TokenKind> reserved;
+    // Keywords in j--, hashed (see keywordHash()) into a table in which no two keywords collide.
+    private static final TokenKind[] KEYWORDS = new TokenKind[32];
+
+    static {
+        TokenKind[] keywords = {ABSTRACT, BOOLEAN, CHAR, CLASS, ELSE, EXTENDS, FALSE, IF, IMPORT, INSTANCEOF, INT, NEW,
+                NULL, PACKAGE, PRIVATE, PROTECTED, PUBLIC, RETURN, STATIC, SUPER, THIS, TRUE, VOID, WHILE};
+        for (TokenKind keyword : keywords) {
+            String image = keyword.image();
+            int h = keywordHash(image.charAt(0), image.charAt(1), image.charAt(image.length() - 1), image.length());
+            if (KEYWORDS[h] != null) {
+                throw new IllegalStateException("keywords " + KEYWORDS[h].image() + " and " + image + " collide");
+            }
+            KEYWORDS[h] = keyword;
+        }
+    }
 
     // Source characters.
     private final CharReader input;
@@ -35,6 +51,21 @@ class Scanner {
     // Line number of current token.
     private int line;
 
+    // Index in the source of the first character of the current token.
+    private int tokenBegin;
+
+    // Index in the source of the character after the current token.
+    private int tokenEnd;
+
+    // Table in which the identifiers are interned.
+    private final Names names;
+
+    // Identifiers interned so far, hashed (by their String hash codes) into an open-addressed table.
+    private String[] identifiers;
+
+    // Number of identifiers in the identifiers table.
+    private int identifierCount;
+
     /**
      * Constructs a Scanner from a file name.
      *
@@ -42,36 +73,40 @@ class Scanner {
      * @throws FileNotFoundException when the named file cannot be found.
      */
     public Scanner(String fileName) throws FileNotFoundException {
-        this.input = new CharReader(fileName);
-        this.fileName = fileName;
-        isInError = false;
+        this(fileName, new Names());
+    }
 
-        // Keywords in j--
-        reserved = new Hashtable<>();
-        reserved.put(ABSTRACT.image(), ABSTRACT);
-        reserved.put(BOOLEAN.image(), BOOLEAN);
-        reserved.put(CHAR.image(), CHAR);
-        reserved.put(CLASS.image(), CLASS);
-        reserved.put(ELSE.image(), ELSE);
-        reserved.put(EXTENDS.image(), EXTENDS);
-        reserved.put(FALSE.image(), FALSE);
-        reserved.put(IF.image(), IF);
-        reserved.put(IMPORT.image(), IMPORT);
-        reserved.put(INSTANCEOF.image(), INSTANCEOF);
-        reserved.put(INT.image(), INT);
-        reserved.put(NEW.image(), NEW);
-        reserved.put(NULL.image(), NULL);
-        reserved.put(PACKAGE.image(), PACKAGE);
-        reserved.put(PRIVATE.image(), PRIVATE);
-        reserved.put(PROTECTED.image(), PROTECTED);
-        reserved.put(PUBLIC.image(), PUBLIC);
-        reserved.put(RETURN.image(), RETURN);
-        reserved.put(STATIC.image(), STATIC);
-        reserved.put(SUPER.image(), SUPER);
-        reserved.put(THIS.image(), THIS);
-        reserved.put(TRUE.image(), TRUE);
-        reserved.put(VOID.image(), VOID);
-        reserved.put(WHILE.image(), WHILE);
+    /**
+     * Constructs a Scanner from a file name, which interns the identifiers in the specified table.
+     *
+     * @param fileName name of the source file.
+     * @param names    the table in which the identifiers are interned.
+     * @throws FileNotFoundException when the named file cannot be found.
+     */
+    public Scanner(String fileName, Names names) throws FileNotFoundException {
+        this(new CharReader(fileName), names);
+    }
+
+    /**
+     * Constructs a Scanner that reads the source from the specified reader, and interns the identifiers in the
+     * specified table.
+     *
+     * @param fileName name of the source file (used in error messages).
+     * @param reader   the reader from which the source is read.
+     * @param names    the table in which the identifiers are interned.
+     */
+    public Scanner(String fileName, Reader reader, Names names) {
+        this(new CharReader(fileName, reader), names);
+    }
+
+    // Constructs a Scanner that scans the source read by the specified character reader.
+    private Scanner(CharReader input, Names names) {
+        this.input = input;
+        this.fileName = input.fileName();
+        this.names = names;
+        isInError = false;
+        identifiers = new String[256];
+        identifierCount = 0;
 
         // Prime the pump.
         nextCh();
@@ -83,7 +118,74 @@ class Scanner {
      * @return the next scanned token.
      */
     public TokenInfo getNextToken() {
-        StringBuilder buffer;
+        TokenKind kind = nextToken();
+        return new TokenInfo(kind, image(kind, tokenBegin, tokenEnd), line);
+    }
+
+    /**
+     * Scans the next token from input, without materializing it, and returns its kind. The line in which the token
+     * occurs, and the indices of its first character and of the character after it in the source, are then returned
+     * by tokenLine(), tokenBegin(), and tokenEnd().
+     *
+     * @return the kind of the next scanned token.
+     */
+    public TokenKind nextToken() {
+        TokenKind kind = scanToken();
+        tokenEnd = input.position();
+        return kind;
+    }
+
+    /**
+     * Returns the line in which the token last scanned occurs.
+     *
+     * @return the line in which the token last scanned occurs.
+     */
+    public int tokenLine() {
+        return line;
+    }
+
+    /**
+     * Returns the index in the source of the first character of the token last scanned.
+     *
+     * @return the index in the source of the first character of the token last scanned.
+     */
+    public int tokenBegin() {
+        return tokenBegin;
+    }
+
+    /**
+     * Returns the index in the source of the character after the token last scanned.
+     *
+     * @return the index in the source of the character after the token last scanned.
+     */
+    public int tokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * Returns the image of a token of the specified kind, which spans the source characters between the specified
+     * indices. Identifiers are interned.
+     *
+     * @param kind  the kind of the token.
+     * @param begin the index of the token's first character.
+     * @param end   the index of the character after the token.
+     * @return the image of the token.
+     */
+    public String image(TokenKind kind, int begin, int end) {
+        switch (kind) {
+            case IDENTIFIER:
+                return identifier(begin, end);
+            case INT_LITERAL:
+            case CHAR_LITERAL:
+            case STRING_LITERAL:
+                return input.text(begin, end);
+            default:
+                return kind.image();
+        }
+    }
+
+    // Scans the next token from input, and returns its kind.
+    private TokenKind scanToken() {
         boolean moreWhiteSpace = true;
         while (moreWhiteSpace) {
             while (isWhitespace(ch)) {
@@ -103,123 +205,116 @@ class Scanner {
                 moreWhiteSpace = false;
             }
         }
+        tokenBegin = input.position();
         switch (ch) {
             case EOFCH:
-                return new TokenInfo(EOF, line);
+                return EOF;
             case ',':
                 nextCh();
-                return new TokenInfo(COMMA, line);
+                return COMMA;
             case '.':
                 nextCh();
-                return new TokenInfo(DOT, line);
+                return DOT;
             case '[':
                 nextCh();
-                return new TokenInfo(LBRACK, line);
+                return LBRACK;
             case '{':
                 nextCh();
-                return new TokenInfo(LCURLY, line);
+                return LCURLY;
             case '(':
                 nextCh();
-                return new TokenInfo(LPAREN, line);
+                return LPAREN;
             case ']':
                 nextCh();
-                return new TokenInfo(RBRACK, line);
+                return RBRACK;
             case '}':
                 nextCh();
-                return new TokenInfo(RCURLY, line);
+                return RCURLY;
             case ')':
                 nextCh();
-                return new TokenInfo(RPAREN, line);
+                return RPAREN;
             case ';':
                 nextCh();
-                return new TokenInfo(SEMI, line);
+                return SEMI;
             case '-':
                 nextCh();
                 if (ch == '-') {
                     nextCh();
-                    return new TokenInfo(DEC, line);
+                    return DEC;
                 } else {
-                    return new TokenInfo(MINUS, line);
+                    return MINUS;
                 }
             case '+':
                 nextCh();
                 if (ch == '=') {
                     nextCh();
-                    return new TokenInfo(PLUS_ASSIGN, line);
+                    return PLUS_ASSIGN;
                 } else if (ch == '+') {
                     nextCh();
-                    return new TokenInfo(INC, line);
+                    return INC;
                 } else {
-                    return new TokenInfo(PLUS, line);
+                    return PLUS;
                 }
             case '*':
                 nextCh();
-                return new TokenInfo(STAR, line);
+                return STAR;
             case '=':
                 nextCh();
                 if (ch == '=') {
                     nextCh();
-                    return new TokenInfo(EQUAL, line);
+                    return EQUAL;
                 } else {
-                    return new TokenInfo(ASSIGN, line);
+                    return ASSIGN;
                 }
             case '>':
                 nextCh();
-                return new TokenInfo(GT, line);
+                return GT;
             case '<':
                 nextCh();
                 if (ch == '=') {
                     nextCh();
-                    return new TokenInfo(LE, line);
+                    return LE;
                 } else {
                     reportScannerError("operator < is not supported in j--");
-                    return getNextToken();
+                    return scanToken();
                 }
             case '!':
                 nextCh();
-                return new TokenInfo(LNOT, line);
+                return LNOT;
             case '&':
                 nextCh();
                 if (ch == '&') {
                     nextCh();
-                    return new TokenInfo(LAND, line);
+                    return LAND;
                 } else {
                     reportScannerError("operator & is not supported in j--");
-                    return getNextToken();
+                    return scanToken();
                 }
             case '\'':
-                buffer = new StringBuilder();
-                buffer.append('\'');
                 nextCh();
                 if (ch == '\\') {
                     nextCh();
-                    buffer.append(escape());
+                    escape();
                 } else {
-                    buffer.append(ch);
                     nextCh();
                 }
                 if (ch == '\'') {
-                    buffer.append('\'');
                     nextCh();
-                    return new TokenInfo(CHAR_LITERAL, buffer.toString(), line);
                 } else {
                     // Expected a '; report error and try to recover.
                     reportScannerError(ch + " found by scanner where closing ' was expected");
                     while (ch != '\'' && ch != ';' && ch != '\n') {
                         nextCh();
                     }
-                    return new TokenInfo(CHAR_LITERAL, buffer.toString(), line);
                 }
+                return CHAR_LITERAL;
             case '"':
-                buffer = new StringBuilder();
-                buffer.append("\"");
                 nextCh();
                 while (ch != '"' && ch != '\n' && ch != EOFCH) {
                     if (ch == '\\') {
                         nextCh();
-                        buffer.append(escape());
+                        escape();
                     } else {
-                        buffer.append(ch);
                         nextCh();
                     }
                 }
@@ -230,9 +325,8 @@ class Scanner {
                 } else {
                     // Scan the closing ".
                     nextCh();
-                    buffer.append("\"");
                 }
-                return new TokenInfo(STRING_LITERAL, buffer.toString(), line);
+                return STRING_LITERAL;
             case '0':
             case '1':
             case '2':
@@ -243,29 +337,21 @@ class Scanner {
             case '7':
             case '8':
             case '9':
-                buffer = new StringBuilder();
                 while (isDigit(ch)) {
-                    buffer.append(ch);
                     nextCh();
                 }
-                return new TokenInfo(INT_LITERAL, buffer.toString(), line);
+                return INT_LITERAL;
             default:
                 if (isIdentifierStart(ch)) {
-                    buffer = new StringBuilder();
                     while (isIdentifierPart(ch)) {
-                        buffer.append(ch);
                         nextCh();
                     }
-                    String identifier = buffer.toString();
-                    if (reserved.containsKey(identifier)) {
-                        return new TokenInfo(reserved.get(identifier), line);
-                    } else {
-                        return new TokenInfo(IDENTIFIER, identifier, line);
-                    }
+                    TokenKind keyword = keyword(tokenBegin, input.position());
+                    return keyword != null ? keyword : IDENTIFIER;
                 } else {
                     reportScannerError("unidentified input token '%c'", ch);
                     nextCh();
-                    return getNextToken();
+                    return scanToken();
                 }
         }
     }
@@ -288,40 +374,99 @@ class Scanner {
         return fileName;
     }
 
-    // Scans and returns an escaped character.
-    private String escape() {
+    // Scans an escaped character (following a backslash).
+    private void escape() {
         switch (ch) {
             case 'b':
-                nextCh();
-                return "\\b";
             case 't':
-                nextCh();
-                return "\\t";
             case 'n':
-                nextCh();
-                return "\\n";
             case 'f':
-                nextCh();
-                return "\\f";
             case 'r':
-                nextCh();
-                return "\\r";
             case '"':
-                nextCh();
-                return "\\\"";
             case '\'':
-                nextCh();
-                return "\\'";
             case '\\':
                 nextCh();
-                return "\\\\";
+                break;
             default:
                 reportScannerError("Badly formed escape: \\%c", ch);
                 nextCh();
-                return "";
         }
     }
 
+    // Returns the keyword spelled by the source characters between the specified indices, or null if they do not spell
+    // a keyword.
+    private TokenKind keyword(int begin, int end) {
+        int length = end - begin;
+        if (length < 2) {
+            return null;
+        }
+        TokenKind keyword = KEYWORDS[keywordHash(input.charAt(begin), input.charAt(begin + 1), input.charAt(end - 1),
+                length)];
+        if (keyword == null || keyword.image().length() != length) {
+            return null;
+        }
+        String image = keyword.image();
+        for (int i = 0; i < length; i++) {
+            if (image.charAt(i) != input.charAt(begin + i)) {
+                return null;
+            }
+        }
+        return keyword;
+    }
+
+    // Returns the interned String for the identifier spelled by the source characters between the specified indices.
+    private String identifier(int begin, int end) {
+        int hash = 0;
+        for (int i = begin; i < end; i++) {
+            hash = 31 * hash + input.charAt(i);
+        }
+        int mask = identifiers.length - 1;
+        int h = hash & mask;
+        for (String identifier = identifiers[h]; identifier != null; identifier = identifiers[h]) {
+            if (identifier.hashCode() == hash && spells(identifier, begin, end)) {
+                return identifier;
+            }
+            h = (h + 1) & mask;
+        }
+        String identifier = names.intern(input.text(begin, end));
+        identifiers[h] = identifier;
+        if (++identifierCount * 2 > identifiers.length) {
+            String[] oldIdentifiers = identifiers;
+            identifiers = new String[oldIdentifiers.length * 2];
+            mask = identifiers.length - 1;
+            for (String oldIdentifier : oldIdentifiers) {
+                if (oldIdentifier != null) {
+                    h = oldIdentifier.hashCode() & mask;
+                    while (identifiers[h] != null) {
+                        h = (h + 1) & mask;
+                    }
+                    identifiers[h] = oldIdentifier;
+                }
+            }
+        }
+        return identifier;
+    }
+
+    // Returns true if the specified String is spelled by the source characters between the specified indices, and
+    // false otherwise.
+    private boolean spells(String s, int begin, int end) {
+        if (s.length() != end - begin) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) != input.charAt(begin + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the index in the keywords table of a word with the specified first, second, and last characters, and
+    // length. The coefficients were chosen so that no two keywords collide.
+    private static int keywordHash(char first, char second, char last, int length) {
+        return (21 * first + 5 * second + 14 * last + length) & 31;
+    }
+
     // Advances ch to the next character from input, and updates the line number.
     private void nextCh() {
         line = input.line();
@@ -336,9 +481,7 @@ class Scanner {
     // Scanner by sending it an errorHasOccurred message.
     private void reportScannerError(String message, Object... args) {
         isInError = true;
-        System.err.printf("%s:%d: error: ", fileName, line);
-        System.err.printf(message, args);
-        System.err.println();
+        Diagnostic.report(fileName, line, String.format(message, args));
     }
 
     // Returns true if the specified character is a digit (0-9), and false otherwise.
@@ -363,8 +506,8 @@ class Scanner {
 }
 
 /**
- * A buffered character reader, which abstracts out differences between platforms, mapping all new lines to '\n', and
- * also keeps track of line numbers.
+ * A character reader, which reads the whole source into memory up front, abstracts out differences between platforms,
+ * mapping all new lines to '\n', and also keeps track of line numbers.
  */
 class CharReader {
     /**
@@ -372,8 +515,23 @@ class CharReader {
      */
     public final static char EOFCH = (char) -1;
 
-    // The underlying reader records line numbers.
-    private final LineNumberReader lineNumberReader;
+    // Characters of the source; only the first length are used.
+    private char[] chars;
+
+    // Number of characters in the source.
+    private int length;
+
+    // Index of the next character to read.
+    private int next;
+
+    // Index of the character last read (length, at the end of file).
+    private int position;
+
+    // Number of line terminators read so far.
+    private int lines;
+
+    // Error that occurred while reading the source, to be thrown by nextChar(), or null.
+    private IOException error;
 
     // Name of the file that is being read.
     private final String fileName;
@@ -385,18 +543,67 @@ class CharReader {
      * @throws FileNotFoundException if the file is not found.
      */
     public CharReader(String fileName) throws FileNotFoundException {
-        lineNumberReader = new LineNumberReader(new FileReader(fileName));
         this.fileName = fileName;
+        try (FileInputStream in = new FileInputStream(fileName)) {
+            CharBuffer buffer = Charset.defaultCharset().decode(ByteBuffer.wrap(in.readAllBytes()));
+            chars = buffer.array();
+            length = buffer.limit();
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Constructs a CharReader that reads the source from the specified reader.
+     *
+     * @param fileName the name of the input file (used in error messages).
+     * @param reader   the reader from which the source is read.
+     */
+    public CharReader(String fileName, Reader reader) {
+        this.fileName = fileName;
+        chars = new char[8192];
+        try (reader) {
+            int n;
+            while ((n = reader.read(chars, length, chars.length - length)) != -1) {
+                length += n;
+                if (length == chars.length) {
+                    chars = Arrays.copyOf(chars, chars.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
     }
 
     /**
      * Scans and returns the next character.
      *
      * @return the character scanned.
-     * @throws IOException if an I/O error occurs.
+     * @throws IOException if an I/O error occurred while reading the source.
      */
     public char nextChar() throws IOException {
-        return (char) lineNumberReader.read();
+        if (error != null) {
+            IOException e = error;
+            error = null;
+            throw e;
+        }
+        position = next;
+        if (next >= length) {
+            return EOFCH;
+        }
+        char c = chars[next++];
+        if (c == '\r') {
+            if (next < length && chars[next] == '\n') {
+                next++;
+            }
+            lines++;
+            return '\n';
+        } else if (c == '\n') {
+            lines++;
+        }
+        return c;
     }
 
     /**
@@ -405,7 +612,38 @@ class CharReader {
      * @return the current line number in the source file.
      */
     public int line() {
-        return lineNumberReader.getLineNumber() + 1; // LineNumberReader counts lines from 0
+        return lines + 1;
+    }
+
+    /**
+     * Returns the index in the source of the character last scanned (the length of the source, if it was the end of
+     * file).
+     *
+     * @return the index in the source of the character last scanned.
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Returns the source character at the specified index.
+     *
+     * @param index the index.
+     * @return the source character at the specified index.
+     */
+    public char charAt(int index) {
+        return chars[index];
+    }
+
+    /**
+     * Returns the source text between the specified indices, which must not span a line terminator.
+     *
+     * @param begin the index of the first character.
+     * @param end   the index after the last character.
+     * @return the source text between the specified indices.
+     */
+    public String text(int begin, int end) {
+        return new String(chars, begin, end - begin);
     }
 
     /**
@@ -418,11 +656,17 @@ class CharReader {
     }
 
     /**
-     * Closes the file.
+     * Closes the file (a no-op, as the source is read in full when the reader is constructed).
      *
      * @throws IOException if an I/O error occurs.
      */
     public void close() throws IOException {
-        lineNumberReader.close();
+    }
+
+    // Records the specified error, which leaves the source empty.
+    private void fail(IOException e) {
+        chars = new char[0];
+        length = 0;
+        error = e;
     }
 }
@@ -0,0 +1,313 @@
+package jminusminus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.module.ModuleDescriptor;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A precomputed index of the symbols (see ClassSymbol) for the classes of a package that the java.base module
+ * exports; SymbolLoader consults the indices before the run-time image of the JDK. The indices are built, when the
+ * compiler is built, by running this class (see the compile target in build.xml), and are shipped next to the
+ * compiler's classes as the resources jdk/&lt;package&gt;.symbols. An index is read in one go (rather than
+ * memory-mapped, which costs a freshly started JVM more than reading it does) the first time that a class of its
+ * package is looked up, and symbols are decoded from it only when they are asked for, so a compilation that imports
+ * only java.base classes never opens the run-time image, which is the costliest part of starting up.
+ * <p>
+ * An index records the version of the JDK it was built from, and is ignored when the compiler runs on any other
+ * version, as the classes it describes might then differ from the ones in the run-time image.
+ * <p>
+ * An index is laid out (big-endian) as follows:
+ * <pre>
+ *   index       ::= u4 magic, string version, u4 stringCount, u4 classCount, u4 stringsLength,
+ *                   u4[stringCount] stringOffsets, { u4 name, u4 classOffset }[classCount] (sorted by name),
+ *                   strings, classes
+ *   string      ::= u2 length, u1[length] (UTF-8)
+ *   class       ::= u2 modifiers, u4 name, u4 superName (-1 for none), u2 interfaceCount, u4[interfaceCount],
+ *                   u2 fieldCount, member[fieldCount], u2 methodCount, member[methodCount]
+ *   member      ::= u2 modifiers, u4 name, u4 descriptor
+ * </pre>
+ * where the names and descriptors are indices of strings, the string offsets are relative to the start of the
+ * strings, and the class offsets to the start of the classes; constructors are listed among the methods.
+ */
+class SymbolIndex {
+    // Magic number of an index.
+    private static final int MAGIC = 0x6A2D2D53;
+
+    // Maps package names to their indices, or to empty for the packages having no (usable) index.
+    private static final ConcurrentHashMap<String, Optional<SymbolIndex>> indices = new ConcurrentHashMap<>();
+
+    // The contents of the index.
+    private final ByteBuffer bytes;
+
+    // Number of classes.
+    private final int classCount;
+
+    // Positions in the index of the string offsets, the class directory, the strings, and the classes.
+    private final int stringOffsetsStart;
+    private final int directoryStart;
+    private final int stringsStart;
+    private final int classesStart;
+
+    // The decoded strings.
+    private final String[] strings;
+
+    /**
+     * Returns the symbol for the class having the specified binary name if the index holds it, and null otherwise.
+     *
+     * @param name the binary name of the class.
+     * @return the symbol for the class, or null.
+     */
+    public static ClassSymbol lookup(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot == -1) {
+            return null;
+        }
+        Optional<SymbolIndex> index = indices.get(name.substring(0, dot));
+        if (index == null) {
+            index = indices.computeIfAbsent(name.substring(0, dot), key -> Optional.ofNullable(open(key)));
+        }
+        return index.isPresent() ? index.get().find(name) : null;
+    }
+
+    /**
+     * Builds the indices of the packages that the java.base module of the running JDK exports, and writes them to the
+     * directory whose name is specified.
+     *
+     * @param args the name of the directory.
+     * @throws IOException if the run-time image cannot be read or the indices cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java jminusminus.SymbolIndex <index directory>");
+            System.exit(1);
+        }
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        Path dir = Files.createDirectories(Path.of(args[0]));
+        int packageCount = 0;
+        int classCount = 0;
+        ModuleDescriptor descriptor = ModuleLayer.boot().findModule("java.base").get().getDescriptor();
+        for (ModuleDescriptor.Exports exports : descriptor.exports()) {
+            if (exports.isQualified()) {
+                continue;
+            }
+            TreeMap<String, ClassSymbol> symbols = new TreeMap<>();
+            Path packageDir = jrt.getPath("/modules/java.base", exports.source().replace('.', '/'));
+            try (Stream<Path> files = Files.list(packageDir)) {
+                for (Path file : files.toList()) {
+                    if (file.getFileName().toString().endsWith(".class")) {
+                        ClassSymbol symbol = ClassFileReader.read(ByteBuffer.wrap(Files.readAllBytes(file)), false);
+                        symbols.put(symbol.name(), symbol);
+                    }
+                }
+            }
+            try (OutputStream out = Files.newOutputStream(dir.resolve(exports.source() + ".symbols"))) {
+                write(symbols, out);
+            }
+            packageCount++;
+            classCount += symbols.size();
+        }
+        System.out.println("Indexed " + classCount + " classes in " + packageCount + " packages of java.base in " +
+                args[0]);
+    }
+
+    // Constructs an index from its contents, or throws IOException if they are not an index built from the running
+    // JDK.
+    private SymbolIndex(ByteBuffer bytes) throws IOException {
+        this.bytes = bytes;
+        if (bytes.getInt(0) != MAGIC) {
+            throw new IOException("not a symbol index");
+        }
+        int versionLength = bytes.getShort(4) & 0xFFFF;
+        if (!string(6, versionLength).equals(System.getProperty("java.runtime.version"))) {
+            throw new IOException("symbol index of another JDK");
+        }
+        int position = 6 + versionLength;
+        int stringCount = bytes.getInt(position);
+        classCount = bytes.getInt(position + 4);
+        int stringsLength = bytes.getInt(position + 8);
+        stringOffsetsStart = position + 12;
+        directoryStart = stringOffsetsStart + 4 * stringCount;
+        stringsStart = directoryStart + 8 * classCount;
+        classesStart = stringsStart + stringsLength;
+        strings = new String[stringCount];
+    }
+
+    // Opens the index of the package having the specified name, returning null if there is none or it cannot be used.
+    private static SymbolIndex open(String packageName) {
+        try (InputStream in = SymbolIndex.class.getResourceAsStream("jdk/" + packageName + ".symbols")) {
+            return in == null ? null : new SymbolIndex(ByteBuffer.wrap(in.readAllBytes()));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Returns the symbol for the class having the specified name, or null, by binary search of the class directory.
+    private ClassSymbol find(String name) {
+        int low = 0;
+        int high = classCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = directoryStart + 8 * mid;
+            int comparison = stringAt(bytes.getInt(entry)).compareTo(name);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return readClass(classesStart + bytes.getInt(entry + 4));
+            }
+        }
+        return null;
+    }
+
+    // Decodes the class at the specified position.
+    private ClassSymbol readClass(int position) {
+        int modifiers = bytes.getShort(position) & 0xFFFF;
+        String name = stringAt(bytes.getInt(position + 2));
+        int superIndex = bytes.getInt(position + 6);
+        String superName = superIndex == -1 ? null : stringAt(superIndex);
+        position += 10;
+        String[] interfaceNames = new String[bytes.getShort(position) & 0xFFFF];
+        position += 2;
+        for (int i = 0; i < interfaceNames.length; i++, position += 4) {
+            interfaceNames[i] = stringAt(bytes.getInt(position));
+        }
+        MemberSymbol[] fields = new MemberSymbol[bytes.getShort(position) & 0xFFFF];
+        position += 2;
+        for (int i = 0; i < fields.length; i++, position += 10) {
+            fields[i] = readMember(name, position);
+        }
+        int methodCount = bytes.getShort(position) & 0xFFFF;
+        position += 2;
+        ArrayList<MemberSymbol> methods = new ArrayList<>(methodCount);
+        ArrayList<MemberSymbol> constructors = new ArrayList<>();
+        for (int i = 0; i < methodCount; i++, position += 10) {
+            MemberSymbol method = readMember(name, position);
+            (method.name().equals("<init>") ? constructors : methods).add(method);
+        }
+        return new ClassSymbol(name, modifiers, superName, interfaceNames, fields,
+                methods.toArray(new MemberSymbol[0]), constructors.toArray(new MemberSymbol[0]), false);
+    }
+
+    // Decodes the member, declared in the class having the specified name, at the specified position.
+    private MemberSymbol readMember(String declaringName, int position) {
+        return new MemberSymbol(declaringName, stringAt(bytes.getInt(position + 2)), bytes.getShort(position) & 0xFFFF,
+                stringAt(bytes.getInt(position + 6)));
+    }
+
+    // Returns the string having the specified index, decoding it if need be.
+    private String stringAt(int index) {
+        String string = strings[index];
+        if (string == null) {
+            int position = stringsStart + bytes.getInt(stringOffsetsStart + 4 * index);
+            string = string(position + 2, bytes.getShort(position) & 0xFFFF);
+            strings[index] = string;
+        }
+        return string;
+    }
+
+    // Decodes the specified number of bytes of UTF-8, from the specified position.
+    private String string(int position, int length) {
+        byte[] data = new byte[length];
+        bytes.get(position, data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    // Writes the index of the specified symbols (sorted by name) to the specified stream.
+    private static void write(TreeMap<String, ClassSymbol> symbols, OutputStream out) throws IOException {
+        StringPool strings = new StringPool();
+        ByteArrayOutputStream classes = new ByteArrayOutputStream();
+        DataOutputStream classesOut = new DataOutputStream(classes);
+        ArrayList<int[]> directory = new ArrayList<>();
+        for (ClassSymbol symbol : symbols.values()) {
+            directory.add(new int[] {strings.intern(symbol.name()), classes.size()});
+            classesOut.writeShort(symbol.modifiers());
+            classesOut.writeInt(strings.intern(symbol.name()));
+            classesOut.writeInt(symbol.superName() == null ? -1 : strings.intern(symbol.superName()));
+            classesOut.writeShort(symbol.interfaceNames().length);
+            for (String interfaceName : symbol.interfaceNames()) {
+                classesOut.writeInt(strings.intern(interfaceName));
+            }
+            classesOut.writeShort(symbol.fields().length);
+            for (MemberSymbol field : symbol.fields()) {
+                writeMember(field, classesOut, strings);
+            }
+            classesOut.writeShort(symbol.methods().length + symbol.constructors().length);
+            for (MemberSymbol method : symbol.methods()) {
+                writeMember(method, classesOut, strings);
+            }
+            for (MemberSymbol constructor : symbol.constructors()) {
+                writeMember(constructor, classesOut, strings);
+            }
+        }
+        DataOutputStream indexOut = new DataOutputStream(out);
+        indexOut.writeInt(MAGIC);
+        byte[] version = System.getProperty("java.runtime.version").getBytes(StandardCharsets.UTF_8);
+        indexOut.writeShort(version.length);
+        indexOut.write(version);
+        indexOut.writeInt(strings.offsets.size());
+        indexOut.writeInt(directory.size());
+        indexOut.writeInt(strings.data.size());
+        for (int offset : strings.offsets) {
+            indexOut.writeInt(offset);
+        }
+        for (int[] entry : directory) {
+            indexOut.writeInt(entry[0]);
+            indexOut.writeInt(entry[1]);
+        }
+        strings.data.writeTo(indexOut);
+        classes.writeTo(indexOut);
+        indexOut.flush();
+    }
+
+    // Writes the specified member.
+    private static void writeMember(MemberSymbol member, DataOutputStream out, StringPool strings)
+            throws IOException {
+        out.writeShort(member.modifiers());
+        out.writeInt(strings.intern(member.name()));
+        out.writeInt(strings.intern(member.descriptor()));
+    }
+
+    // The strings of an index being written.
+    private static class StringPool {
+        // Maps the strings to their indices.
+        private final HashMap<String, Integer> indices = new HashMap<>();
+
+        // Offsets of the strings in the data.
+        private final ArrayList<Integer> offsets = new ArrayList<>();
+
+        // The strings, encoded.
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        // Returns the index of the specified string, adding it to the pool if it is not there yet.
+        private int intern(String string) {
+            Integer index = indices.get(string);
+            if (index == null) {
+                index = offsets.size();
+                indices.put(string, index);
+                offsets.add(data.size());
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                data.write(bytes.length >>> 8);
+                data.write(bytes.length);
+                data.write(bytes, 0, bytes.length);
+            }
+            return index;
+        }
+    }
+}
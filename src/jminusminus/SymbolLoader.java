@@ -0,0 +1,353 @@
+package jminusminus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static jminusminus.CLConstants.*;
+
+/**
+ * The loader of the symbols (see ClassSymbol) for library types, ie, the types that the compilation units being
+ * compiled import or otherwise refer to, but do not declare. The symbols are read from class files, which are looked
+ * up as the JVM's application class loader would look up the classes: first in the run-time image of the JDK (through
+ * the jrt: file system, unless the precomputed index of java.base holds the class; see SymbolIndex), then in the
+ * directories and jar files of the class path (java.class.path). The classes are
+ * never defined in the compiler's JVM, so their static initializers never run, and they take no space in metaspace.
+ * <p>
+ * The symbols read are cached (as are the classes that are not found), and shared by all the compilations in the
+ * process; the loader is thread-safe.
+ */
+class SymbolLoader {
+    // Maps binary names to the symbols for the types having them, or to empty for the types not found.
+    private static final ConcurrentHashMap<String, Optional<ClassSymbol>> symbols = new ConcurrentHashMap<>();
+
+    // Maps package names to the directories holding the package in the modules of the run-time image.
+    private static final ConcurrentHashMap<String, ArrayList<Path>> packages = new ConcurrentHashMap<>();
+
+
+    // The directories (as Paths) and jar files (as ZipFiles) of the class path, opened the first time they are needed.
+    private static volatile ArrayList<Object> classPath;
+
+    /**
+     * Returns the symbol for the library type having the specified binary name, or null if there is no such type.
+     *
+     * @param name the binary name of the type.
+     * @return the symbol for the type, or null.
+     */
+    public static ClassSymbol load(String name) {
+        Optional<ClassSymbol> symbol = symbols.get(name);
+        if (symbol == null) {
+            symbol = symbols.computeIfAbsent(name, key -> Optional.ofNullable(read(key)));
+        }
+        return symbol.orElse(null);
+    }
+
+    // Finds the class file for the type having the specified binary name, and returns the symbol read from it, or null
+    // if it is not found or is malformed.
+    private static ClassSymbol read(String name) {
+        if (name.isEmpty() || name.startsWith(".") || name.endsWith(".") || name.contains("/") ||
+                name.contains("..")) {
+            return null;
+        }
+        ClassSymbol indexed = SymbolIndex.lookup(name);
+        if (indexed != null) {
+            return indexed;
+        }
+        try {
+            byte[] bytes = readFromImage(name);
+            if (bytes == null) {
+                bytes = readFromClassPath(name);
+            }
+            if (bytes == null) {
+                return null;
+            }
+            ClassSymbol symbol = ClassFileReader.read(ByteBuffer.wrap(bytes), false);
+            return symbol.name().equals(name) ? symbol : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Returns the contents of the class file for the type having the specified binary name in the run-time image, or
+    // null.
+    private static byte[] readFromImage(String name) throws IOException {
+        int dot = name.lastIndexOf('.');
+        if (Image.jrt == null || dot == -1) {
+            return null;
+        }
+        String fileName = name.substring(dot + 1) + ".class";
+        for (Path packageDir : packageDirs(name.substring(0, dot))) {
+            Path file = packageDir.resolve(fileName);
+            if (Files.isRegularFile(file)) {
+                return Files.readAllBytes(file);
+            }
+        }
+        return null;
+    }
+
+    // Returns the directories holding the package having the specified name in the modules of the run-time image.
+    private static ArrayList<Path> packageDirs(String packageName) {
+        ArrayList<Path> dirs = packages.get(packageName);
+        if (dirs == null) {
+            dirs = packages.computeIfAbsent(packageName, key -> {
+                ArrayList<Path> modules = new ArrayList<>();
+                Path packagePath = Image.jrt.getPath("/packages", key);
+                if (Files.isDirectory(packagePath)) {
+                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(packagePath)) {
+                        for (Path module : stream) {
+                            modules.add(Image.jrt.getPath("/modules", module.getFileName().toString(),
+                                    key.replace('.', '/')));
+                        }
+                    } catch (IOException e) {
+                        // The package is not in the image.
+                    }
+                }
+                return modules;
+            });
+        }
+        return dirs;
+    }
+
+    // Returns the contents of the class file for the type having the specified binary name in the class path, or
+    // null.
+    private static byte[] readFromClassPath(String name) throws IOException {
+        String entryName = name.replace('.', '/') + ".class";
+        for (Object entry : classPath()) {
+            if (entry instanceof ZipFile jar) {
+                ZipEntry zipEntry = jar.getEntry(entryName);
+                if (zipEntry != null) {
+                    try (InputStream in = jar.getInputStream(zipEntry)) {
+                        return in.readAllBytes();
+                    }
+                }
+            } else {
+                Path file = ((Path) entry).resolve(entryName);
+                if (Files.isRegularFile(file)) {
+                    return Files.readAllBytes(file);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Returns the entries of the class path, opening them if need be.
+    private static ArrayList<Object> classPath() {
+        ArrayList<Object> entries = classPath;
+        if (entries == null) {
+            synchronized (SymbolLoader.class) {
+                entries = classPath;
+                if (entries == null) {
+                    entries = new ArrayList<>();
+                    for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                        File file = new File(entry.isEmpty() ? "." : entry);
+                        if (file.isDirectory()) {
+                            entries.add(file.toPath());
+                        } else if (file.isFile()) {
+                            try {
+                                entries.add(new ZipFile(file));
+                            } catch (IOException e) {
+                                // Not a jar file; skip it, as the JVM would.
+                            }
+                        }
+                    }
+                    classPath = entries;
+                }
+            }
+        }
+        return entries;
+    }
+
+    // Holder of the run-time image of the JDK, which is opened (an expensive operation) the first time that a class
+    // is looked up in it.
+    private static class Image {
+        // The run-time image of the JDK, or null if the JVM has none.
+        private static final FileSystem jrt = jrtFileSystem();
+
+        // Returns the file system of the run-time image, or null if the JVM has none.
+        private static FileSystem jrtFileSystem() {
+            try {
+                return FileSystems.getFileSystem(URI.create("jrt:/"));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
+
+/**
+ * A reader of class files, which reads just what a ClassSymbol holds: the class' name, access flags, superclass, and
+ * interfaces, and the names, access flags, and descriptors of its fields and methods. Code and other attributes are
+ * skipped, and only the constant pool entries that are needed are decoded.
+ */
+class ClassFileReader {
+    // The class file.
+    private final ByteBuffer bytes;
+
+    // Offsets in the class file of the constant pool entries (past their tags), indexed as the entries.
+    private final int[] offsets;
+
+    // The decoded Utf8 entries of the constant pool.
+    private final String[] strings;
+
+    /**
+     * Reads the specified class file and returns the symbol for the class it defines.
+     *
+     * @param bytes      the class file, from its current position.
+     * @param isDeclared whether the class is declared by the compilation units being compiled.
+     * @return the symbol for the class.
+     * @throws IOException if the class file is malformed.
+     */
+    public static ClassSymbol read(ByteBuffer bytes, boolean isDeclared) throws IOException {
+        return new ClassFileReader(bytes).readClass(isDeclared);
+    }
+
+    // Constructs a reader of the specified class file, indexing its constant pool.
+    private ClassFileReader(ByteBuffer bytes) throws IOException {
+        this.bytes = bytes.slice();
+        if (this.bytes.getInt() != 0xCAFEBABE) {
+            throw new IOException("not a class file");
+        }
+        this.bytes.getInt(); // minor_version, major_version
+        int count = this.bytes.getShort() & 0xFFFF;
+        offsets = new int[count];
+        strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = this.bytes.get();
+            offsets[i] = this.bytes.position();
+            switch (tag) {
+                case CONSTANT_Utf8:
+                    skip(this.bytes.getShort() & 0xFFFF);
+                    break;
+                case CONSTANT_Class:
+                case CONSTANT_String:
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(2);
+                    break;
+                case 15: // MethodHandle
+                    skip(3);
+                    break;
+                case CONSTANT_Integer:
+                case CONSTANT_Float:
+                case CONSTANT_Fieldref:
+                case CONSTANT_Methodref:
+                case CONSTANT_InterfaceMethodref:
+                case CONSTANT_NameAndType:
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(4);
+                    break;
+                case CONSTANT_Long:
+                case CONSTANT_Double:
+                    skip(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("bad constant pool tag " + tag);
+            }
+        }
+    }
+
+    // Reads the class from the end of the constant pool.
+    private ClassSymbol readClass(boolean isDeclared) {
+        int modifiers = (bytes.getShort() & 0xFFFF) & ~ACC_SUPER;
+        String name = className(bytes.getShort() & 0xFFFF);
+        int superIndex = bytes.getShort() & 0xFFFF;
+        String superName = superIndex == 0 ? null : className(superIndex);
+        String[] interfaceNames = new String[bytes.getShort() & 0xFFFF];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = className(bytes.getShort() & 0xFFFF);
+        }
+        ArrayList<MemberSymbol> fields = readMembers(name);
+        ArrayList<MemberSymbol> methods = new ArrayList<>();
+        ArrayList<MemberSymbol> constructors = new ArrayList<>();
+        for (MemberSymbol method : readMembers(name)) {
+            if (method.name().equals("<init>")) {
+                constructors.add(method);
+            } else if (!method.name().equals("<clinit>")) {
+                methods.add(method);
+            }
+        }
+        return new ClassSymbol(name, modifiers, superName, interfaceNames, fields.toArray(new MemberSymbol[0]),
+                methods.toArray(new MemberSymbol[0]), constructors.toArray(new MemberSymbol[0]), isDeclared);
+    }
+
+    // Reads a count of fields or methods, and the fields or methods, declared in the class having the specified name.
+    private ArrayList<MemberSymbol> readMembers(String declaringName) {
+        int count = bytes.getShort() & 0xFFFF;
+        ArrayList<MemberSymbol> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int modifiers = bytes.getShort() & 0xFFFF;
+            String name = utf8(bytes.getShort() & 0xFFFF);
+            String descriptor = utf8(bytes.getShort() & 0xFFFF);
+            int attributes = bytes.getShort() & 0xFFFF;
+            for (int j = 0; j < attributes; j++) {
+                bytes.getShort(); // attribute_name_index
+                skip(bytes.getInt());
+            }
+            members.add(new MemberSymbol(declaringName, name, modifiers, descriptor));
+        }
+        return members;
+    }
+
+    // Returns the binary name of the class at the specified index of the constant pool.
+    private String className(int index) {
+        return utf8(bytes.getShort(offsets[index]) & 0xFFFF).replace('/', '.');
+    }
+
+    // Returns the string of the Utf8 entry at the specified index of the constant pool, decoding it if need be.
+    private String utf8(int index) {
+        String string = strings[index];
+        if (string == null) {
+            int offset = offsets[index];
+            int length = bytes.getShort(offset) & 0xFFFF;
+            byte[] data = new byte[length];
+            bytes.get(offset + 2, data);
+            string = decode(data);
+            strings[index] = string;
+        }
+        return string;
+    }
+
+    // Skips the specified number of bytes.
+    private void skip(int n) {
+        bytes.position(bytes.position() + n);
+    }
+
+    // Decodes the specified bytes in (the JVM's) modified UTF-8.
+    private static String decode(byte[] data) {
+        boolean isAscii = true;
+        for (byte b : data) {
+            isAscii &= b > 0;
+        }
+        if (isAscii) {
+            return new String(data, StandardCharsets.ISO_8859_1);
+        }
+        StringBuilder string = new StringBuilder(data.length);
+        for (int i = 0; i < data.length; i++) {
+            int b = data[i] & 0xFF;
+            if (b < 0x80) {
+                string.append((char) b);
+            } else if (b < 0xE0) {
+                string.append((char) ((b & 0x1F) << 6 | data[++i] & 0x3F));
+            } else {
+                string.append((char) ((b & 0x0F) << 12 | (data[++i] & 0x3F) << 6 | data[++i] & 0x3F));
+            }
+        }
+        return string.toString();
+    }
+}
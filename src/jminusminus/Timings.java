@@ -0,0 +1,365 @@
+package jminusminus;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * A report of where a compilation spends its time and memory, requested with the -timings option. For each phase, it
+ * records the wall time, the CPU time, and the bytes allocated (by the thread doing the work) per source file, and
+ * for the phases that work one type declaration at a time, per class. The phases are:
+ * <ul>
+ *   <li>parse: scanning and parsing a source file; the parse record of a file also holds the number of lines, tokens,
+ *   and AST nodes in the file.</li>
+ *   <li>scan: the part of parse spent in the scanner, ie, producing the tokens; scanning is interleaved with parsing,
+ *   token by token, so only its wall time and allocation are recorded (its CPU time is reported as -1).</li>
+ *   <li>imports, declare, preAnalyze, and load: pre-analysis; declaring the imported types, declaring the types of
+ *   the unit, pre-analyzing their members (building partial classes), and defining the partial classes.</li>
+ *   <li>analyze, codegen, and write: analysis, code generation into a CLEmitter, and writing the class file.</li>
+ * </ul>
+ * The report is written either as JSON (an object with totals per phase and per file, and the individual records),
+ * or as CSV (one row per record), depending on the name of the file it is written to. Times are in nanoseconds;
+ * a measurement that the JVM does not support is reported as -1.
+ */
+class Timings {
+    // Order in which the phases are reported.
+    private static final String[] PHASES = {"parse", "scan", "imports", "declare", "preAnalyze", "load", "analyze",
+            "codegen", "write"};
+
+    // For measuring the CPU time and allocation of the current thread.
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    // Wall time (System.nanoTime()) at which the compilation started.
+    private final long startTime;
+
+    // The records, in the order in which they were made.
+    private final ArrayList<Record> records;
+
+    /**
+     * Constructs a Timings object, and starts the clock for the compilation as a whole.
+     */
+    public Timings() {
+        startTime = System.nanoTime();
+        records = new ArrayList<>();
+        if (threadBean.isThreadCpuTimeSupported() && !threadBean.isThreadCpuTimeEnabled()) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    /**
+     * Returns a measurement of the current thread (its wall time, CPU time, and allocated bytes), from which a
+     * step performed by the thread can later be recorded.
+     *
+     * @return a measurement of the current thread.
+     */
+    public static long[] start() {
+        return new long[] {System.nanoTime(), cpuTime(), allocatedBytes()};
+    }
+
+    /**
+     * Records the specified phase for the specified file and class, as the difference between the current
+     * measurement of the current thread and the specified one.
+     *
+     * @param phase     the phase.
+     * @param fileName  the name of the source file.
+     * @param className the name of the class, or null if the record is for the file as a whole.
+     * @param start     the measurement at the start of the phase (see start()).
+     */
+    public void record(String phase, String fileName, String className, long[] start) {
+        long[] end = start();
+        add(new Record(phase, fileName, className, end[0] - start[0], difference(end[1], start[1]),
+                difference(end[2], start[2])));
+    }
+
+    /**
+     * Records the parse phase for the specified file (as record() does), along with the file's line, token, and AST
+     * node counts.
+     *
+     * @param fileName the name of the source file.
+     * @param start    the measurement at the start of the phase (see start()).
+     * @param tokens   the number of tokens in the file.
+     * @param nodes    the number of AST nodes constructed for the file.
+     */
+    public void recordParse(String fileName, long[] start, int tokens, int nodes) {
+        long[] end = start();
+        Record record = new Record("parse", fileName, null, end[0] - start[0], difference(end[1], start[1]),
+                difference(end[2], start[2]));
+        record.lines = lines(fileName);
+        record.tokens = tokens;
+        record.nodes = nodes;
+        add(record);
+    }
+
+    /**
+     * Records the scan phase for the specified file, from the specified accumulator.
+     *
+     * @param fileName the name of the source file.
+     * @param scan     the accumulator that measured the scanning of the file.
+     */
+    public void recordScan(String fileName, Accumulator scan) {
+        add(new Record("scan", fileName, null, scan.wallTime, -1, scan.allocatedBytes));
+    }
+
+    /**
+     * Writes the report to the specified file, as CSV if the file name ends with .csv, and as JSON otherwise.
+     *
+     * @param fileName the name of the file.
+     */
+    public void write(String fileName) {
+        long elapsedTime = System.nanoTime() - startTime;
+        try (PrintWriter out = new PrintWriter(new FileWriter(fileName, StandardCharsets.UTF_8))) {
+            if (fileName.endsWith(".csv")) {
+                writeCSV(out);
+            } else {
+                writeJSON(out, elapsedTime);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: cannot write " + fileName);
+        }
+    }
+
+    // Adds the specified record; records may be made by several threads at once.
+    private synchronized void add(Record record) {
+        records.add(record);
+    }
+
+    // Writes the records as CSV.
+    private void writeCSV(PrintWriter out) {
+        out.println("phase,file,class,wallNanos,cpuNanos,allocatedBytes,lines,tokens,nodes");
+        for (Record record : records) {
+            out.println(String.join(",", record.phase, csv(record.fileName), csv(record.className),
+                    String.valueOf(record.wallTime), String.valueOf(record.cpuTime),
+                    String.valueOf(record.allocatedBytes), count(record.lines), count(record.tokens),
+                    count(record.nodes)));
+        }
+    }
+
+    // Writes the totals per phase and per file, and the records, as JSON.
+    private void writeJSON(PrintWriter out, long elapsedTime) {
+        LinkedHashMap<String, Record> phases = new LinkedHashMap<>();
+        for (String phase : PHASES) {
+            phases.put(phase, new Record(phase, null, null, 0, 0, 0));
+        }
+        LinkedHashMap<String, Record> files = new LinkedHashMap<>();
+        long lines = 0, tokens = 0, nodes = 0;
+        for (Record record : records) {
+            phases.get(record.phase).add(record);
+            if (!files.containsKey(record.fileName)) {
+                files.put(record.fileName, new Record(null, record.fileName, null, 0, 0, 0));
+            }
+            files.get(record.fileName).add(record);
+            if (record.lines >= 0) {
+                lines += record.lines;
+                tokens += record.tokens;
+                nodes += record.nodes;
+            }
+        }
+
+        out.println("{");
+        out.printf("    \"elapsedNanos\": %d,\n", elapsedTime);
+        out.printf("    \"files\": %d,\n", files.size());
+        out.printf("    \"lines\": %d,\n", lines);
+        out.printf("    \"tokens\": %d,\n", tokens);
+        out.printf("    \"nodes\": %d,\n", nodes);
+        out.printf("    \"linesPerSecond\": %d,\n", elapsedTime == 0 ? 0 : lines * 1000000000L / elapsedTime);
+        ArrayList<Record> phaseTotals = new ArrayList<>();
+        for (Record record : phases.values()) {
+            if (record.count > 0) {
+                phaseTotals.add(record);
+            }
+        }
+        writeJSONArray(out, "phases", phaseTotals, ",");
+        writeJSONArray(out, "fileTotals", new ArrayList<>(files.values()), ",");
+        writeJSONArray(out, "records", records, "");
+        out.println("}");
+    }
+
+    // Writes the specified records as a JSON array with the specified name, followed by the specified separator.
+    private static void writeJSONArray(PrintWriter out, String name, ArrayList<Record> records, String separator) {
+        out.printf("    \"%s\": [", name);
+        for (int i = 0; i < records.size(); i++) {
+            out.print(i == 0 ? "\n" : ",\n");
+            out.print("        " + records.get(i).toJSON());
+        }
+        out.println((records.isEmpty() ? "]" : "\n    ]") + separator);
+    }
+
+    // Returns the number of lines in the specified file, or 0 if it cannot be read.
+    private static long lines(String fileName) {
+        try {
+            byte[] bytes = Files.readAllBytes(Path.of(fileName));
+            long lines = 0;
+            for (byte b : bytes) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+            return bytes.length > 0 && bytes[bytes.length - 1] != '\n' ? lines + 1 : lines;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // Returns the CPU time of the current thread, or -1 if it cannot be measured.
+    private static long cpuTime() {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    // Returns the number of bytes allocated by the current thread, or -1 if it cannot be measured.
+    private static long allocatedBytes() {
+        if (threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()
+                && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // Returns the difference between the specified measurements, or -1 if they could not be made.
+    private static long difference(long end, long start) {
+        return end < 0 || start < 0 ? -1 : end - start;
+    }
+
+    // Returns the specified string as a CSV field.
+    private static String csv(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.contains(",") || s.contains("\"") ? "\"" + s.replace("\"", "\"\"") + "\"" : s;
+    }
+
+    // Returns the specified count as a CSV field.
+    private static String count(long count) {
+        return count < 0 ? "" : String.valueOf(count);
+    }
+
+    // Returns the specified string as a JSON string.
+    private static String json(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Accumulates the wall time and allocation of a step that is performed many times, interleaved with other work,
+     * such as scanning a token. Measuring the CPU time of each step would cost far more than the step itself.
+     */
+    static class Accumulator {
+        // Total wall time of the steps.
+        private long wallTime;
+
+        // Total bytes allocated by the steps, or -1 if allocation cannot be measured.
+        private long allocatedBytes;
+
+        // Number of steps.
+        private int count;
+
+        // Wall time and allocation at the start of the current step.
+        private long startTime, startBytes;
+
+        /**
+         * Constructs an Accumulator.
+         */
+        public Accumulator() {
+            wallTime = 0;
+            allocatedBytes = allocatedBytes() < 0 ? -1 : 0;
+            count = 0;
+        }
+
+        /**
+         * Starts a step.
+         */
+        public void start() {
+            startBytes = allocatedBytes < 0 ? 0 : allocatedBytes();
+            startTime = System.nanoTime();
+        }
+
+        /**
+         * Ends the current step.
+         */
+        public void stop() {
+            wallTime += System.nanoTime() - startTime;
+            if (allocatedBytes >= 0) {
+                allocatedBytes += allocatedBytes() - startBytes;
+            }
+            count++;
+        }
+
+        /**
+         * Returns the number of steps.
+         *
+         * @return the number of steps.
+         */
+        public int count() {
+            return count;
+        }
+    }
+
+    // A record of a phase for a file (and class); also used for the totals.
+    private static class Record {
+        // The phase, file name, and class name.
+        private final String phase, fileName, className;
+
+        // Wall time, CPU time, and allocated bytes.
+        private long wallTime, cpuTime, allocatedBytes;
+
+        // Line, token, and AST node counts (for parse records), or -1.
+        private long lines, tokens, nodes;
+
+        // Number of records added to this one (for totals).
+        private int count;
+
+        // Constructs a record.
+        private Record(String phase, String fileName, String className, long wallTime, long cpuTime,
+                       long allocatedBytes) {
+            this.phase = phase;
+            this.fileName = fileName;
+            this.className = className;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+            lines = tokens = nodes = -1;
+            count = 0;
+        }
+
+        // Adds the specified record to this (total) record. Scan records are not added to file totals, since scanning
+        // is part of parsing. A total is -1 if any of its measurements could not be made.
+        private void add(Record record) {
+            if (phase == null && record.phase.equals("scan")) {
+                return;
+            }
+            wallTime += record.wallTime;
+            cpuTime = cpuTime < 0 || record.cpuTime < 0 ? -1 : cpuTime + record.cpuTime;
+            allocatedBytes = allocatedBytes < 0 || record.allocatedBytes < 0 ? -1
+                    : allocatedBytes + record.allocatedBytes;
+            count++;
+        }
+
+        // Returns this record as a JSON object.
+        private String toJSON() {
+            StringBuilder json = new StringBuilder("{");
+            if (phase != null) {
+                json.append("\"phase\": ").append(json(phase)).append(", ");
+            }
+            if (fileName != null) {
+                json.append("\"file\": ").append(json(fileName)).append(", ");
+            }
+            if (className != null) {
+                json.append("\"class\": ").append(json(className)).append(", ");
+            }
+            json.append("\"wallNanos\": ").append(wallTime);
+            json.append(", \"cpuNanos\": ").append(cpuTime);
+            json.append(", \"allocatedBytes\": ").append(allocatedBytes);
+            if (lines >= 0) {
+                json.append(", \"lines\": ").append(lines);
+                json.append(", \"tokens\": ").append(tokens);
+                json.append(", \"nodes\": ").append(nodes);
+            }
+            return json.append("}").toString();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package jminusminus;
+
+import java.util.Arrays;
+
+/**
+ * A compact buffer of all the tokens in a source, for inputs that are tokenized in full. Rather than as TokenInfo
+ * objects, the tokens are stored in parallel arrays: their kinds, their lines, and the indices of their first
+ * characters and of the characters after them in the source. The images of identifiers and literals are materialized
+ * (by the scanner, from the source) only when they are asked for; the other tokens' images are their kinds' images.
+ */
+class TokenBuffer {
+    // Token kinds, indexed by their ordinals.
+    private static final TokenKind[] KINDS = TokenKind.values();
+
+    // The scanner that scanned the tokens.
+    private final Scanner scanner;
+
+    // Ordinals of the tokens' kinds.
+    private byte[] kinds;
+
+    // Lines in which the tokens occur.
+    private int[] lines;
+
+    // Indices in the source of the tokens' first characters.
+    private int[] begins;
+
+    // Indices in the source of the characters after the tokens.
+    private int[] ends;
+
+    // Number of tokens, the last of which is EOF.
+    private int size;
+
+    /**
+     * Constructs a TokenBuffer holding all the tokens (up to and including EOF) scanned by the specified scanner.
+     *
+     * @param scanner the scanner.
+     */
+    public TokenBuffer(Scanner scanner) {
+        this.scanner = scanner;
+        kinds = new byte[1024];
+        lines = new int[1024];
+        begins = new int[1024];
+        ends = new int[1024];
+        size = 0;
+        TokenKind kind;
+        do {
+            kind = scanner.nextToken();
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                lines = Arrays.copyOf(lines, size * 2);
+                begins = Arrays.copyOf(begins, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            kinds[size] = (byte) kind.ordinal();
+            lines[size] = scanner.tokenLine();
+            begins[size] = scanner.tokenBegin();
+            ends[size] = scanner.tokenEnd();
+            size++;
+        } while (kind != TokenKind.EOF);
+    }
+
+    /**
+     * Returns the number of tokens in this buffer (the last of which is EOF).
+     *
+     * @return the number of tokens in this buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the kind of the token at the specified index.
+     *
+     * @param index the index of the token.
+     * @return the kind of the token.
+     */
+    public TokenKind kind(int index) {
+        return KINDS[kinds[index]];
+    }
+
+    /**
+     * Returns the line in which the token at the specified index occurs.
+     *
+     * @param index the index of the token.
+     * @return the line in which the token occurs.
+     */
+    public int line(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Returns the image of the token at the specified index.
+     *
+     * @param index the index of the token.
+     * @return the image of the token.
+     */
+    public String image(int index) {
+        return scanner.image(kind(index), begins[index], ends[index]);
+    }
+
+    /**
+     * Returns (a new TokenInfo object for) the token at the specified index.
+     *
+     * @param index the index of the token.
+     * @return the token.
+     */
+    public TokenInfo token(int index) {
+        return new TokenInfo(kind(index), image(index), lines[index]);
+    }
+
+    /**
+     * Returns true if an error occurred while scanning the tokens, and false otherwise.
+     *
+     * @return true if an error occurred while scanning the tokens, and false otherwise.
+     */
+    public boolean errorHasOccurred() {
+        return scanner.errorHasOccurred();
+    }
+
+    /**
+     * Returns the name of the source file.
+     *
+     * @return the name of the source file.
+     */
+    public String fileName() {
+        return scanner.fileName();
+    }
+}
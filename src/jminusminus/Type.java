@@ -1,15 +1,20 @@
 package jminusminus;
 
-import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
 
 import java.util.Arrays;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A class for representing j-- types. All types are represented underneath (in the classRep field) by Java objects
- * of type Class. These objects represent types in Java, so this should ease our interfacing with existing Java classes.
+ * A class for representing j-- types. All types are represented underneath (in the classRep field) by symbols of type
+ * ClassSymbol, which describe types in Java as their class files do: the types imported from libraries are read from
+ * their class files (see SymbolLoader), without being loaded into the compiler's JVM, and the types declared by the
+ * compilation units being compiled are built from their declarations (see PartialClass).
  * <p>
  * Class types (reference types that are represented by the identifiers introduced in class declarations) are
  * represented using TypeName. So for now, every TypeName represents a class. In the future, TypeName could be
@@ -17,83 +22,94 @@ import java.util.Hashtable;
  * <p>
  * IdentifierTypes must be "resolved" at some point, so that all Types having the same name refer to the same Type
  * object. The resolve() method does this.
+ * <p>
+ * The types that a symbol refers to (its superclass, and the types of its members) are named by descriptors, and are
+ * resolved through the map of types, so that a type declared by a compilation unit is found by any type that refers
+ * to it.
+ * <p>
+ * The members of a type are looked up in an index (see Members) built from its class representation the first time
+ * that they are asked for, rather than by searching the class (and its superclasses) on every lookup; and the
+ * methods and constructors found for given argument types are remembered.
  */
 class Type {
     // The Type's internal (Java) representation.
-    private Class<?> classRep;
+    private ClassSymbol classRep;
+
+    // Index of the members of classRep, or null if it has not been built yet.
+    private volatile Members members;
 
-    // Maps type names to their Type representations.
-    private final static Hashtable<String, Type> types = new Hashtable<>();
+    // Maps type descriptors to their Type representations; shared by the threads compiling units in parallel.
+    private final static ConcurrentHashMap<String, Type> types = new ConcurrentHashMap<>();
 
     /**
      * The int type.
      */
-    public final static Type INT = typeFor(int.class);
+    public final static Type INT = typeFor(ClassSymbol.INT);
 
     /**
      * The char type.
      */
-    public final static Type CHAR = typeFor(char.class);
+    public final static Type CHAR = typeFor(ClassSymbol.CHAR);
 
     /**
      * The boolean type.
      */
-    public final static Type BOOLEAN = typeFor(boolean.class);
+    public final static Type BOOLEAN = typeFor(ClassSymbol.BOOLEAN);
 
     /**
      * The long type.
      */
-    public final static Type LONG = typeFor(long.class);
+    public final static Type LONG = typeFor(ClassSymbol.LONG);
 
     /**
      * The double type.
      */
-    public final static Type DOUBLE = typeFor(double.class);
+    public final static Type DOUBLE = typeFor(ClassSymbol.DOUBLE);
 
     /**
      * The java.lang.Integer type.
      */
-    public final static Type BOXED_INT = typeFor(java.lang.Integer.class);
+    public final static Type BOXED_INT = typeForDescriptor("Ljava/lang/Integer;");
 
     /**
      * The java.lang.Character type.
      */
-    public final static Type BOXED_CHAR = typeFor(java.lang.Character.class);
+    public final static Type BOXED_CHAR = typeForDescriptor("Ljava/lang/Character;");
 
     /**
      * The java.lang.Boolean type.
      */
-    public final static Type BOXED_BOOLEAN = typeFor(java.lang.Boolean.class);
+    public final static Type BOXED_BOOLEAN = typeForDescriptor("Ljava/lang/Boolean;");
 
     /**
      * The java.lang.Long type.
      */
-    public final static Type BOXED_LONG = typeFor(java.lang.Long.class);
+    public final static Type BOXED_LONG = typeForDescriptor("Ljava/lang/Long;");
 
     /**
      * The java.lang.Double type.
      */
-    public final static Type BOXED_DOUBLE = typeFor(java.lang.Double.class);
+    public final static Type BOXED_DOUBLE = typeForDescriptor("Ljava/lang/Double;");
 
     /**
      * The java.lang.String type.
      */
-    public final static Type STRING = typeFor(java.lang.String.class);
+    public final static Type STRING = typeForDescriptor("Ljava/lang/String;");
 
     /**
      * The java.lang.Object type.
      */
-    public final static Type OBJECT = typeFor(java.lang.Object.class);
+    public final static Type OBJECT = typeForDescriptor("Ljava/lang/Object;");
 
     /**
      * The void type.
      */
-    public final static Type VOID = typeFor(void.class);
+    public final static Type VOID = typeFor(ClassSymbol.VOID);
 
     /**
      * The null type.
      */
-    public final static Type NULLTYPE = new Type(java.lang.Object.class);
+    public final static Type NULLTYPE = new Type(OBJECT.classRep);
 
     /**
      * The "any" type (denotes wild expressions).
@@ -113,17 +129,85 @@ class Type {
     }
 
     /**
-     * Constructs and returns a representation for a type from its (Java) class representation, making sure there is
-     * a unique representation for each unique type.
+     * Constructs and returns a representation for a type from its class representation, making sure there is a unique
+     * representation for each unique type.
      *
-     * @param classRep the Java class representation.
+     * @param classRep the class representation.
      * @return a type representation of classRep.
      */
-    public static Type typeFor(Class<?> classRep) {
-        if (types.get(descriptorFor(classRep)) == null) {
-            types.put(descriptorFor(classRep), new Type(classRep));
+    public static Type typeFor(ClassSymbol classRep) {
+        return types.computeIfAbsent(classRep.descriptor(), descriptor -> new Type(classRep));
+    }
+
+    /**
+     * Returns the representation for the type having the specified JVM descriptor, making sure there is a unique
+     * representation for each unique type. A class type that is not known yet is loaded from its class file (see
+     * SymbolLoader); if there is none, the class is represented as a public class, having no members, that extends
+     * Object.
+     *
+     * @param descriptor the JVM descriptor.
+     * @return the type representation.
+     */
+    public static Type typeForDescriptor(String descriptor) {
+        Type type = types.get(descriptor);
+        if (type == null) {
+            // The class representation is built outside of the map, as building an array type's resolves its
+            // component type through the map.
+            ClassSymbol classRep = ClassSymbol.primitive(descriptor);
+            if (descriptor.startsWith("[")) {
+                classRep = ClassSymbol.arrayOf(typeForDescriptor(descriptor.substring(1)).classRep);
+            } else if (classRep == null) {
+                String name = descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+                classRep = SymbolLoader.load(name);
+                if (classRep == null) {
+                    classRep = ClassSymbol.missing(name);
+                }
+            }
+            type = types.putIfAbsent(descriptor, new Type(classRep));
+            if (type == null) {
+                type = types.get(descriptor);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns the representation for the library type (see SymbolLoader) having the specified (binary) name, or null
+     * if there is no such type.
+     *
+     * @param name the binary name of the type.
+     * @return the type representation, or null.
+     */
+    public static Type typeForName(String name) {
+        ClassSymbol classRep = SymbolLoader.load(name);
+        return classRep == null ? null : typeFor(classRep);
+    }
+
+    /**
+     * Removes the types declared by the compilation units compiled so far (whose class representations were built
+     * from their partial classes) from the map of types, keeping the types for JDK (and other library) classes. This
+     * allows a long-running process to compile one set of units after another, without the types declared by one
+     * compilation leaking into the next.
+     */
+    public static void discardDeclaredTypes() {
+        types.values().removeIf(type -> type.classRep.isDeclared());
+    }
+
+    /**
+     * Discards the specified types declared by one compilation (and the array types having them as element types),
+     * leaving the types declared by any other compilation alone.
+     *
+     * @param declaredTypes the types declared by the compilation.
+     */
+    public static void discardDeclaredTypes(Collection<Type> declaredTypes) {
+        HashSet<String> descriptors = new HashSet<>();
+        for (Type type : declaredTypes) {
+            if (type != null && type.classRep != null && type.classRep.isDeclared()) {
+                descriptors.add(type.toDescriptor());
+            }
         }
-        return types.get(descriptorFor(classRep));
+        types.values().removeIf(type -> type.classRep.isDeclared() &&
+                descriptors.contains(type.toDescriptor().substring(type.toDescriptor().lastIndexOf('[') + 1)));
     }
 
     /**
@@ -131,7 +215,7 @@ class Type {
      *
      * @return the class representation for this type.
      */
-    public Class<?> classRep() {
+    public ClassSymbol classRep() {
         return classRep;
     }
 
@@ -140,8 +224,9 @@ class Type {
      *
      * @param classRep the partial class.
      */
-    public void setClassRep(Class<?> classRep) {
+    public void setClassRep(ClassSymbol classRep) {
         this.classRep = classRep;
+        members = null;
     }
 
     /**
@@ -169,7 +254,7 @@ class Type {
      * @return an array type's component type.
      */
     public Type componentType() {
-        return typeFor(classRep.getComponentType());
+        return typeFor(classRep.componentType());
     }
 
     /**
@@ -178,7 +263,7 @@ class Type {
      * @return this type's super type, or null.
      */
     public Type superClass() {
-        return classRep == null || classRep.getSuperclass() == null ? null : typeFor(classRep.getSuperclass());
+        return classRep == null || classRep.superName() == null ? null : typeNamed(classRep.superName());
     }
 
     /**
@@ -196,7 +281,7 @@ class Type {
      * @return true if this is an interface type, and false otherwise.
      */
     public boolean isInterface() {
-        return classRep.isInterface();
+        return Modifier.isInterface(classRep.modifiers());
     }
 
     /**
@@ -214,7 +299,7 @@ class Type {
      * @return true of this type is declared final, and false otherwise.
      */
     public boolean isFinal() {
-        return Modifier.isFinal(classRep.getModifiers());
+        return Modifier.isFinal(classRep.modifiers());
     }
 
     /**
@@ -223,7 +308,7 @@ class Type {
      * @return true of this type is declared abstract, and false otherwise.
      */
     public boolean isAbstract() {
-        return Modifier.isAbstract(classRep.getModifiers());
+        return Modifier.isAbstract(classRep.modifiers());
     }
 
     /**
@@ -233,7 +318,46 @@ class Type {
      * @return true if this is a supertype of other, and false otherwise.
      */
     public boolean isJavaAssignableFrom(Type that) {
-        return this.classRep.isAssignableFrom(that.classRep);
+        if (this.equals(that)) {
+            return true;
+        }
+        if (this.isPrimitive() || that.isPrimitive()) {
+            return false;
+        }
+        if (that.isArray()) {
+            return this.isArray() ? componentType().isJavaAssignableFrom(that.componentType()) :
+                    Arrays.asList(that.classRep.superName(), that.classRep.interfaceNames()[0],
+                            that.classRep.interfaceNames()[1]).contains(classRep.name());
+        }
+        if (this.isArray()) {
+            return false;
+        }
+        if (this.equals(OBJECT)) {
+            return true;
+        }
+
+        // Search the supertypes of that, guarding against cyclic inheritance.
+        ArrayList<Type> supertypes = new ArrayList<>();
+        HashSet<Type> visited = new HashSet<>();
+        supertypes.add(that);
+        visited.add(that);
+        for (int i = 0; i < supertypes.size(); i++) {
+            ClassSymbol symbol = supertypes.get(i).classRep;
+            ArrayList<String> names = new ArrayList<>(Arrays.asList(symbol.interfaceNames()));
+            if (symbol.superName() != null) {
+                names.add(symbol.superName());
+            }
+            for (String name : names) {
+                Type supertype = typeNamed(name);
+                if (this.equals(supertype)) {
+                    return true;
+                }
+                if (visited.add(supertype)) {
+                    supertypes.add(supertype);
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -268,8 +392,8 @@ class Type {
      */
     private ArrayList<Method> declaredAbstractMethods() {
         ArrayList<Method> declaredAbstractMethods = new ArrayList<>();
-        for (java.lang.reflect.Method method : classRep.getDeclaredMethods()) {
-            if (Modifier.isAbstract(method.getModifiers())) {
+        for (MemberSymbol method : members().declaredMethods) {
+            if (Modifier.isAbstract(method.modifiers())) {
                 declaredAbstractMethods.add(new Method(method));
             }
         }
@@ -283,8 +407,8 @@ class Type {
      */
     private ArrayList<Method> declaredConcreteMethods() {
         ArrayList<Method> declaredConcreteMethods = new ArrayList<>();
-        for (java.lang.reflect.Method method : classRep.getDeclaredMethods()) {
-            if (!Modifier.isAbstract(method.getModifiers())) {
+        for (MemberSymbol method : members().declaredMethods) {
+            if (!Modifier.isAbstract(method.modifiers())) {
                 declaredConcreteMethods.add(new Method(method));
             }
         }
@@ -306,7 +430,7 @@ class Type {
                 return;
             }
         }
-        JAST.compilationUnit.reportSemanticError(line, "type %s doesn't match any of the expected types %s", this,
+        JAST.compilationUnit().reportSemanticError(line, "type %s doesn't match any of the expected types %s", this,
                 Arrays.toString(expectedTypes));
     }
 
@@ -318,7 +442,7 @@ class Type {
      */
     public void mustMatchExpected(int line, Type expectedType) {
         if (!matchesExpected(expectedType)) {
-            JAST.compilationUnit.reportSemanticError(line, "type %s doesn't match type %s", this, expectedType);
+            JAST.compilationUnit().reportSemanticError(line, "type %s doesn't match type %s", this, expectedType);
         }
     }
 
@@ -334,22 +458,14 @@ class Type {
     }
 
     /**
-     * Returns true if the argument types match, and false otherwise.
+     * Returns true if the argument types match the parameter types of a method (or constructor), and false otherwise.
      *
-     * @param argTypes1 arguments (classReps) of one method.
-     * @param argTypes2 arguments (classReps) of another method.
+     * @param argTypes   the descriptors of the argument types, enclosed in parentheses.
+     * @param descriptor the JVM descriptor of the method.
      * @return true if the argument types match, and false otherwise.
      */
-    public static boolean argTypesMatch(Class<?>[] argTypes1, Class<?>[] argTypes2) {
-        if (argTypes1.length != argTypes2.length) {
-            return false;
-        }
-        for (int i = 0; i < argTypes1.length; i++) {
-            if (!Type.descriptorFor(argTypes1[i]).equals(Type.descriptorFor(argTypes2[i]))) {
-                return false;
-            }
-        }
-        return true;
+    public static boolean argTypesMatch(String argTypes, String descriptor) {
+        return descriptor.startsWith(argTypes);
     }
 
     /**
@@ -358,7 +474,7 @@ class Type {
      * @return the simple (unqualified) name of this type.
      */
     public String simpleName() {
-        return classRep.getSimpleName();
+        return classRep.simpleName();
     }
 
     /**
@@ -385,7 +501,7 @@ class Type {
      * @return the JVM representation of this type's name.
      */
     public String jvmName() {
-        return this.isArray() || this.isPrimitive() ? this.toDescriptor() : classRep.getName().replace('.', '/');
+        return this.isArray() || this.isPrimitive() ? this.toDescriptor() : classRep.name().replace('.', '/');
     }
 
     /**
@@ -416,24 +532,24 @@ class Type {
      * @return a method in this type having the given name and argument types, or null.
      */
     public Method methodFor(String name, Type[] argTypes) {
-        Class[] classes = new Class[argTypes.length];
-        for (int i = 0; i < argTypes.length; i++) {
-            classes[i] = argTypes[i].classRep;
-        }
-        Class cls = classRep;
-
-        // Search this class and all superclasses.
-        while (cls != null) {
-            java.lang.reflect.Method[] methods = cls.getDeclaredMethods();
-            for (java.lang.reflect.Method method : methods) {
-                if (method.getName().equals(name) && Type.argTypesMatch(classes, method.getParameterTypes())) {
-                    return new Method(method);
+        addDependency();
+        Members members = members();
+        String key = name + descriptorFor(argTypes);
+        Optional<Method> resolved = members.resolvedMethods.get(key);
+        if (resolved == null) {
+            // Search the methods of this class and all superclasses having the name and arity.
+            String args = key.substring(name.length());
+            resolved = Optional.empty();
+            for (MemberSymbol method : members.methods.getOrDefault(name + "/" + argTypes.length,
+                    Members.NO_METHODS)) {
+                if (argTypesMatch(args, method.descriptor())) {
+                    resolved = Optional.of(new Method(method));
+                    break;
                 }
             }
-            cls = cls.getSuperclass();
+            members.resolvedMethods.put(key, resolved);
         }
-
-        return null;
+        return resolved.orElse(null);
     }
 
     /**
@@ -443,20 +559,22 @@ class Type {
      * @return a constructor in this type having the given argument types, or null.
      */
     public Constructor constructorFor(Type[] argTypes) {
-        Class[] classes = new Class[argTypes.length];
-        for (int i = 0; i < argTypes.length; i++) {
-            classes[i] = argTypes[i].classRep;
-        }
-
-        // Search only this class (we don't inherit constructors).
-        java.lang.reflect.Constructor[] constructors = classRep.getDeclaredConstructors();
-        for (java.lang.reflect.Constructor constructor : constructors) {
-            if (argTypesMatch(classes, constructor.getParameterTypes())) {
-                return new Constructor(constructor);
+        addDependency();
+        Members members = members();
+        String key = descriptorFor(argTypes);
+        Optional<Constructor> resolved = members.resolvedConstructors.get(key);
+        if (resolved == null) {
+            // Search only this class (we don't inherit constructors).
+            resolved = Optional.empty();
+            for (MemberSymbol constructor : members.constructors) {
+                if (argTypesMatch(key, constructor.descriptor())) {
+                    resolved = Optional.of(new Constructor(constructor));
+                    break;
+                }
             }
+            members.resolvedConstructors.put(key, resolved);
         }
-
-        return null;
+        return resolved.orElse(null);
     }
 
     /**
@@ -466,17 +584,8 @@ class Type {
      * @return a field in this type having the given name, or null.
      */
     public Field fieldFor(String name) {
-        Class<?> cls = classRep;
-        while (cls != null) {
-            java.lang.reflect.Field[] fields = cls.getDeclaredFields();
-            for (java.lang.reflect.Field field : fields) {
-                if (field.getName().equals(name)) {
-                    return new Field(field);
-                }
-            }
-            cls = cls.getSuperclass();
-        }
-        return null;
+        addDependency();
+        return members().fields.get(name);
     }
 
     /**
@@ -514,26 +623,23 @@ class Type {
         if (member.isPublic()) {
             return true;
         }
-        java.lang.Package p1 = classRep.getPackage();
-        java.lang.Package p2 = member.declaringType().classRep.getPackage();
-        if ((p1 == null ? "" : p1.getName()).equals((p2 == null ? "" : p2.getName()))) {
+        if (classRep.packageName().equals(member.declaringType().classRep.packageName())) {
             return true;
         }
         if (member.isProtected()) {
-            if (classRep.getPackage().getName().equals(member.declaringType().classRep.getPackage().getName())
-                    || typeFor(member.getClass().getDeclaringClass()).isJavaAssignableFrom(this)) {
+            if (member.declaringType().isJavaAssignableFrom(this)) {
                 return true;
             } else {
-                JAST.compilationUnit.reportSemanticError(line,
+                JAST.compilationUnit().reportSemanticError(line,
                         "the protected member, " + member.name() + ", is not accessible.");
                 return false;
             }
         }
         if (member.isPrivate()) {
-            if (descriptorFor(classRep).equals(descriptorFor(member.member().getDeclaringClass()))) {
+            if (toDescriptor().equals(member.declaringType().toDescriptor())) {
                 return true;
             } else {
-                JAST.compilationUnit.reportSemanticError(line,
+                JAST.compilationUnit().reportSemanticError(line,
                         "the private member, " + member.name() + ", is not accessible.");
                 return false;
             }
@@ -543,7 +649,7 @@ class Type {
         if (packageName().equals(member.declaringType().packageName())) {
             return true;
         } else {
-            JAST.compilationUnit.reportSemanticError(line,
+            JAST.compilationUnit().reportSemanticError(line,
                     "the member, " + member.name() + ", is not accessible because it's in a different package.");
             return false;
         }
@@ -574,16 +680,13 @@ class Type {
      * @param type            the type that we want to access.
      * @return true if the referenced type is accessible from the referencing type, and false otherwise.
      */
-    public static boolean checkAccess(int line, Class referencingType, Class type) {
-        java.lang.Package p1 = referencingType.getPackage();
-        java.lang.Package p2 = type.getPackage();
-        if (Modifier.isPublic(type.getModifiers()) ||
-                (p1 == null ? "" : p1.getName()).equals((p2 == null ? "" : p2.getName()))) {
+    public static boolean checkAccess(int line, ClassSymbol referencingType, ClassSymbol type) {
+        if (Modifier.isPublic(type.modifiers()) || referencingType.packageName().equals(type.packageName())) {
             return true;
         } else {
-            JAST.compilationUnit.reportSemanticError(line,
-                    "the type, " + type.getCanonicalName() + ", is not accessible from " +
-                            referencingType.getCanonicalName());
+            JAST.compilationUnit().reportSemanticError(line,
+                    "the type, " + type.canonicalName() + ", is not accessible from " +
+                            referencingType.canonicalName());
             return false;
         }
     }
@@ -617,28 +720,112 @@ class Type {
         return signature;
     }
 
-    // Constructs a representation for a type from its Java (Class) representation. Use typeFor() that maps types
-    // having like classReps to like Types.
-    private Type(Class<?> classRep) {
+    // Returns the index of the members of this type, building it if need be. Threads racing to build the index build
+    // equal ones, so it does not matter which is kept.
+    private Members members() {
+        Members members = this.members;
+        if (members == null) {
+            members = new Members(this);
+            this.members = members;
+        }
+        return members;
+    }
+
+    // Returns the concatenated JVM descriptors of the specified types' class representations, enclosed in
+    // parentheses.
+    private static String descriptorFor(Type[] types) {
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Type type : types) {
+            descriptor.append(descriptorFor(type.classRep));
+        }
+        return descriptor.append(")").toString();
+    }
+
+    // Returns the representation for the type having the specified binary name, be it declared by the compilation
+    // units being compiled or loaded from a library.
+    private static Type typeNamed(String name) {
+        return typeForDescriptor("L" + name.replace('.', '/') + ";");
+    }
+
+    // Records that the current compilation unit depends on this type.
+    private void addDependency() {
+        if (JAST.compilationUnit() != null) {
+            JAST.compilationUnit().addDependency(this);
+        }
+    }
+
+    // Constructs a representation for a type from its class representation. Use typeFor() that maps types having
+    // like classReps to like Types.
+    private Type(ClassSymbol classRep) {
         this.classRep = classRep;
     }
 
     // Returns the JVM descriptor of a type's class representation.
-    private static String descriptorFor(Class<?> classRep) {
-        return classRep == null ? "V" : classRep == void.class ? "V"
-                : classRep.isArray() ? "[" + descriptorFor(classRep.getComponentType())
-                : classRep.isPrimitive() ? (classRep == int.class ? "I"
-                : classRep == char.class ? "C"
-                : classRep == boolean.class ? "Z"
-                : classRep == double.class ? "D"
-                : classRep == long.class ? "J" : "?")
-                : "L" + classRep.getName().replace('.', '/') + ";";
+    private static String descriptorFor(ClassSymbol classRep) {
+        return classRep == null ? "V" : classRep.descriptor();
     }
 
     // Returns the Java (and so j--) denotation for the specified type.
-    private static String toJava(Class classRep) {
-        return classRep == null ? "" : (classRep.isArray() ? toJava(classRep.getComponentType()) + "[]" :
-                classRep.getName());
+    private static String toJava(ClassSymbol classRep) {
+        return classRep == null ? "" : (classRep.isArray() ? toJava(classRep.componentType()) + "[]" :
+                classRep.name());
+    }
+
+    // An index of the members of a class, including the methods and fields that it inherits from its superclasses.
+    // The methods with a given name and arity are listed in the order in which a search up the class hierarchy finds
+    // them, and the field with a given name is the first one found, so that lookups resolve members as searching the
+    // hierarchy would. The index is not modified once built; the methods and constructors resolved for
+    // given argument types are remembered in concurrent maps.
+    private static class Members {
+        // An empty list of methods.
+        private static final ArrayList<MemberSymbol> NO_METHODS = new ArrayList<>();
+
+        // No members.
+        private static final MemberSymbol[] NO_MEMBERS = new MemberSymbol[0];
+
+        // The methods declared in the class.
+        private final MemberSymbol[] declaredMethods;
+
+        // The constructors declared in the class.
+        private final MemberSymbol[] constructors;
+
+        // Maps name/arity to the methods (declared or inherited) having that name and arity.
+        private final HashMap<String, ArrayList<MemberSymbol>> methods;
+
+        // Maps names to the fields (declared or inherited) having them.
+        private final HashMap<String, Field> fields;
+
+        // Maps name(argument descriptors) to the method resolved for them, if any.
+        private final ConcurrentHashMap<String, Optional<Method>> resolvedMethods;
+
+        // Maps (argument descriptors) to the constructor resolved for them, if any.
+        private final ConcurrentHashMap<String, Optional<Constructor>> resolvedConstructors;
+
+        // Constructs an index of the members of the specified type (whose class representation may be null, for no
+        // members). A bridge method is listed after the other methods declared in its class, so that the method it
+        // bridges to, whose return type is more specific, is the one resolved.
+        private Members(Type type) {
+            declaredMethods = type.classRep == null ? NO_MEMBERS : type.classRep.methods();
+            constructors = type.classRep == null ? NO_MEMBERS : type.classRep.constructors();
+            methods = new HashMap<>();
+            fields = new HashMap<>();
+            HashSet<Type> visited = new HashSet<>();
+            for (Type t = type; t != null && t.classRep != null && visited.add(t); t = t.superClass()) {
+                for (boolean isBridge : new boolean[] {false, true}) {
+                    for (MemberSymbol method : t.classRep.methods()) {
+                        if (method.isBridge() == isBridge) {
+                            methods.computeIfAbsent(method.name() + "/" + method.parameterCount(),
+                                    key -> new ArrayList<>()).add(method);
+                        }
+                    }
+                }
+                for (MemberSymbol field : t.classRep.fields()) {
+                    fields.putIfAbsent(field.name(), new Field(field));
+                }
+            }
+            resolvedMethods = new ConcurrentHashMap<>();
+            resolvedConstructors = new ConcurrentHashMap<>();
+        }
     }
 }
 
@@ -707,11 +894,11 @@ class TypeName extends Type {
         Type resolvedType = context.lookupType(name);
         if (resolvedType == null) {
             // Try loading a type with the given fullname.
-            try {
-                resolvedType = typeFor(Class.forName(name));
+            resolvedType = typeForName(name);
+            if (resolvedType != null) {
                 context.addType(line, resolvedType);
-            } catch (Exception e) {
-                JAST.compilationUnit.reportSemanticError(line, "Unable to locate %s", name);
+            } else {
+                JAST.compilationUnit().reportSemanticError(line, "Unable to locate %s", name);
                 resolvedType = Type.ANY;
             }
         }
@@ -721,7 +908,7 @@ class TypeName extends Type {
 
 /**
  * A representation of an array type. It is built by the Parser to stand in for a Type until the analyze() phase, at
- * which point it is resolved to an actual Type object (having a Class that identifies it).
+ * which point it is resolved to an actual Type object (having a ClassSymbol that identifies it).
  */
 class ArrayTypeName extends Type {
     // The array's base or component type.
@@ -762,7 +949,6 @@ class ArrayTypeName extends Type {
      */
     public Type resolve(Context context) {
         componentType = componentType.resolve(context);
-        Class classRep = Array.newInstance(componentType().classRep(), 0).getClass();
-        return Type.typeFor(classRep);
+        return Type.typeForDescriptor("[" + componentType.toDescriptor());
     }
 }